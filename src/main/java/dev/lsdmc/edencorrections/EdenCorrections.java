@@ -2,6 +2,7 @@ package dev.lsdmc.edencorrections;
 
 import com.sk89q.worldguard.WorldGuard;
 import com.sk89q.worldguard.protection.regions.RegionContainer;
+import dev.lsdmc.edencorrections.commands.CommandRuleIndex;
 import dev.lsdmc.edencorrections.commands.base.BaseCommandHandler;
 import dev.lsdmc.edencorrections.commands.admin.NPCCommandHandler;
 import dev.lsdmc.edencorrections.config.ConfigManager;
@@ -13,12 +14,27 @@ import dev.lsdmc.edencorrections.managers.DutyManager;
 import dev.lsdmc.edencorrections.managers.GuardBuffManager;
 import dev.lsdmc.edencorrections.managers.GuardLootManager;
 import dev.lsdmc.edencorrections.managers.GuardPenaltyManager;
+import dev.lsdmc.edencorrections.managers.InteractionSessionManager;
+import dev.lsdmc.edencorrections.managers.SmokeCloudManager;
 import dev.lsdmc.edencorrections.managers.GuardRankManager;
 import dev.lsdmc.edencorrections.managers.GuardRestrictionManager;
 import dev.lsdmc.edencorrections.managers.NPCManager;
 import dev.lsdmc.edencorrections.managers.StorageManager;
 import dev.lsdmc.edencorrections.managers.GuardStatisticsManager;
 import dev.lsdmc.edencorrections.placeholders.CorrectionsPlaceholders;
+import dev.lsdmc.edencorrections.regions.DefaultMovementRules;
+import dev.lsdmc.edencorrections.regions.MovementPipeline;
+import dev.lsdmc.edencorrections.regions.PlayerSpatialIndex;
+import dev.lsdmc.edencorrections.regions.PvpSectionCache;
+import dev.lsdmc.edencorrections.regions.RegionCache;
+import dev.lsdmc.edencorrections.regions.RegionChangeWatcher;
+import dev.lsdmc.edencorrections.regions.RegionRuleIndex;
+import dev.lsdmc.edencorrections.scheduler.CorrectionsScheduler;
+import dev.lsdmc.edencorrections.scheduler.DeadlineTimeline;
+import dev.lsdmc.edencorrections.scheduler.InstrumentedScheduler;
+import dev.lsdmc.edencorrections.scheduler.IoExecutor;
+import dev.lsdmc.edencorrections.scheduler.MainThreadHandoff;
+import dev.lsdmc.edencorrections.scheduler.TaskMetrics;
 import dev.lsdmc.edencorrections.utils.GuardLootProcessor;
 import dev.lsdmc.edencorrections.utils.RegionUtils;
 import net.kyori.adventure.text.minimessage.MiniMessage;
@@ -44,6 +60,9 @@ import dev.lsdmc.edencorrections.managers.GuardTokenManager;
 import dev.lsdmc.edencorrections.commands.guard.GuardCommandHandler;
 import dev.lsdmc.edencorrections.managers.LocationManager;
 import dev.lsdmc.edencorrections.utils.HelpManager;
+import dev.lsdmc.edencorrections.managers.ContrabandClassifier;
+import dev.lsdmc.edencorrections.managers.ContrabandLedger;
+import dev.lsdmc.edencorrections.managers.InventoryScanner;
 import dev.lsdmc.edencorrections.managers.ContrabandManager;
 import dev.lsdmc.edencorrections.storage.YamlStorage;
 import dev.lsdmc.edencorrections.storage.SQLiteStorage;
@@ -65,6 +84,26 @@ public class EdenCorrections extends JavaPlugin {
     private static EdenCorrections instance;
     private MiniMessage miniMessage;
 
+    // Scheduler facade (Paper or Folia)
+    private CorrectionsScheduler taskScheduler;
+    private TaskMetrics taskMetrics;
+
+    // Virtual-thread executor for blocking I/O and integration calls
+    private IoExecutor ioExecutor;
+
+    // Batched async-to-main-thread effects
+    private MainThreadHandoff mainThreadHandoff;
+
+    // Durable jail/wanted/penalty deadlines
+    private DeadlineTimeline deadlineTimeline;
+    private RegionChangeWatcher regionChangeWatcher;
+    private RegionCache regionCache;
+    private RegionRuleIndex regionRuleIndex;
+    private CommandRuleIndex commandRuleIndex;
+    private MovementPipeline movementPipeline;
+    private PvpSectionCache pvpSectionCache;
+    private PlayerSpatialIndex playerSpatialIndex;
+
     // Configuration
     private ConfigManager configManager;
 
@@ -110,6 +149,11 @@ public class EdenCorrections extends JavaPlugin {
 
     // Add new field
     private ContrabandManager contrabandManager;
+    private ContrabandClassifier contrabandClassifier;
+    private InventoryScanner inventoryScanner;
+    private ContrabandLedger contrabandLedger;
+    private InteractionSessionManager interactionSessionManager;
+    private SmokeCloudManager smokeCloudManager;
 
     // Add new field
     private ModernLootManager modernLootManager;
@@ -136,9 +180,21 @@ public class EdenCorrections extends JavaPlugin {
         instance = this;
         miniMessage = MiniMessage.miniMessage();
 
+        // Initialize scheduler facade before anything schedules work
+        // Every task is timed per call site for /ec admin tasks
+        taskMetrics = new TaskMetrics(this);
+        taskScheduler = new InstrumentedScheduler(CorrectionsScheduler.create(this), taskMetrics);
+        getLogger().info("Using " + (taskScheduler.isFolia() ? "Folia regionised" : "Bukkit") + " scheduler");
+
         // Initialize configuration manager FIRST
         configManager = new ConfigManager(this);
 
+        ioExecutor = new IoExecutor(this);
+        getLogger().info("IoExecutor initialized");
+
+        mainThreadHandoff = new MainThreadHandoff(this);
+        getLogger().info("MainThreadHandoff initialized");
+
         // Initialize LocationManager EARLY (before other managers that might need locations)
         locationManager = new LocationManager(this);
         getLogger().info("LocationManager initialized");
@@ -158,8 +214,21 @@ public class EdenCorrections extends JavaPlugin {
         // Initialize GuardStatisticsManager AFTER storage is initialized
         guardStatisticsManager = new GuardStatisticsManager(this);
 
+        // Initialize timeline before the managers that register deadline handlers
+        deadlineTimeline = new DeadlineTimeline(this);
+        getLogger().info("DeadlineTimeline initialized");
+
         // Initialize region utils
         regionUtils = new RegionUtils();
+        // Region caches subscribe to the watcher, so it comes first
+        regionChangeWatcher = new RegionChangeWatcher(this);
+        getLogger().info("RegionChangeWatcher initialized");
+        regionCache = new RegionCache(this);
+        getLogger().info("RegionCache initialized");
+        regionRuleIndex = new RegionRuleIndex(this);
+        commandRuleIndex = new CommandRuleIndex(this);
+        pvpSectionCache = new PvpSectionCache(this);
+        playerSpatialIndex = new PlayerSpatialIndex(this);
 
         // Initialize core managers
         guardManager = new GuardManager(this);
@@ -180,10 +249,22 @@ public class EdenCorrections extends JavaPlugin {
         // Initialize enforcement managers
         wantedLevelManager = new WantedLevelManager(this);
         chaseManager = new ChaseManager(this);
+        interactionSessionManager = new InteractionSessionManager(this);
+        smokeCloudManager = new SmokeCloudManager(this);
         guardItemManager = new GuardItemManager(this);
         jailManager = new JailManager(this);
         getLogger().info("Enforcement managers initialized");
 
+        // Compile region rules now that every manager has loaded its region lists
+        regionRuleIndex.rebuild();
+        getLogger().info("RegionRuleIndex initialized");
+        commandRuleIndex.rebuild();
+        getLogger().info("CommandRuleIndex initialized");
+
+        // Roles come from the managers above, so tag anyone already online now
+        playerSpatialIndex.reload();
+        getLogger().info("PlayerSpatialIndex initialized");
+
         // Initialize external plugin integration
         externalPluginIntegration = new ExternalPluginIntegration(this);
         getLogger().info("External plugin integration initialized");
@@ -198,6 +279,10 @@ public class EdenCorrections extends JavaPlugin {
         // Initialize ContrabandManager
         contrabandManager = new ContrabandManager(this);
         getLogger().info("ContrabandManager initialized");
+        contrabandClassifier = new ContrabandClassifier(this);
+        inventoryScanner = new InventoryScanner(this);
+        contrabandLedger = new ContrabandLedger(this);
+        getLogger().info("ContrabandLedger initialized");
 
         // Initialize loot manager
         modernLootManager = new ModernLootManager(this);
@@ -248,6 +333,9 @@ public class EdenCorrections extends JavaPlugin {
         getServer().getPluginManager().registerEvents(new GuiListener(this), this);
         getServer().getPluginManager().registerEvents(new GuardListener(this), this);
         getServer().getPluginManager().registerEvents(new ChaseListener(this), this);
+        movementPipeline = new MovementPipeline(this);
+        DefaultMovementRules.register(this, movementPipeline);
+        getLogger().info("MovementPipeline initialized");
         getServer().getPluginManager().registerEvents(handcuffService, this);
 
         // Register placeholders if PlaceholderAPI is present
@@ -328,6 +416,10 @@ public class EdenCorrections extends JavaPlugin {
 
     @Override
     public void onDisable() {
+        // Flush effects still waiting for the main thread
+        if (mainThreadHandoff != null) {
+            mainThreadHandoff.shutdown();
+        }
         // Save all data BEFORE closing storage
         if (guardManager != null) {
             guardManager.shutdown();
@@ -352,12 +444,42 @@ public class EdenCorrections extends JavaPlugin {
         if (npcManager != null) {
             npcManager.shutdown();
         }
+        if (deadlineTimeline != null) {
+            deadlineTimeline.shutdown();
+        }
+        if (regionChangeWatcher != null) {
+            regionChangeWatcher.shutdown();
+        }
+        if (contrabandManager != null) {
+            contrabandManager.shutdown();
+        }
+        if (contrabandLedger != null) {
+            contrabandLedger.shutdown();
+        }
+        if (interactionSessionManager != null) {
+            interactionSessionManager.shutdown();
+        }
+        if (smokeCloudManager != null) {
+            smokeCloudManager.shutdown();
+        }
+        if (regionCache != null) {
+            regionCache.shutdown();
+        }
+        if (playerSpatialIndex != null) {
+            playerSpatialIndex.shutdown();
+        }
+        // Let queued background writes land before storage closes
+        if (ioExecutor != null) {
+            ioExecutor.shutdown();
+        }
         // Now close storage connections
         if (storageManager != null) {
             storageManager.shutdown();
         }
         // Cancel all tasks
-        getServer().getScheduler().cancelTasks(this);
+        if (taskScheduler != null) {
+            taskScheduler.cancelAll();
+        }
         getLogger().info("EdenCorrections plugin disabled!");
     }
 
@@ -369,7 +491,7 @@ public class EdenCorrections extends JavaPlugin {
             setEmergencyShutdown(true);
             
             // Cancel all running tasks first
-            getServer().getScheduler().cancelTasks(this);
+            taskScheduler.cancelAll();
             
             // Reload configuration first
             reloadConfig();
@@ -380,11 +502,19 @@ public class EdenCorrections extends JavaPlugin {
                 locationManager.reload();
             }
 
-            // Reload storage manager
+            // Drain background writes, then reload storage manager
+            ioExecutor.reload();
             if (storageManager != null) {
                 storageManager.reload();
             }
 
+            // Re-arm the deadline dispatcher and handoff drain cancelled above
+            taskMetrics.reload();
+            deadlineTimeline.reload();
+            mainThreadHandoff.reload();
+            regionChangeWatcher.reload();
+            regionCache.reload();
+
             // Reload core managers
             if (guardManager != null) {
                 guardManager.reload();
@@ -424,10 +554,31 @@ public class EdenCorrections extends JavaPlugin {
                 wantedLevelManager.reload();
             }
 
+            // Recompile region and command rules and re-tag player roles from the reloaded managers
+            regionRuleIndex.rebuild();
+            commandRuleIndex.rebuild();
+            playerSpatialIndex.reload();
+
             // Reload external integrations
             if (externalPluginIntegration != null) {
                 externalPluginIntegration.reload();
             }
+            // Detection inputs may have changed, so older item stamps no longer count
+            if (contrabandClassifier != null) {
+                contrabandClassifier.refreshVersion();
+            }
+            if (inventoryScanner != null) {
+                inventoryScanner.reload();
+            }
+            if (contrabandLedger != null) {
+                contrabandLedger.reload();
+            }
+            if (interactionSessionManager != null) {
+                interactionSessionManager.reload();
+            }
+            if (smokeCloudManager != null) {
+                smokeCloudManager.reload();
+            }
 
             // Reload token manager
             if (guardTokenManager != null) {
@@ -454,6 +605,87 @@ public class EdenCorrections extends JavaPlugin {
         return miniMessage;
     }
 
+    /**
+     * Scheduler facade - use this instead of Bukkit.getScheduler() so the plugin runs on Folia
+     */
+    public CorrectionsScheduler getTaskScheduler() {
+        return taskScheduler;
+    }
+
+    /**
+     * Run-time statistics for every task scheduled through the facade
+     */
+    public TaskMetrics getTaskMetrics() {
+        return taskMetrics;
+    }
+
+    /**
+     * Executor for blocking work (JDBC, file writes, LuckPerms loads) - keeps it off tick threads
+     */
+    public IoExecutor getIoExecutor() {
+        return ioExecutor;
+    }
+
+    /**
+     * Queue for async code to hand effects back to the main thread in per-tick batches
+     */
+    public MainThreadHandoff getMainThreadHandoff() {
+        return mainThreadHandoff;
+    }
+
+    public DeadlineTimeline getDeadlineTimeline() {
+        return deadlineTimeline;
+    }
+
+    /**
+     * Polls WorldGuard for region edits and tells the region caches to drop stale data
+     */
+    public RegionChangeWatcher getRegionChangeWatcher() {
+        return regionChangeWatcher;
+    }
+
+    /**
+     * Per-player WorldGuard region membership, shared by every movement check
+     */
+    public RegionCache getRegionCache() {
+        return regionCache;
+    }
+
+    /**
+     * Chase, wanted, guard and penalty region rules compiled to one bitmask per region id
+     */
+    public RegionRuleIndex getRegionRuleIndex() {
+        return regionRuleIndex;
+    }
+
+    /**
+     * Guard, chase and teleport command restrictions compiled into one word trie
+     */
+    public CommandRuleIndex getCommandRuleIndex() {
+        return commandRuleIndex;
+    }
+
+    /**
+     * Ordered movement rules plus region enter/leave events, evaluated once per block change
+     */
+    public MovementPipeline getMovementPipeline() {
+        return movementPipeline;
+    }
+
+    /**
+     * PvP flag state per chunk section, used for safezone checks
+     */
+    public PvpSectionCache getPvpSectionCache() {
+        return pvpSectionCache;
+    }
+
+    /**
+     * Grid index of online players by position and role, for "who is near" queries
+     */
+    public PlayerSpatialIndex getPlayerSpatialIndex() {
+        return playerSpatialIndex;
+    }
+
     // Configuration access
     public ConfigManager getConfigManager() {
         return configManager;
@@ -626,6 +858,41 @@ public class EdenCorrections extends JavaPlugin {
         return contrabandManager;
     }
 
+    /**
+     * Contraband/drug classification with a versioned stamp stored on each item
+     */
+    public ContrabandClassifier getContrabandClassifier() {
+        return contrabandClassifier;
+    }
+
+    /**
+     * Single-pass inventory classification shared by searches, confiscation and jailing
+     */
+    public InventoryScanner getInventoryScanner() {
+        return inventoryScanner;
+    }
+
+    /**
+     * Per-player contraband tally kept current from inventory events
+     */
+    public ContrabandLedger getContrabandLedger() {
+        return contrabandLedger;
+    }
+
+    /**
+     * Shared ticker for guard-on-target countdowns such as searches and cuffing
+     */
+    public InteractionSessionManager getInteractionSessionManager() {
+        return interactionSessionManager;
+    }
+
+    /**
+     * Draws smoke bomb clouds for nearby viewers within a server-wide particle budget
+     */
+    public SmokeCloudManager getSmokeCloudManager() {
+        return smokeCloudManager;
+    }
+
     public ModernLootManager getModernLootManager() {
         return modernLootManager;
     }
@@ -0,0 +1,153 @@
+package dev.lsdmc.edencorrections.commands;
+
+import dev.lsdmc.edencorrections.EdenCorrections;
+import dev.lsdmc.edencorrections.managers.ChaseManager;
+import dev.lsdmc.edencorrections.managers.GuardRestrictionManager;
+import org.bukkit.Bukkit;
+import org.bukkit.command.Command;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Every command restriction compiled into one word trie.
+ *
+ * Guard, chase and teleport restrictions used to be separate lists scanned with startsWith on
+ * each command, with every entry lowercased per call and a leading slash only working in some
+ * of them. The index normalises each entry once (slash and namespace stripped, lowercased),
+ * adds the aliases the server's command map knows for it, and stores it word by word with its
+ * rule flags. Checking a typed command is then a walk down at most as many nodes as it has
+ * words.
+ */
+public class CommandRuleIndex {
+    public static final int GUARD_RESTRICTED = 1;
+    public static final int CHASE_RESTRICTED = 1 << 1;
+    public static final int CHASE_TELEPORT = 1 << 2;
+
+    /** Everything a chased or wanted player may not run */
+    public static final int CHASE_DENIED = CHASE_RESTRICTED | CHASE_TELEPORT;
+
+    private final EdenCorrections plugin;
+    private volatile Node root = new Node();
+
+    public CommandRuleIndex(EdenCorrections plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Recompile from the managers' current configuration. Call after they have loaded.
+     */
+    public void rebuild() {
+        ChaseManager chaseManager = plugin.getChaseManager();
+        GuardRestrictionManager restrictionManager = plugin.getGuardRestrictionManager();
+
+        Node newRoot = new Node();
+        int entries = 0;
+        if (restrictionManager != null) {
+            entries += addAll(newRoot, restrictionManager.getRestrictedCommands(), GUARD_RESTRICTED);
+        }
+        if (chaseManager != null) {
+            entries += addAll(newRoot, chaseManager.getRestrictedCommands(), CHASE_RESTRICTED);
+            entries += addAll(newRoot, chaseManager.getTeleportCommands(), CHASE_TELEPORT);
+        }
+        root = newRoot;
+
+        if (plugin.getConfigManager().isDebugEnabled()) {
+            plugin.getLogger().info("Command rule index compiled " + entries + " entries including aliases");
+        }
+    }
+
+    /**
+     * @param commandLine What the player typed, with or without the leading slash and arguments
+     * @return Union of the rule flags of every entry the command starts with, 0 if none
+     */
+    public int getMask(String commandLine) {
+        String[] words = normalize(commandLine);
+        Node node = root;
+        int mask = 0;
+        for (String word : words) {
+            node = node.children.get(word);
+            if (node == null) {
+                break;
+            }
+            mask |= node.flags;
+        }
+        return mask;
+    }
+
+    public boolean matches(String commandLine, int flags) {
+        return (getMask(commandLine) & flags) != 0;
+    }
+
+    private int addAll(Node root, Collection<String> commands, int flag) {
+        int added = 0;
+        for (String command : commands) {
+            String[] words = normalize(command);
+            if (words.length == 0) {
+                continue;
+            }
+            for (String label : labelsFor(words[0])) {
+                words[0] = label;
+                insert(root, words, flag);
+                added++;
+            }
+        }
+        return added;
+    }
+
+    /**
+     * The label itself plus every name the server's command map resolves it to
+     */
+    private Set<String> labelsFor(String label) {
+        Set<String> labels = new LinkedHashSet<>();
+        labels.add(label);
+        try {
+            Command command = Bukkit.getCommandMap().getCommand(label);
+            if (command != null) {
+                labels.add(command.getName().toLowerCase());
+                labels.add(command.getLabel().toLowerCase());
+                for (String alias : command.getAliases()) {
+                    labels.add(alias.toLowerCase());
+                }
+            }
+        } catch (Exception e) {
+            // Command map unavailable; the configured label still works
+        }
+        return labels;
+    }
+
+    private static void insert(Node root, String[] words, int flag) {
+        Node node = root;
+        for (String word : words) {
+            node = node.children.computeIfAbsent(word, key -> new Node());
+        }
+        node.flags |= flag;
+    }
+
+    /**
+     * Lowercase, drop the slash and any "plugin:" namespace, and split into words
+     */
+    private static String[] normalize(String commandLine) {
+        String line = commandLine.trim().toLowerCase();
+        while (line.startsWith("/")) {
+            line = line.substring(1);
+        }
+        if (line.isEmpty()) {
+            return new String[0];
+        }
+        String[] words = line.split("\\s+");
+        int colon = words[0].indexOf(':');
+        if (colon >= 0) {
+            words[0] = words[0].substring(colon + 1);
+        }
+        return words;
+    }
+
+    private static final class Node {
+        private final Map<String, Node> children = new HashMap<>();
+        private int flags;
+    }
+}
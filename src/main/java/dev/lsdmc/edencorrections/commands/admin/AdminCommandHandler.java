@@ -1,8 +1,22 @@
 package dev.lsdmc.edencorrections.commands.admin;
 
 import dev.lsdmc.edencorrections.EdenCorrections;
+import dev.lsdmc.edencorrections.managers.ContrabandClassifier;
+import dev.lsdmc.edencorrections.managers.ContrabandLedger;
+import dev.lsdmc.edencorrections.managers.InteractionSessionManager;
+import dev.lsdmc.edencorrections.managers.SmokeCloudManager;
 import dev.lsdmc.edencorrections.managers.ContrabandManager;
+import dev.lsdmc.edencorrections.managers.ContrabandSweep;
 import dev.lsdmc.edencorrections.managers.GuardRankManager;
+import dev.lsdmc.edencorrections.managers.InventoryScanner;
+import dev.lsdmc.edencorrections.regions.MovementPipeline;
+import dev.lsdmc.edencorrections.regions.PvpSectionCache;
+import dev.lsdmc.edencorrections.regions.RegionCache;
+import dev.lsdmc.edencorrections.regions.RegionChangeWatcher;
+import dev.lsdmc.edencorrections.scheduler.IoExecutor;
+import dev.lsdmc.edencorrections.scheduler.LatencyHistogram;
+import dev.lsdmc.edencorrections.scheduler.MainThreadHandoff;
+import dev.lsdmc.edencorrections.scheduler.TaskMetrics;
 import dev.lsdmc.edencorrections.utils.MessageUtils;
 import dev.lsdmc.edencorrections.utils.CommandUtils;
 import org.bukkit.Bukkit;
@@ -71,6 +85,10 @@ public class AdminCommandHandler {
             case "migratelocations" -> handleMigrateLocationsCommand(sender);
             case "checkitem" -> handleCheckItemCommand(sender, args);
             case "integrationstatus" -> handleIntegrationStatusCommand(sender);
+            case "iostatus" -> handleIoStatusCommand(sender);
+            case "tasks" -> handleTasksCommand(sender, args);
+            case "movement" -> handleMovementCommand(sender, args);
+            case "shakedown" -> handleShakedownCommand(sender, args);
             case "reloadintegration" -> handleReloadIntegrationCommand(sender);
             case "testloot" -> handleTestLootCommand(sender, args);
             case "togglelootsystem" -> handleToggleLootSystemCommand(sender);
@@ -708,6 +726,192 @@ public class AdminCommandHandler {
         return true;
     }
 
+    /**
+     * Handle showing background I/O and main-thread handoff statistics
+     */
+    private void handleIoStatusCommand(CommandSender sender) {
+        sender.sendMessage(MessageUtils.getPrefix(plugin).append(
+            MessageUtils.parseMessage("<yellow>=== Background I/O (" + plugin.getIoExecutor().getPendingCount() + " pending) ===</yellow>")));
+
+        for (IoExecutor.ResourceStats stats : plugin.getIoExecutor().getStats()) {
+            sender.sendMessage(MessageUtils.parseMessage("<gold>" + stats.name() + "</gold> <gray>"
+                + stats.inFlight() + "/" + stats.limit() + " running, " + stats.waiting() + " waiting</gray>"));
+            sender.sendMessage(MessageUtils.parseMessage("  <gray>done " + stats.completed()
+                + ", failed " + stats.failures() + ", coalesced " + stats.coalesced()
+                + " | p50 " + LatencyHistogram.format(stats.p50Nanos())
+                + ", p99 " + LatencyHistogram.format(stats.p99Nanos())
+                + ", max " + LatencyHistogram.format(stats.maxNanos())
+                + ", p99 wait " + LatencyHistogram.format(stats.p99WaitNanos()) + "</gray>"));
+        }
+
+        MainThreadHandoff.Stats handoff = plugin.getMainThreadHandoff().getStats();
+        sender.sendMessage(MessageUtils.parseMessage("<gold>main-thread handoff</gold> <gray>"
+            + handoff.depth() + " queued (peak " + handoff.peakDepth() + "), " + handoff.drained() + "/"
+            + handoff.submitted() + " drained, failed " + handoff.failures()
+            + ", over budget " + handoff.overflowTicks() + " ticks"
+            + " | p99 drain " + LatencyHistogram.format(handoff.p99DrainNanos())
+            + ", max " + LatencyHistogram.format(handoff.maxDrainNanos())
+            + (handoff.routedToEntities() > 0 ? " | " + handoff.routedToEntities() + " sent to entity schedulers" : "")
+            + "</gray>"));
+    }
+
+    private void handleTasksCommand(CommandSender sender, String[] args) {
+        TaskMetrics metrics = plugin.getTaskMetrics();
+        if (args.length > 1 && args[1].equalsIgnoreCase("reset")) {
+            metrics.reset();
+            sender.sendMessage(MessageUtils.getPrefix(plugin).append(
+                MessageUtils.parseMessage("<green>Task statistics reset.</green>")));
+            return;
+        }
+
+        List<TaskMetrics.TaskStats> stats = metrics.getStats();
+        sender.sendMessage(MessageUtils.getPrefix(plugin).append(
+            MessageUtils.parseMessage("<yellow>=== Scheduled Tasks (" + stats.size() + ", heaviest first) ===</yellow>")));
+        if (!metrics.isEnabled()) {
+            sender.sendMessage(MessageUtils.parseMessage("<red>Task metrics are disabled in config (performance.task-metrics.enabled)</red>"));
+            return;
+        }
+
+        int shown = 0;
+        for (TaskMetrics.TaskStats task : stats) {
+            if (shown++ >= 15) {
+                break;
+            }
+            String overrun = task.getOverruns() == 0 ? "none" : task.getOverruns() + "x, last "
+                + LatencyHistogram.format(task.getLastOverrunNanos()) + " "
+                + ((System.currentTimeMillis() - task.getLastOverrunAt()) / 1000) + "s ago";
+            sender.sendMessage(MessageUtils.parseMessage("<gold>" + task.getName() + "</gold> <dark_gray>[" + task.getScope() + "]</dark_gray>"));
+            sender.sendMessage(MessageUtils.parseMessage("  <gray>runs " + task.getCount()
+                + ", total " + LatencyHistogram.format(task.getTotalNanos())
+                + " | p50 " + LatencyHistogram.format(task.getP50Nanos())
+                + ", p99 " + LatencyHistogram.format(task.getP99Nanos())
+                + ", max " + LatencyHistogram.format(task.getMaxNanos())
+                + " | overruns " + overrun + "</gray>"));
+        }
+
+        InteractionSessionManager sessions = plugin.getInteractionSessionManager();
+        sender.sendMessage(MessageUtils.parseMessage("<gold>Interaction sessions</gold> <gray>" + sessions.getActiveSessions()
+            + " active on one ticker | started " + sessions.getStarted()
+            + ", completed " + sessions.getCompleted()
+            + ", cancelled " + sessions.getCancelled() + "</gray>"));
+        SmokeCloudManager smoke = plugin.getSmokeCloudManager();
+        sender.sendMessage(MessageUtils.parseMessage("<gold>Smoke clouds</gold> <gray>" + smoke.getActiveClouds()
+            + " active | deployed " + smoke.getDeployed()
+            + ", particles sent " + smoke.getParticlesSent()
+            + ", throttled ticks " + smoke.getThrottledTicks() + "</gray>"));
+    }
+
+    private void handleMovementCommand(CommandSender sender, String[] args) {
+        MovementPipeline pipeline = plugin.getMovementPipeline();
+        if (args.length > 1 && args[1].equalsIgnoreCase("bench")) {
+            int players = 1000;
+            int moves = 100;
+            try {
+                if (args.length > 2) players = Math.max(1, Math.min(100_000, Integer.parseInt(args[2])));
+                if (args.length > 3) moves = Math.max(1, Math.min(10_000, Integer.parseInt(args[3])));
+            } catch (NumberFormatException e) {
+                sender.sendMessage(MessageUtils.getPrefix(plugin).append(
+                    MessageUtils.parseMessage("<red>Usage: /cor movement bench [players] [moves]</red>")));
+                return;
+            }
+
+            int playerCount = players;
+            int moveCount = moves;
+            sender.sendMessage(MessageUtils.getPrefix(plugin).append(
+                MessageUtils.parseMessage("<yellow>Simulating " + playerCount + " players x " + moveCount + " moves...</yellow>")));
+            plugin.getTaskScheduler().runAsync(() -> {
+                MovementPipeline.RuleChainBenchmark result = pipeline.benchmarkRuleChain(playerCount, moveCount);
+                plugin.getMainThreadHandoff().submit(() -> {
+                    sender.sendMessage(MessageUtils.getPrefix(plugin).append(
+                        MessageUtils.parseMessage("<yellow>=== Movement Rule Chain Benchmark ===</yellow>")));
+                    sender.sendMessage(MessageUtils.parseMessage("<gray>Rules only: region lookups, WorldGuard and enter/leave events"
+                        + " are not included. See /cor movement for the live per-move cost.</gray>"));
+                    sender.sendMessage(MessageUtils.parseMessage("<gray>" + result.moves() + " moves by " + result.players()
+                        + " simulated players in " + LatencyHistogram.format(result.elapsedNanos()) + "</gray>"));
+                    sender.sendMessage(MessageUtils.parseMessage("<gray>rule chain per move: mean " + LatencyHistogram.format(result.meanNanos())
+                        + ", p50 " + LatencyHistogram.format(result.p50Nanos())
+                        + ", p99 " + LatencyHistogram.format(result.p99Nanos())
+                        + ", max " + LatencyHistogram.format(result.maxNanos()) + "</gray>"));
+                    sender.sendMessage(MessageUtils.parseMessage("<gray>denied " + result.denied()
+                        + ", region transitions " + result.transitions() + "</gray>"));
+                });
+            });
+            return;
+        }
+
+        MovementPipeline.Stats stats = pipeline.getStats();
+        RegionCache cache = plugin.getRegionCache();
+        long lookups = cache.getHits() + cache.getMisses();
+        sender.sendMessage(MessageUtils.getPrefix(plugin).append(
+            MessageUtils.parseMessage("<yellow>=== Movement Pipeline ===</yellow>")));
+        sender.sendMessage(MessageUtils.parseMessage("<gray>Rules: " + String.join(", ", pipeline.getRuleNames()) + "</gray>"));
+        sender.sendMessage(MessageUtils.parseMessage("<gray>Block changes " + stats.moves() + ", evaluated " + stats.evaluated()
+            + ", denied " + stats.denied() + "</gray>"));
+        sender.sendMessage(MessageUtils.parseMessage("<gray>Per move: p50 " + LatencyHistogram.format(stats.p50Nanos())
+            + ", p99 " + LatencyHistogram.format(stats.p99Nanos())
+            + ", max " + LatencyHistogram.format(stats.maxNanos()) + "</gray>"));
+        sender.sendMessage(MessageUtils.parseMessage("<gray>Region cache: " + cache.getSize() + " players, "
+            + (lookups == 0 ? "no lookups" : (cache.getHits() * 100 / lookups) + "% hits of " + lookups)
+            + ", " + cache.getBoundarySkips() + " moves inside boundary radius</gray>"));
+        RegionChangeWatcher watcher = plugin.getRegionChangeWatcher();
+        sender.sendMessage(MessageUtils.parseMessage("<gray>Region watcher: " + watcher.getPolls() + " polls, "
+            + watcher.getChanges() + " changes published, last poll " + LatencyHistogram.format(watcher.getLastPollNanos())
+            + "</gray>"));
+        PvpSectionCache pvp = plugin.getPvpSectionCache();
+        sender.sendMessage(MessageUtils.parseMessage("<gray>PvP sections: " + pvp.getCachedSections() + " cached, "
+            + pvp.getHits() + " answered from cache, " + pvp.getFallbacks() + " boundary fallbacks</gray>"));
+    }
+
+    private void handleShakedownCommand(CommandSender sender, String[] args) {
+        if (!sender.hasPermission("edencorrections.admin.shakedown")) {
+            sender.sendMessage(MessageUtils.getPrefix(plugin).append(
+                MessageUtils.parseMessage("<red>You don't have permission to run shakedowns!</red>")));
+            return;
+        }
+
+        ContrabandManager contrabandManager = plugin.getContrabandManager();
+        String action = args.length > 1 ? args[1].toLowerCase() : "start";
+        switch (action) {
+            case "start", "confiscate" -> {
+                ContrabandSweep sweep = contrabandManager.startSweep(sender, action.equals("confiscate"));
+                if (sweep == null) {
+                    sender.sendMessage(MessageUtils.getPrefix(plugin).append(
+                        MessageUtils.parseMessage("<red>A shakedown is already running. Use /cor shakedown cancel to stop it.</red>")));
+                    return;
+                }
+                sender.sendMessage(MessageUtils.getPrefix(plugin).append(
+                    MessageUtils.parseMessage("<yellow>Shakedown started" + (sweep.isConfiscating() ? ", confiscating contraband" : "")
+                        + ". Findings appear in the report as they are made.</yellow>")));
+                if (sender instanceof Player player) {
+                    player.openInventory(sweep.getReport());
+                }
+            }
+            case "cancel" -> {
+                ContrabandSweep sweep = contrabandManager.getActiveSweep();
+                if (sweep == null) {
+                    sender.sendMessage(MessageUtils.getPrefix(plugin).append(
+                        MessageUtils.parseMessage("<red>No shakedown is running.</red>")));
+                    return;
+                }
+                sweep.cancel();
+            }
+            case "report" -> {
+                ContrabandSweep sweep = contrabandManager.getLastSweep();
+                if (!(sender instanceof Player player)) {
+                    sender.sendMessage(MessageUtils.getPrefix(plugin).append(
+                        MessageUtils.parseMessage("<red>The report can only be opened in-game; see plugins/EdenCorrections/shakedowns.</red>")));
+                } else if (sweep == null) {
+                    sender.sendMessage(MessageUtils.getPrefix(plugin).append(
+                        MessageUtils.parseMessage("<red>No shakedown has been run since the last restart.</red>")));
+                } else {
+                    player.openInventory(sweep.getReport());
+                }
+            }
+            default -> sender.sendMessage(MessageUtils.getPrefix(plugin).append(
+                MessageUtils.parseMessage("<red>Usage: /cor shakedown [confiscate|cancel|report]</red>")));
+        }
+    }
+
     /**
      * Handle checking integration status
      */
@@ -725,6 +929,17 @@ public class AdminCommandHandler {
         sender.sendMessage(MessageUtils.getPrefix(plugin).append(
             MessageUtils.parseMessage("<green>ExecutableItems Enabled: " + executableItemsEnabled + "</green>")));
 
+        ContrabandClassifier classifier = plugin.getContrabandClassifier();
+        InventoryScanner scanner = plugin.getInventoryScanner();
+        sender.sendMessage(MessageUtils.getPrefix(plugin).append(
+            MessageUtils.parseMessage("<gray>Classified: " + classifier.getClassified() + " (" + classifier.getStampHits()
+                + " from stamps), containers opened: " + scanner.getContainersOpened() + " (" + scanner.getContainerMemoHits()
+                + " remembered, " + scanner.getBudgetExhausted() + " scans over budget)</gray>")));
+        ContrabandLedger ledger = plugin.getContrabandLedger();
+        sender.sendMessage(MessageUtils.getPrefix(plugin).append(
+            MessageUtils.parseMessage("<gray>Contraband ledger: " + ledger.getTrackedPlayers() + " players, "
+                + ledger.getRescans() + " rescans, " + ledger.getDrift() + " caught by reconciliation</gray>")));
+
         if (executableItemsEnabled) {
             java.util.Map<String, Object> status = plugin.getExternalPluginIntegration().getIntegrationStatus();
             
@@ -738,6 +953,9 @@ public class AdminCommandHandler {
                 MessageUtils.parseMessage("<green>Drug Detection Enabled: " + status.get("drugDetectionEnabled") + "</green>")));
             sender.sendMessage(MessageUtils.getPrefix(plugin).append(
                 MessageUtils.parseMessage("<green>Contraband Detection Enabled: " + status.get("contrabandDetectionEnabled") + "</green>")));
+            sender.sendMessage(MessageUtils.getPrefix(plugin).append(
+                MessageUtils.parseMessage("<green>Item Lookups: " + status.get("executableItemLookups")
+                    + " (" + status.get("executableItemCacheHits") + " cached)</green>")));
 
             // Show configured items
             java.util.Set<String> drugIds = plugin.getExternalPluginIntegration().getDrugItemIds();
@@ -1235,7 +1453,7 @@ public class AdminCommandHandler {
                 "giveguarditems", "givespyglass", "setwanted", "clearwanted", "getwanted",
                 "clearglow", "setguardlounge", "setspawn", "setwardenoffice", "locations",
                 "tpguardlounge", "tpspawn", "tpwardenoffice", "removelocation", "migratelocations",
-                "checkitem", "integrationstatus", "reloadintegration", "tagcontraband",
+                "checkitem", "integrationstatus", "iostatus", "tasks", "movement", "shakedown", "reloadintegration", "tagcontraband",
                 "removecontrabandtag", "listcontraband", "clearcontraband", "setguardrank",
                 "listguardranks", "createguardrank", "deleteguardrank", "setplayerrank",
                 "removeplayerrank", "listranks", "testloot", "togglelootsystem", "lootinfo",
@@ -1310,6 +1528,18 @@ public class AdminCommandHandler {
                     completions.addAll(getGuardRanks());
                     break;
                     
+                case "tasks":
+                    completions.add("reset");
+                    break;
+
+                case "movement":
+                    completions.add("bench");
+                    break;
+
+                case "shakedown":
+                    completions.addAll(Arrays.asList("confiscate", "cancel", "report"));
+                    break;
+                    
                 case "togglelootsystem":
                     // Toggle options
                     completions.addAll(Arrays.asList("on", "off", "enable", "disable", "true", "false"));
@@ -8,7 +8,6 @@ import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
 import org.bukkit.command.TabCompleter;
-import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
 
 import java.util.ArrayList;
@@ -111,23 +110,10 @@ public class NPCCommandHandler implements CommandExecutor, TabCompleter {
         if (args.length < 2) {
             if (sender instanceof Player player) {
                 // Try to find the closest NPC within 2 blocks
-                Entity closestNPC = null;
-                double closestDistanceSquared = 4; // 2 blocks squared
-
-                for (UUID npcUuid : npcManager.getCorrectionsNpcs()) {
-                    for (Entity entity : player.getNearbyEntities(2, 2, 2)) {
-                        if (entity.getUniqueId().equals(npcUuid)) {
-                            double distanceSquared = entity.getLocation().distanceSquared(player.getLocation());
-                            if (distanceSquared < closestDistanceSquared) {
-                                closestNPC = entity;
-                                closestDistanceSquared = distanceSquared;
-                            }
-                        }
-                    }
-                }
+                UUID closestNPC = npcManager.getNearestCorrectionsNpc(player.getLocation(), 2);
 
                 if (closestNPC != null) {
-                    boolean success = npcManager.removeNpc(closestNPC.getUniqueId());
+                    boolean success = npcManager.removeNpc(closestNPC);
                     if (success) {
                         player.sendMessage(MessageUtils.getPrefix(plugin).append(
                                 MessageUtils.parseMessage("<green>Corrections NPC removed successfully!</green>")));
@@ -212,7 +212,7 @@ public class BaseCommandHandler implements CommandExecutor, TabCompleter {
                     "checkperms", "checkrank", "givehandcuffs", "giveguarditems", "givespyglass",
                     "setwanted", "clearwanted", "getwanted", "clearglow", "setguardlounge", 
                     "setspawn", "setwardenoffice", "locations", "tpguardlounge", "checkitem",
-                    "integrationstatus", "reloadintegration", "tagcontraband", "removecontrabandtag",
+                    "integrationstatus", "iostatus", "tasks", "movement", "shakedown", "reloadintegration", "tagcontraband", "removecontrabandtag",
                     "listcontraband", "clearcontraband", "setguardrank", "listguardranks",
                     "createguardrank", "deleteguardrank", "setplayerrank", "removeplayerrank",
                     "listranks", "testloot", "togglelootsystem", "lootinfo"
@@ -269,6 +269,18 @@ public class BaseCommandHandler implements CommandExecutor, TabCompleter {
                     }
                     break;
                     
+                case "tasks":
+                    completions.add("reset");
+                    break;
+
+                case "movement":
+                    completions.add("bench");
+                    break;
+
+                case "shakedown":
+                    completions.addAll(Arrays.asList("confiscate", "cancel", "report"));
+                    break;
+                    
                 case "convert":
                     // Suggest common minute values
                     completions.addAll(Arrays.asList("5", "10", "15", "30", "60", "120"));
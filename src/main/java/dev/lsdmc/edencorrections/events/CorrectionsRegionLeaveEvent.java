@@ -0,0 +1,74 @@
+package dev.lsdmc.edencorrections.events;
+
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+import org.bukkit.event.Cancellable;
+import org.bukkit.event.Event;
+import org.bukkit.event.HandlerList;
+
+/**
+ * Event fired when a player's move leaves a WorldGuard region.
+ * Cancelling it cancels the move.
+ */
+public class CorrectionsRegionLeaveEvent extends Event implements Cancellable {
+    private static final HandlerList HANDLERS = new HandlerList();
+    private final Player player;
+    private final String regionId;
+    private final int ruleMask;
+    private final Location from;
+    private final Location to;
+    private boolean cancelled;
+
+    public CorrectionsRegionLeaveEvent(Player player, String regionId, int ruleMask, Location from, Location to) {
+        this.player = player;
+        this.regionId = regionId;
+        this.ruleMask = ruleMask;
+        this.from = from;
+        this.to = to;
+    }
+
+    public Player getPlayer() {
+        return player;
+    }
+
+    /**
+     * @return Lowercase WorldGuard id of the region the player is leaving
+     */
+    public String getRegionId() {
+        return regionId;
+    }
+
+    /**
+     * @return The region's {@link dev.lsdmc.edencorrections.regions.RegionRuleIndex} flags
+     */
+    public int getRuleMask() {
+        return ruleMask;
+    }
+
+    public Location getFrom() {
+        return from;
+    }
+
+    public Location getTo() {
+        return to;
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    @Override
+    public void setCancelled(boolean cancelled) {
+        this.cancelled = cancelled;
+    }
+
+    @Override
+    public HandlerList getHandlers() {
+        return HANDLERS;
+    }
+
+    public static HandlerList getHandlerList() {
+        return HANDLERS;
+    }
+}
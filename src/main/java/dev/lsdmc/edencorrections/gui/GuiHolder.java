@@ -39,6 +39,7 @@ public class GuiHolder implements InventoryHolder {
         EQUIPMENT_VIEW,  // Equipment management view
         ACTIONS_VIEW,    // Guard actions view
         TOKENS_VIEW,     // Token conversion view
-        SHOP_VIEW        // New shop view for purchasing items
+        SHOP_VIEW,       // New shop view for purchasing items
+        SHAKEDOWN_REPORT // Read-only shakedown findings
     }
 }
\ No newline at end of file
@@ -906,7 +906,7 @@ public class GuiManager {
                 plugin.getDutyManager().toggleDuty(player);
 
                 // Re-open GUI after a delay
-                Bukkit.getScheduler().runTaskLater(plugin, () -> {
+                plugin.getTaskScheduler().runAtEntityLater(player, () -> {
                     if (player.isOnline()) {
                         openDutyMenu(player);
                     }
@@ -1,6 +1,7 @@
 package dev.lsdmc.edencorrections.items;
 
 import dev.lsdmc.edencorrections.EdenCorrections;
+import dev.lsdmc.edencorrections.scheduler.CorrectionsTask;
 import org.bukkit.*;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
@@ -10,9 +11,10 @@ import org.bukkit.event.entity.EntityDamageByEntityEvent;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.potion.PotionEffect;
 import org.bukkit.potion.PotionEffectType;
-import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.util.Vector;
 
+import java.util.function.Consumer;
+
 public class GuardBaton implements Listener {
     private final EdenCorrections plugin;
     private static final double STUN_CHANCE = 0.3; // 30% chance to stun
@@ -26,10 +28,7 @@ public class GuardBaton implements Listener {
     }
 
     public static boolean isGuardBaton(ItemStack item) {
-        return item != null && item.hasItemMeta() &&
-               item.getType() == Material.STICK &&
-               item.getItemMeta().hasDisplayName() &&
-               item.getItemMeta().getDisplayName().equals("Guard Baton");
+        return GuardItemType.of(item) == GuardItemType.GUARD_BATON;
     }
 
     @EventHandler
@@ -85,12 +84,12 @@ public class GuardBaton implements Listener {
         target.addPotionEffect(new PotionEffect(PotionEffectType.WEAKNESS, STUN_DURATION, 1));
 
         // Visual stun effect
-        new BukkitRunnable() {
+        plugin.getTaskScheduler().runAtEntityTimer(target, new Consumer<CorrectionsTask>() {
             int ticks = 0;
             @Override
-            public void run() {
+            public void accept(CorrectionsTask handle) {
                 if (ticks >= STUN_DURATION) {
-                    this.cancel();
+                    handle.cancel();
                     return;
                 }
 
@@ -102,7 +101,7 @@ public class GuardBaton implements Listener {
 
                 ticks++;
             }
-        }.runTaskTimer(plugin, 0L, 5L);
+        }, 0L, 5L);
     }
 
     private void applyCooldownEffect(Player player) {
@@ -0,0 +1,78 @@
+package dev.lsdmc.edencorrections.items;
+
+import org.bukkit.NamespacedKey;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.persistence.PersistentDataType;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Every kind of guard item, keyed by the type id stored in the item's persistent data.
+ *
+ * Guard items are created with their id under {@link #KEY}, so recognising one is a single
+ * read of the stack's data followed by a map lookup. Display names are only for messages and
+ * are never used to tell items apart, so renaming an item or changing its configured name
+ * does not change what it is.
+ */
+public enum GuardItemType {
+    HANDCUFFS("handcuffs", "Handcuffs"),
+    DRUG_SNIFFER("drug-sniffer", "Drug Sniffer"),
+    METAL_DETECTOR("metal-detector", "Metal Detector"),
+    SPYGLASS("spyglass", "Spyglass"),
+    PRISON_REMOTE("prison-remote", "Prison Remote"),
+    GUARD_BATON("guard-baton", "Guard Baton"),
+    SMOKE_BOMB("smoke_bomb", "Smoke Bomb"),
+    TASER("taser", "Taser"),
+    SOBRIETY_TEST("sobriety-test", "Sobriety Test"),
+    RIOT_SHIELD("riot_shield", "Riot Shield");
+
+    /** Same key as new NamespacedKey(plugin, "guard_item_type"), usable without the plugin instance */
+    public static final NamespacedKey KEY = NamespacedKey.fromString("edencorrections:guard_item_type");
+
+    private static final Map<String, GuardItemType> BY_ID = new HashMap<>();
+
+    static {
+        for (GuardItemType type : values()) {
+            BY_ID.put(type.id, type);
+        }
+    }
+
+    private final String id;
+    private final String displayName;
+
+    GuardItemType(String id, String displayName) {
+        this.id = id;
+        this.displayName = displayName;
+    }
+
+    /**
+     * The id stored on the item, also used as the cooldown and config key
+     */
+    public String getId() {
+        return id;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * @return The type with this id, or null if there is none
+     */
+    public static GuardItemType fromId(String id) {
+        return id != null ? BY_ID.get(id) : null;
+    }
+
+    /**
+     * Read the guard item type of a stack. Reads the stack's data directly instead of copying
+     * its meta.
+     * @return The type, or null if the stack is not a guard item
+     */
+    public static GuardItemType of(ItemStack item) {
+        if (item == null || !item.hasItemMeta()) {
+            return null;
+        }
+        return fromId(item.getPersistentDataContainer().get(KEY, PersistentDataType.STRING));
+    }
+}
@@ -11,8 +11,6 @@ import org.bukkit.event.Listener;
 import org.bukkit.event.block.Action;
 import org.bukkit.event.player.PlayerInteractEvent;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.scheduler.BukkitRunnable;
-import org.bukkit.scheduler.BukkitTask;
 import org.bukkit.util.Vector;
 
 import java.util.*;
@@ -29,10 +27,7 @@ public class GuardSpyglass implements Listener {
     }
 
     public static boolean isGuardSpyglass(ItemStack item) {
-        return item != null && item.hasItemMeta() &&
-               item.getType() == Material.SPYGLASS &&
-               item.getItemMeta().hasDisplayName() &&
-               item.getItemMeta().getDisplayName().equals("Guard Spyglass");
+        return GuardItemType.of(item) == GuardItemType.SPYGLASS;
     }
 
     @EventHandler
@@ -97,15 +92,15 @@ public class GuardSpyglass implements Listener {
     }
 
     private Entity getTargetEntity(Player player) {
-        List<Entity> nearbyEntities = player.getNearbyEntities(MAX_RANGE, MAX_RANGE, MAX_RANGE);
         Vector direction = player.getLocation().getDirection();
         Location eyeLocation = player.getEyeLocation();
+        List<Player> candidates = plugin.getPlayerSpatialIndex().getNearby(eyeLocation, MAX_RANGE);
 
         Entity closest = null;
         double closestDistance = MAX_RANGE;
 
-        for (Entity entity : nearbyEntities) {
-            if (!(entity instanceof Player)) continue;
+        for (Player entity : candidates) {
+            if (entity.equals(player)) continue;
 
             Vector toEntity = entity.getLocation().toVector().subtract(eyeLocation.toVector());
             double distance = toEntity.length();
@@ -33,18 +33,19 @@ public class Handcuffs {
         ));
         
         meta.getPersistentDataContainer().set(handcuffKey, PersistentDataType.BOOLEAN, true);
+        meta.getPersistentDataContainer().set(GuardItemType.KEY, PersistentDataType.STRING, GuardItemType.HANDCUFFS.getId());
         handcuffs.setItemMeta(meta);
         
         return handcuffs;
     }
 
     public boolean isHandcuffs(ItemStack item) {
-        if (item == null || item.getType() != Material.IRON_INGOT) {
-            return false;
+        if (GuardItemType.of(item) == GuardItemType.HANDCUFFS) {
+            return true;
         }
-        
-        ItemMeta meta = item.getItemMeta();
-        return meta != null && meta.getPersistentDataContainer().has(handcuffKey, PersistentDataType.BOOLEAN);
+        // Handcuffs made before guard item types carry only their own marker
+        return item != null && item.getType() == Material.IRON_INGOT && item.hasItemMeta()
+                && item.getPersistentDataContainer().has(handcuffKey, PersistentDataType.BOOLEAN);
     }
 
     public void applyHandcuffs(Player guard, Player target) {
@@ -64,11 +65,11 @@ public class Handcuffs {
         target.setInvulnerable(true);
         
         // Notify players
-        guard.sendMessage(Component.text("You have handcuffed " + target.getName(), NamedTextColor.GREEN));
+        plugin.getTaskScheduler().runForEntity(guard, () -> guard.sendMessage(Component.text("You have handcuffed " + target.getName(), NamedTextColor.GREEN)));
         target.sendMessage(Component.text("You have been handcuffed by " + guard.getName(), NamedTextColor.RED));
         
         // Schedule removal of handcuffs after 5 minutes
-        plugin.getServer().getScheduler().runTaskLater(plugin, () -> removeHandcuffs(target), 6000L);
+        plugin.getTaskScheduler().runAtEntityLater(target, () -> removeHandcuffs(target), 6000L);
     }
 
     public void removeHandcuffs(Player target) {
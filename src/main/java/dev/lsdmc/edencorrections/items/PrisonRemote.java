@@ -11,7 +11,6 @@ import org.bukkit.event.Listener;
 import org.bukkit.event.block.Action;
 import org.bukkit.event.player.PlayerInteractEvent;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.util.Vector;
 
 import java.util.*;
@@ -29,10 +28,7 @@ public class PrisonRemote implements Listener {
     }
 
     public static boolean isPrisonRemote(ItemStack item) {
-        return item != null && item.hasItemMeta() &&
-               item.getType() == Material.REPEATER &&
-               item.getItemMeta().hasDisplayName() &&
-               item.getItemMeta().getDisplayName().equals("Prison Remote");
+        return GuardItemType.of(item) == GuardItemType.PRISON_REMOTE;
     }
 
     @EventHandler
@@ -141,15 +137,12 @@ public class PrisonRemote implements Listener {
         }
 
         // Schedule door closing
-        new BukkitRunnable() {
-            @Override
-            public void run() {
-                if (activeCells.contains(doorBlock.getLocation())) {
-                    closeCell(doorBlock);
-                    activeCells.remove(doorBlock.getLocation());
-                }
+        plugin.getTaskScheduler().runAtLocationLater(doorBlock.getLocation(), () -> {
+            if (activeCells.contains(doorBlock.getLocation())) {
+                closeCell(doorBlock);
+                activeCells.remove(doorBlock.getLocation());
             }
-        }.runTaskLater(plugin, 200L); // Close after 10 seconds
+        }, 200L); // Close after 10 seconds
     }
 
     private void closeCell(Block doorBlock) {
@@ -6,9 +6,6 @@ public class SobrietyTest implements Listener {
     // TODO: Implement Sobriety Test logic
 
     public static boolean isSobrietyTest(org.bukkit.inventory.ItemStack item) {
-        return item != null && item.hasItemMeta() &&
-               item.getType() == org.bukkit.Material.GLASS_BOTTLE &&
-               item.getItemMeta().hasDisplayName() &&
-               item.getItemMeta().getDisplayName().equals("Sobriety Test");
+        return GuardItemType.of(item) == GuardItemType.SOBRIETY_TEST;
     }
 } 
\ No newline at end of file
@@ -1,15 +1,14 @@
 package dev.lsdmc.edencorrections.listeners;
 
 import dev.lsdmc.edencorrections.EdenCorrections;
+import dev.lsdmc.edencorrections.commands.CommandRuleIndex;
 import dev.lsdmc.edencorrections.utils.MessageUtils;
 import dev.lsdmc.edencorrections.utils.RegionUtils;
-import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.player.PlayerCommandPreprocessEvent;
-import org.bukkit.event.player.PlayerMoveEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.event.player.PlayerTeleportEvent;
 import org.bukkit.event.inventory.InventoryOpenEvent;
@@ -35,8 +34,7 @@ public class ChaseListener implements Listener {
 
         // Check if player is being chased
         if (plugin.getChaseManager().isBeingChased(player)) {
-            if (plugin.getChaseManager().isCommandRestricted(command) || 
-                plugin.getChaseManager().isTeleportCommand(command)) {
+            if (plugin.getCommandRuleIndex().matches(command, CommandRuleIndex.CHASE_DENIED)) {
                 
                 event.setCancelled(true);
                 String message = plugin.getChaseManager().getRestrictionMessage(player, "command");
@@ -126,7 +124,7 @@ public class ChaseListener implements Listener {
                 event.setCancelled(true);
                 
                 // Cancel the sound by scheduling a task to stop it
-                Bukkit.getScheduler().runTask(plugin, () -> {
+                plugin.getTaskScheduler().runAtEntity(player, () -> {
                     // Stop the ender chest opening sound
                     player.stopSound(org.bukkit.Sound.BLOCK_ENDER_CHEST_OPEN);
                 });
@@ -140,55 +138,6 @@ public class ChaseListener implements Listener {
         }
     }
 
-    /**
-     * Handle region movement restrictions for chased and wanted players
-     */
-    @EventHandler(priority = EventPriority.MONITOR)
-    public void onPlayerMove(PlayerMoveEvent event) {
-        if (event.getFrom().getBlock().equals(event.getTo().getBlock())) return;
-        
-        Player player = event.getPlayer();
-        handleRegionMovement(player, event);
-    }
-
-    /**
-     * Handle chased/wanted player movement between regions
-     */
-    private void handleRegionMovement(Player player, PlayerMoveEvent event) {
-        // Check if player should be restricted
-        if (!plugin.getWantedLevelManager().shouldRestrict(player)) return;
-        
-        // Get regions at destination
-        List<String> regions = RegionUtils.getRegionsAtLocation(event.getTo());
-        
-        for (String region : regions) {
-            // Check chase manager restrictions
-            if (!plugin.getChaseManager().canAccessRegion(player, region)) {
-                event.setCancelled(true);
-                teleportToSafeLocation(player, event.getFrom());
-                
-                String restrictionType = determineRestrictionType(region);
-                String message = plugin.getChaseManager().isBeingChased(player) ?
-                    plugin.getChaseManager().getRestrictionMessage(player, restrictionType) :
-                    plugin.getWantedLevelManager().getRestrictionMessage(player, restrictionType);
-                    
-                player.sendMessage(MessageUtils.parseMessage(message));
-                return;
-            }
-            
-            // Check wanted level restrictions  
-            if (!plugin.getWantedLevelManager().canAccessRegion(player, region)) {
-                event.setCancelled(true);
-                teleportToSafeLocation(player, event.getFrom());
-                
-                String restrictionType = determineRestrictionType(region);
-                String message = plugin.getWantedLevelManager().getRestrictionMessage(player, restrictionType);
-                player.sendMessage(MessageUtils.parseMessage(message));
-                return;
-            }
-        }
-    }
-
     /**
      * Check if teleport destination should be restricted
      */
@@ -223,20 +172,6 @@ public class ChaseListener implements Listener {
         return "region";
     }
 
-    /**
-     * Teleport player to a safe location (prevents getting stuck)
-     */
-    private void teleportToSafeLocation(Player player, Location safeLocation) {
-        // Ensure the safe location is actually safe
-        if (safeLocation != null && safeLocation.getWorld() != null) {
-            // Make sure the safe location is a block they can stand on
-            Location safe = safeLocation.clone();
-            safe.setY(Math.max(safe.getY(), safe.getWorld().getHighestBlockYAt(safe) + 1));
-            
-            player.teleport(safe);
-        }
-    }
-
     /**
      * Handle chase end when player quits
      */
@@ -1,6 +1,7 @@
 package dev.lsdmc.edencorrections.listeners;
 
 import dev.lsdmc.edencorrections.EdenCorrections;
+import dev.lsdmc.edencorrections.managers.ContrabandClassifier;
 import dev.lsdmc.edencorrections.managers.ContrabandManager;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
@@ -17,10 +18,12 @@ import org.bukkit.inventory.ItemStack;
 public class ContrabandListener implements Listener {
     private final EdenCorrections plugin;
     private final ContrabandManager contrabandManager;
+    private final ContrabandClassifier classifier;
 
     public ContrabandListener(EdenCorrections plugin) {
         this.plugin = plugin;
         this.contrabandManager = plugin.getContrabandManager();
+        this.classifier = plugin.getContrabandClassifier();
     }
 
     @EventHandler
@@ -35,11 +38,12 @@ public class ContrabandListener implements Listener {
             return;
         }
 
-        if (contrabandManager.isDrug(item)) {
+        int classification = classifier.classify(item);
+        if ((classification & ContrabandClassifier.TAGGED_DRUG) != 0) {
             event.setCancelled(true);
             contrabandManager.handleDrugUse(player, item);
             item.setAmount(item.getAmount() - 1);
-        } else if (contrabandManager.isContraband(item)) {
+        } else if ((classification & ContrabandClassifier.TAGGED_CONTRABAND) != 0) {
             event.setCancelled(true);
             player.sendMessage(Component.text("This item is contraband and cannot be used.", NamedTextColor.RED));
         }
@@ -57,7 +61,7 @@ public class ContrabandListener implements Listener {
             return;
         }
 
-        if (contrabandManager.isContraband(item)) {
+        if (classifier.has(item, ContrabandClassifier.TAGGED_CONTRABAND, false)) {
             event.setCancelled(true);
             player.sendMessage(Component.text("This item is contraband and cannot be placed.", NamedTextColor.RED));
         }
@@ -75,7 +79,7 @@ public class ContrabandListener implements Listener {
             return;
         }
 
-        if (contrabandManager.isContraband(item)) {
+        if (classifier.has(item, ContrabandClassifier.TAGGED_CONTRABAND, false)) {
             event.setCancelled(true);
             player.sendMessage(Component.text("This item is contraband and cannot be dropped.", NamedTextColor.RED));
         }
@@ -90,14 +94,16 @@ public class ContrabandListener implements Listener {
             return;
         }
 
+        // Only stamp items in the player's own inventory; other inventories may be plugin menus
         ItemStack clickedItem = event.getCurrentItem();
-        if (clickedItem != null && contrabandManager.isContraband(clickedItem)) {
+        boolean ownInventory = event.getClickedInventory() == player.getInventory();
+        if (clickedItem != null && classifier.has(clickedItem, ContrabandClassifier.TAGGED_CONTRABAND, ownInventory)) {
             event.setCancelled(true);
             player.sendMessage(Component.text("This item is contraband and cannot be moved.", NamedTextColor.RED));
         }
 
         ItemStack cursorItem = event.getCursor();
-        if (cursorItem != null && contrabandManager.isContraband(cursorItem)) {
+        if (cursorItem != null && classifier.has(cursorItem, ContrabandClassifier.TAGGED_CONTRABAND, false)) {
             event.setCancelled(true);
             player.sendMessage(Component.text("This item is contraband and cannot be moved.", NamedTextColor.RED));
         }
@@ -115,7 +121,7 @@ public class ContrabandListener implements Listener {
             return;
         }
 
-        if (contrabandManager.isContraband(item)) {
+        if (classifier.has(item, ContrabandClassifier.TAGGED_CONTRABAND, false)) {
             event.setCancelled(true);
             player.sendMessage(Component.text("This item is contraband and cannot be consumed.", NamedTextColor.RED));
         }
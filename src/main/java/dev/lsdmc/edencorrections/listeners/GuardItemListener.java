@@ -5,15 +5,7 @@ import com.sk89q.worldguard.protection.flags.Flags;
 import com.sk89q.worldguard.protection.regions.RegionContainer;
 import com.sk89q.worldguard.protection.regions.RegionQuery;
 import dev.lsdmc.edencorrections.EdenCorrections;
-import dev.lsdmc.edencorrections.items.Handcuffs;
-import dev.lsdmc.edencorrections.items.DrugSniffer;
-import dev.lsdmc.edencorrections.items.MetalDetector;
-import dev.lsdmc.edencorrections.items.GuardSpyglass;
-import dev.lsdmc.edencorrections.items.SobrietyTest;
-import dev.lsdmc.edencorrections.items.PrisonRemote;
-import dev.lsdmc.edencorrections.items.GuardBaton;
-import dev.lsdmc.edencorrections.items.SmokeBomb;
-import dev.lsdmc.edencorrections.items.GuardTaser;
+import dev.lsdmc.edencorrections.items.GuardItemType;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
 import org.bukkit.Material;
@@ -68,25 +60,8 @@ public class GuardItemListener implements Listener {
     }
 
     private boolean isGuardItem(ItemStack item) {
-        // Check for handcuffs
-        if (plugin.getHandcuffs().isHandcuffs(item)) return true;
-        // Drug Sniffer
-        if (DrugSniffer.isDrugSniffer(item)) return true;
-        // Metal Detector
-        if (MetalDetector.isMetalDetector(item)) return true;
-        // Guard Spyglass
-        if (GuardSpyglass.isGuardSpyglass(item)) return true;
-        // Sobriety Test
-        if (SobrietyTest.isSobrietyTest(item)) return true;
-        // Prison Remote
-        if (PrisonRemote.isPrisonRemote(item)) return true;
-        // Guard Baton
-        if (GuardBaton.isGuardBaton(item)) return true;
-        // Smoke Bomb
-        if (SmokeBomb.isSmokeBomb(item)) return true;
-        // Guard Taser
-        if (GuardTaser.isGuardTaser(item)) return true;
-        return false;
+        // One read of the item type covers every guard item; older handcuffs carry only their own marker
+        return GuardItemType.of(item) != null || plugin.getHandcuffs().isHandcuffs(item);
     }
 
     private boolean isInSafezone(Player player) {
@@ -1,11 +1,10 @@
 package dev.lsdmc.edencorrections.listeners;
 
 import dev.lsdmc.edencorrections.EdenCorrections;
+import dev.lsdmc.edencorrections.items.GuardItemType;
 import dev.lsdmc.edencorrections.utils.MessageUtils;
-import dev.lsdmc.edencorrections.utils.RegionUtils;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
-import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
@@ -17,14 +16,12 @@ import org.bukkit.event.entity.PlayerDeathEvent;
 import org.bukkit.event.player.PlayerCommandPreprocessEvent;
 import org.bukkit.event.player.PlayerInteractEvent;
 import org.bukkit.event.player.PlayerJoinEvent;
-import org.bukkit.event.player.PlayerMoveEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.event.player.PlayerRespawnEvent;
 import org.bukkit.event.player.PlayerTeleportEvent;
 import org.bukkit.event.player.PlayerInteractEntityEvent;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.EquipmentSlot;
-import org.bukkit.scheduler.BukkitRunnable;
 
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
@@ -34,7 +31,7 @@ public class GuardListener implements Listener {
     private final EdenCorrections plugin;
     private final Map<UUID, Long> lastMessageTime = new ConcurrentHashMap<>();
     private final Map<UUID, Long> lastInteractionTime = new ConcurrentHashMap<>();
-    private final Map<UUID, String> lastActionType = new ConcurrentHashMap<>();
+    private final Map<UUID, GuardItemType> lastActionType = new ConcurrentHashMap<>();
     
     private static final long MESSAGE_COOLDOWN = 1500; // 1.5 seconds
     private static final long INTERACTION_COOLDOWN = 1000; // 1 second global interaction cooldown
@@ -109,7 +106,7 @@ public class GuardListener implements Listener {
         if (plugin.getDutyManager().isOnDuty(playerId) &&
                 plugin.getGuardPenaltyManager().hasActivePenalty(playerId)) {
             // Schedule reminder message
-            Bukkit.getScheduler().runTaskLater(plugin, () -> {
+            plugin.getTaskScheduler().runAtEntityLater(player, () -> {
                 if (!player.isOnline()) return;
 
                 int remainingSeconds = plugin.getGuardPenaltyManager().getRemainingPenaltyTime(playerId);
@@ -124,69 +121,7 @@ public class GuardListener implements Listener {
         }
     }
 
-    // Movement Events
-    @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
-    public void onPlayerMove(PlayerMoveEvent event) {
-        // Only check if block position changed
-        if (event.getFrom().getBlockX() == event.getTo().getBlockX() &&
-            event.getFrom().getBlockY() == event.getTo().getBlockY() &&
-            event.getFrom().getBlockZ() == event.getTo().getBlockZ()) {
-            return;
-        }
-
-        Player player = event.getPlayer();
-        UUID playerId = player.getUniqueId();
-
-        // Check if player is on duty
-        if (!plugin.getDutyManager().isOnDuty(playerId)) {
-            return;
-        }
-
-        // Check immobilization
-        if (plugin.getDutyManager().isPlayerImmobilized(playerId)) {
-            event.setCancelled(true);
-            plugin.getDutyManager().sendImmobilizationReminderWithCooldown(player);
-            return;
-        }
-
-        // Check chase restrictions
-        if (plugin.getChaseManager().isBeingChased(player)) {
-            for (String region : RegionUtils.getRegionsAtLocation(event.getTo())) {
-                if (plugin.getChaseManager().isRegionRestricted(region)) {
-                    event.setCancelled(true);
-                    sendCooldownMessage(player, "§cYou cannot enter this area while being chased!");
-                    return;
-                }
-            }
-        }
-
-        // Check penalty restrictions
-        if (plugin.getGuardPenaltyManager().isPlayerLocked(playerId)) {
-            boolean isLeavingRestricted = true;
-            for (String region : plugin.getGuardPenaltyManager().getRestrictedRegions()) {
-                if (RegionUtils.isLocationInRegion(event.getTo(), region)) {
-                    isLeavingRestricted = false;
-                    break;
-                }
-            }
-
-            if (isLeavingRestricted) {
-                event.setCancelled(true);
-                plugin.getGuardPenaltyManager().handleRestrictedRegionExit(player);
-                return;
-            }
-        }
-
-        // Check general movement restrictions
-        for (String region : RegionUtils.getRegionsAtLocation(event.getTo())) {
-            if (plugin.getGuardRestrictionManager().isRegionRestricted(region)) {
-                event.setCancelled(true);
-                sendCooldownMessage(player, plugin.getGuardRestrictionManager().getMovementRestrictionMessage());
-                return;
-            }
-        }
-    }
-
+    // Movement Events (block-change checks run in MovementPipeline)
     @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
     public void onPlayerTeleport(PlayerTeleportEvent event) {
         Player player = event.getPlayer();
@@ -242,16 +177,13 @@ public class GuardListener implements Listener {
     public void onPlayerJoin(PlayerJoinEvent event) {
         Player player = event.getPlayer();
 
-        new BukkitRunnable() {
-            @Override
-            public void run() {
-                if (player.isOnline() && plugin.getGuardBuffManager().isPlayerGuard(player)) {
-                    if (plugin.getConfigManager().isDebugEnabled()) {
-                        plugin.getLogger().info("Guard " + player.getName() + " joined - buffs will activate when they go on duty");
-                    }
+        plugin.getTaskScheduler().runAtEntityLater(player, () -> {
+            if (player.isOnline() && plugin.getGuardBuffManager().isPlayerGuard(player)) {
+                if (plugin.getConfigManager().isDebugEnabled()) {
+                    plugin.getLogger().info("Guard " + player.getName() + " joined - buffs will activate when they go on duty");
                 }
             }
-        }.runTaskLater(plugin, 60L);
+        }, 60L);
     }
 
     @EventHandler(priority = EventPriority.MONITOR)
@@ -327,20 +259,14 @@ public class GuardListener implements Listener {
         ItemStack item = player.getInventory().getItemInMainHand();
 
         // Check if it's a guard item
-        if (plugin.getGuardItemManager().isGuardItem(item)) {
-            String itemType = plugin.getGuardItemManager().getGuardItemType(item);
-            if (itemType == null) {
-                event.setCancelled(true);
-                return;
-            }
-            
+        GuardItemType itemType = plugin.getGuardItemManager().getType(item);
+        if (itemType != null) {
             // ENHANCED: Same action type spam protection
-            String lastAction = lastActionType.get(playerId);
-            if (itemType.equals(lastAction)) {
+            if (itemType == lastActionType.get(playerId)) {
                 Long lastSameAction = lastInteractionTime.get(playerId);
                 if (lastSameAction != null && now - lastSameAction < SAME_ACTION_COOLDOWN) {
                     event.setCancelled(true);
-                    sendCooldownMessage(player, "<red>" + formatItemName(itemType) + " is on cooldown! Wait " + 
+                    sendCooldownMessage(player, "<red>" + itemType.getDisplayName() + " is on cooldown! Wait " + 
                         ((SAME_ACTION_COOLDOWN - (now - lastSameAction)) / 1000) + " more seconds.</red>");
                     return;
                 }
@@ -375,7 +301,7 @@ public class GuardListener implements Listener {
                 }
                 
                 // Process the guard item usage (with built-in cooldowns)
-                boolean handled = plugin.getGuardItemManager().handleGuardItemUsage(player, target, item);
+                boolean handled = plugin.getGuardItemManager().handleGuardItemUsage(player, target, item, itemType);
                 if (!handled) {
                     sendCooldownMessage(player, "<red>This guard item cannot be used on players!</red>");
                 }
@@ -386,7 +312,7 @@ public class GuardListener implements Listener {
                     return;
                 }
                 
-                boolean handled = plugin.getGuardItemManager().handleGuardItemUsageNoTarget(player, item);
+                boolean handled = plugin.getGuardItemManager().handleGuardItemUsageNoTarget(player, itemType);
                 if (!handled) {
                     sendCooldownMessage(player, "<red>This guard item requires a target! Right-click on a player.</red>");
                 }
@@ -429,23 +355,6 @@ public class GuardListener implements Listener {
         return true;
     }
     
-    /**
-     * ENHANCED: Format item names for user-friendly messages
-     */
-    private String formatItemName(String itemType) {
-        return switch (itemType.toLowerCase()) {
-            case "handcuffs" -> "Handcuffs";
-            case "drug-sniffer" -> "Drug Sniffer";
-            case "metal-detector" -> "Metal Detector";
-            case "spyglass" -> "Spyglass";
-            case "guard-baton" -> "Guard Baton";
-            case "prison-remote" -> "Prison Remote";
-            case "taser" -> "Taser";
-            case "smoke_bomb" -> "Smoke Bomb";
-            default -> "Guard Item";
-        };
-    }
-
     private void sendCooldownMessage(Player player, String message) {
         UUID playerId = player.getUniqueId();
         long now = System.currentTimeMillis();
@@ -468,8 +377,8 @@ public class GuardListener implements Listener {
         
         // Check if using guard item
         ItemStack item = player.getInventory().getItemInMainHand();
-        if (plugin.getGuardItemManager().isGuardItem(item)) {
-            String itemType = plugin.getGuardItemManager().getGuardItemType(item);
+        GuardItemType itemType = plugin.getGuardItemManager().getType(item);
+        if (itemType != null) {
             
             // Apply same spam protection as entity interactions
             Long lastInteraction = lastInteractionTime.get(playerId);
@@ -479,20 +388,17 @@ public class GuardListener implements Listener {
             }
             
             // Check for same action spam
-            String lastAction = lastActionType.get(playerId);
-            if (itemType != null && itemType.equals(lastAction)) {
+            if (itemType == lastActionType.get(playerId)) {
                 if (lastInteraction != null && now - lastInteraction < SAME_ACTION_COOLDOWN) {
                     event.setCancelled(true);
-                    sendCooldownMessage(player, "<red>" + formatItemName(itemType) + " is on cooldown!</red>");
+                    sendCooldownMessage(player, "<red>" + itemType.getDisplayName() + " is on cooldown!</red>");
                     return;
                 }
             }
             
             // Update tracking for non-entity guard item usage
             lastInteractionTime.put(playerId, now);
-            if (itemType != null) {
-                lastActionType.put(playerId, itemType);
-            }
+            lastActionType.put(playerId, itemType);
             
             // Check immobilization
             if (plugin.getDutyManager().isPlayerImmobilized(playerId)) {
@@ -510,7 +416,7 @@ public class GuardListener implements Listener {
                 }
                 
                 // Let GuardItemManager handle the specific item logic
-                boolean handled = plugin.getGuardItemManager().handleGuardItemUsageNoTarget(player, item);
+                boolean handled = plugin.getGuardItemManager().handleGuardItemUsageNoTarget(player, itemType);
                 if (handled) {
                     event.setCancelled(true); // Prevent default block interaction
                 }
@@ -522,7 +428,7 @@ public class GuardListener implements Listener {
      * MAINTENANCE: Periodic cleanup of old entries (runs every 5 minutes)
      */
     public void startCleanupTask() {
-        plugin.getServer().getScheduler().runTaskTimerAsynchronously(plugin, () -> {
+        plugin.getTaskScheduler().runAsyncTimer(handle -> {
             long now = System.currentTimeMillis();
             java.util.concurrent.atomic.AtomicInteger cleaned = new java.util.concurrent.atomic.AtomicInteger(0);
             
@@ -69,6 +69,9 @@ public class GuiListener implements Listener {
                     // Token management handler
                     plugin.getGuiManager().handleTokensViewClick(player, event.getSlot());
                     break;
+                case SHAKEDOWN_REPORT:
+                    // Read-only report, nothing to handle
+                    break;
                 default:
                     // Unknown GUI type - do nothing
                     break;
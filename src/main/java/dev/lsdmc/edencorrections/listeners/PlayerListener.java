@@ -4,14 +4,12 @@ import dev.lsdmc.edencorrections.EdenCorrections;
 import dev.lsdmc.edencorrections.config.ConfigManager;
 import dev.lsdmc.edencorrections.utils.MessageUtils;
 import net.kyori.adventure.text.Component;
-import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
-import org.bukkit.scheduler.BukkitRunnable;
 
 import java.util.UUID;
 
@@ -31,7 +29,7 @@ public class PlayerListener implements Listener {
         plugin.getDutyManager().clearImmobilization(playerId);
 
         // Process daily login rewards with full multipliers
-        Bukkit.getScheduler().runTaskLater(plugin, () -> {
+        plugin.getTaskScheduler().runAtEntityLater(player, () -> {
             if (player.isOnline()) {
                 plugin.getGuardTokenManager().processDailyLogin(player);
             }
@@ -40,7 +38,7 @@ public class PlayerListener implements Listener {
         // Show GUI on join if configured
         ConfigManager.GuiConfig guiConfig = plugin.getConfigManager().getGuiConfig();
         if (guiConfig != null && guiConfig.showOnJoin && player.hasPermission("edencorrections.guard")) {
-            Bukkit.getScheduler().runTaskLater(plugin, () -> {
+            plugin.getTaskScheduler().runAtEntityLater(player, () -> {
                 if (player.isOnline()) {
                     plugin.getGuiManager().openMainMenu(player);
                 }
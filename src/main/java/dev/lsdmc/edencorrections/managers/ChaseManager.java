@@ -1,17 +1,21 @@
 package dev.lsdmc.edencorrections.managers;
 
 import dev.lsdmc.edencorrections.EdenCorrections;
+import dev.lsdmc.edencorrections.commands.CommandRuleIndex;
+import dev.lsdmc.edencorrections.regions.RegionRuleIndex;
+import dev.lsdmc.edencorrections.scheduler.CorrectionsTask;
 import dev.lsdmc.edencorrections.utils.MessageUtils;
 import net.kyori.adventure.text.Component;
 import org.bukkit.Bukkit;
+import org.bukkit.Location;
 import org.bukkit.boss.BarColor;
 import org.bukkit.boss.BarStyle;
 import org.bukkit.boss.BossBar;
 import org.bukkit.entity.Player;
-import org.bukkit.scheduler.BukkitTask;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -23,7 +27,7 @@ public class ChaseManager {
     private final EdenCorrections plugin;
     private final Map<UUID, UUID> activeChases = new ConcurrentHashMap<>(); // target -> guard
     private final Map<UUID, BossBar> chaseBars = new ConcurrentHashMap<>();
-    private final Map<UUID, BukkitTask> chaseTasks = new ConcurrentHashMap<>();
+    private final Map<UUID, CorrectionsTask> chaseTasks = new ConcurrentHashMap<>();
     private final Set<String> restrictedCommands = new HashSet<>();
     private final Set<String> restrictedRegions = new HashSet<>();
     
@@ -119,36 +123,35 @@ public class ChaseManager {
 
         // Validation checks
         if (!plugin.getDutyManager().isOnDuty(guardId)) {
-            guard.sendMessage(MessageUtils.getPrefix(plugin).append(
+            tell(guard, MessageUtils.getPrefix(plugin).append(
                 MessageUtils.parseMessage("<red>You must be on duty to start a chase!</red>")));
             return false;
         }
 
         if (guard.equals(target)) {
-            guard.sendMessage(MessageUtils.getPrefix(plugin).append(
+            tell(guard, MessageUtils.getPrefix(plugin).append(
                 MessageUtils.parseMessage("<red>You cannot chase yourself!</red>")));
             return false;
         }
 
         // Check if target is already being chased
         if (isBeingChased(target)) {
-            guard.sendMessage(MessageUtils.getPrefix(plugin).append(
+            tell(guard, MessageUtils.getPrefix(plugin).append(
                 MessageUtils.parseMessage("<red>This player is already being chased!</red>")));
             return false;
         }
 
         // Check if guard is already chasing someone
         if (isGuardChasing(guard)) {
-            guard.sendMessage(MessageUtils.getPrefix(plugin).append(
+            tell(guard, MessageUtils.getPrefix(plugin).append(
                 MessageUtils.parseMessage("<red>You are already chasing someone!</red>")));
             return false;
         }
 
         // Check distance (optional - guards can start chase from reasonable distance)
-        double distance = guard.getLocation().distance(target.getLocation());
         double maxStartDistance = plugin.getConfig().getDouble("chase.max-start-distance", 20.0);
-        if (distance > maxStartDistance) {
-            guard.sendMessage(MessageUtils.getPrefix(plugin).append(
+        if (!within(guard, target, maxStartDistance)) {
+            tell(guard, MessageUtils.getPrefix(plugin).append(
                 MessageUtils.parseMessage("<red>Target is too far away to start a chase!</red>")));
             return false;
         }
@@ -169,43 +172,39 @@ public class ChaseManager {
         bossBar.addPlayer(target);
         chaseBars.put(targetId, bossBar);
 
-        // Schedule chase end
-        BukkitTask task = Bukkit.getScheduler().runTaskTimer(plugin, new Runnable() {
-            int timeLeft = chaseDuration;
-
-            @Override
-            public void run() {
-                timeLeft--;
-                if (timeLeft <= 0) {
-                    endChase(target, true);
-                    return;
-                }
-
-                // Check if players are still online
-                if (!target.isOnline() || !guard.isOnline()) {
-                    endChase(target, true);
-                    return;
-                }
-
-                // Check if guard caught target (within 3 blocks)
-                if (guard.getLocation().distance(target.getLocation()) <= 3.0) {
-                    endChase(target, false); // Successful catch
-                    return;
-                }
-
-                // Update boss bar
-                bossBar.setProgress(timeLeft / (double)chaseDuration);
-                bossBar.setTitle("§c§lChase Time Remaining: §e" + timeLeft + "s");
-
-                // Alert at certain intervals
-                if (timeLeft == 60 || timeLeft == 30 || timeLeft == 10) {
-                    Component message = MessageUtils.parseMessage(
-                        "<red>Chase ends in " + timeLeft + " seconds!</red>");
-                    guard.sendMessage(message);
-                    target.sendMessage(message);
-                }
+        // Schedule chase end on the target's region thread; a logout retires the task and ends the chase
+        int[] timeLeft = {chaseDuration};
+        CorrectionsTask task = plugin.getTaskScheduler().runAtEntityTimer(target, handle -> {
+            timeLeft[0]--;
+            if (timeLeft[0] <= 0) {
+                endChase(target, true);
+                return;
+            }
+
+            // Check if players are still online
+            if (!target.isOnline() || !guard.isOnline()) {
+                endChase(target, true);
+                return;
+            }
+
+            // Check if guard caught target (within 3 blocks)
+            if (within(guard, target, 3.0)) {
+                endChase(target, false); // Successful catch
+                return;
+            }
+
+            // Update boss bar
+            bossBar.setProgress(timeLeft[0] / (double)chaseDuration);
+            bossBar.setTitle("§c§lChase Time Remaining: §e" + timeLeft[0] + "s");
+
+            // Alert at certain intervals
+            if (timeLeft[0] == 60 || timeLeft[0] == 30 || timeLeft[0] == 10) {
+                Component message = MessageUtils.parseMessage(
+                    "<red>Chase ends in " + timeLeft[0] + " seconds!</red>");
+                tell(guard, message);
+                target.sendMessage(message);
             }
-        }, 20L, 20L);
+        }, () -> endChase(target, true), 20L, 20L);
 
         chaseTasks.put(targetId, task);
 
@@ -290,7 +289,7 @@ public class ChaseManager {
         // Jail if not expired and both are online and close
         if (!expired && target != null && guard != null && 
             target.isOnline() && guard.isOnline() && 
-            target.getLocation().distance(guard.getLocation()) < 5) {
+            within(guard, target, 5.0)) {
             
             // Get jail time based on wanted level
             int wantedLevel = plugin.getWantedLevelManager().getWantedLevel(targetId);
@@ -319,8 +318,8 @@ public class ChaseManager {
                 "<red>Chase has expired! " + target.getName() + " has escaped!</red>" :
                 successful ? "<green>Chase successful! " + target.getName() + " has been caught!</green>" :
                 "<red>Chase has ended!</red>");
-            guard.sendMessage(message);
-            target.sendMessage(message);
+            tell(guard, message);
+            tell(target, message);
             
             // Broadcast result
             Component broadcast = MessageUtils.parseMessage(expired ?
@@ -333,6 +332,25 @@ public class ChaseManager {
         return successful;
     }
 
+    /**
+     * Whether the two are in the same world and at most this far apart. The timer runs on the
+     * target's thread, so the guard's position comes from the spatial index there.
+     */
+    private boolean within(Player guard, Player target, double distance) {
+        Location guardLocation = plugin.getPlayerSpatialIndex().getLocation(guard);
+        Location targetLocation = plugin.getPlayerSpatialIndex().getLocation(target);
+        return guardLocation != null && targetLocation != null
+                && guardLocation.getWorld() == targetLocation.getWorld()
+                && guardLocation.distanceSquared(targetLocation) <= distance * distance;
+    }
+
+    /**
+     * Message a player on their own thread
+     */
+    private void tell(Player player, Component message) {
+        plugin.getTaskScheduler().runForEntity(player, () -> player.sendMessage(message));
+    }
+
     /**
      * Check if a player is being chased
      */
@@ -352,16 +370,34 @@ public class ChaseManager {
      * Check if a command is restricted during chase
      */
     public boolean isCommandRestricted(String command) {
-        String cmdLower = command.toLowerCase();
-        return restrictedCommands.stream()
-            .anyMatch(restricted -> cmdLower.startsWith(restricted.toLowerCase()));
+        return plugin.getCommandRuleIndex().matches(command, CommandRuleIndex.CHASE_RESTRICTED);
     }
 
     /**
      * Check if a region is restricted during chase
      */
     public boolean isRegionRestricted(String region) {
-        return restrictedRegions.contains(region.toLowerCase());
+        return plugin.getRegionRuleIndex().has(region, RegionRuleIndex.CHASE_BLOCKED);
+    }
+
+    public Set<String> getRestrictedRegions() {
+        return Collections.unmodifiableSet(restrictedRegions);
+    }
+
+    public Set<String> getRestrictedCommands() {
+        return Collections.unmodifiableSet(restrictedCommands);
+    }
+
+    public Set<String> getTeleportCommands() {
+        return Collections.unmodifiableSet(teleportCommands);
+    }
+
+    public Set<String> getMineRegions() {
+        return Collections.unmodifiableSet(mineRegions);
+    }
+
+    public Set<String> getCellRegions() {
+        return Collections.unmodifiableSet(cellRegions);
     }
 
     /**
@@ -437,25 +473,21 @@ public class ChaseManager {
      * Check if a region is a restricted mine
      */
     public boolean isMineRegion(String region) {
-        return mineRegions.stream().anyMatch(mine -> 
-            region.toLowerCase().contains(mine.toLowerCase()));
+        return plugin.getRegionRuleIndex().has(region, RegionRuleIndex.MINE);
     }
     
     /**
      * Check if a region is a restricted cell area
      */
     public boolean isCellRegion(String region) {
-        return cellRegions.stream().anyMatch(cell -> 
-            region.toLowerCase().contains(cell.toLowerCase()));
+        return plugin.getRegionRuleIndex().has(region, RegionRuleIndex.CELL);
     }
     
     /**
      * Check if a command is a teleportation command
      */
     public boolean isTeleportCommand(String command) {
-        String cmd = command.toLowerCase();
-        return teleportCommands.stream().anyMatch(tpCmd -> 
-            cmd.startsWith(tpCmd.toLowerCase()));
+        return plugin.getCommandRuleIndex().matches(command, CommandRuleIndex.CHASE_TELEPORT);
     }
     
     /**
@@ -464,12 +496,8 @@ public class ChaseManager {
     public boolean canAccessRegion(Player player, String region) {
         if (!isBeingChased(player)) return true;
         
-        // Check all restriction types
-        if (isRegionRestricted(region)) return false;
-        if (isMineRegion(region)) return false;
-        if (isCellRegion(region)) return false;
-        
-        return true;
+        // Restricted, mine and cell regions in one test
+        return !plugin.getRegionRuleIndex().has(region, RegionRuleIndex.CHASE_DENIED);
     }
     
     /**
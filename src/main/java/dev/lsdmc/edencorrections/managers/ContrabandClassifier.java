@@ -0,0 +1,205 @@
+package dev.lsdmc.edencorrections.managers;
+
+import dev.lsdmc.edencorrections.EdenCorrections;
+import org.bukkit.Bukkit;
+import org.bukkit.NamespacedKey;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.inventory.PrepareAnvilEvent;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.persistence.PersistentDataType;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Remembers each item's contraband/drug classification on the item itself.
+ *
+ * The full checks (manual registry, ExecutableItems lookup, legacy tags and keywords) run once
+ * per item and the result is written to the item's PersistentDataContainer together with the
+ * current classification version and a hash of what the checks look at: material, display
+ * name, lore and ExecutableItems id. Later checks read the stamp and trust it only while both
+ * still match. The version is derived from the registry and the detection config, so tagging
+ * an item or reloading changes it and every older stamp is simply recomputed the next time
+ * that item is looked at. The hash means a stamp carried onto a renamed or relored item is
+ * recomputed too, and anvil results have their stamp removed outright.
+ *
+ * Items without meta are cheap to classify and are never stamped, so plain stacks keep
+ * stacking with each other. An item with meta gains a stamp the first time a scan of an
+ * inventory the plugin owns sees it, and until a copy elsewhere has been stamped as well the
+ * two no longer stack.
+ */
+public class ContrabandClassifier implements Listener {
+    /** Matches the manual registry or tags ({@link ContrabandManager#isContraband}) */
+    public static final int TAGGED_CONTRABAND = 1;
+    /** Manual drug tag or ExecutableItems drug ({@link ContrabandManager#isDrug}) */
+    public static final int TAGGED_DRUG = 1 << 1;
+    /** Contraband by any detection method ({@link ExternalPluginIntegration#isContrabandComprehensive}) */
+    public static final int CONTRABAND = 1 << 2;
+    /** Drug by any detection method ({@link ExternalPluginIntegration#isDrugComprehensive}) */
+    public static final int DRUG = 1 << 3;
+
+    /** Every classification bit */
+    public static final int ALL = TAGGED_CONTRABAND | TAGGED_DRUG | CONTRABAND | DRUG;
+
+    // Bumped whenever the meaning of the bits or the stamp layout changes
+    private static final int STAMP_FORMAT = 2;
+    // Stamp layout: version (32 bits) | identity hash (24 bits) | classification bits (8 bits)
+    private static final int IDENTITY_SHIFT = 8;
+    private static final int IDENTITY_MASK = 0xFFFFFF;
+    private static final int BITS_MASK = 0xFF;
+
+    private final EdenCorrections plugin;
+    private final NamespacedKey stampKey;
+    private volatile int version;
+
+    private final LongAdder stampHits = new LongAdder();
+    private final LongAdder classified = new LongAdder();
+
+    public ContrabandClassifier(EdenCorrections plugin) {
+        this.plugin = plugin;
+        this.stampKey = new NamespacedKey(plugin, "classification");
+        refreshVersion();
+        Bukkit.getPluginManager().registerEvents(this, plugin);
+    }
+
+    /**
+     * Classify an item, using and refreshing its stamp
+     * @return Classification bits, 0 for anything harmless
+     */
+    public int classify(ItemStack item) {
+        return classify(item, true);
+    }
+
+    /**
+     * Classify an item
+     * @param stamp Whether a fresh result may be written back to the item. Pass false for items
+     *              that are copies or belong to other plugins' menus.
+     */
+    public int classify(ItemStack item, boolean stamp) {
+        if (item == null || item.getType().isAir()) return 0;
+
+        boolean hasMeta = item.hasItemMeta();
+        int currentVersion = version;
+        int identity = 0;
+        if (hasMeta) {
+            identity = identity(item);
+            Long stored = item.getPersistentDataContainer().get(stampKey, PersistentDataType.LONG);
+            if (stored != null && (int) (stored >>> 32) == currentVersion
+                    && (int) ((stored >>> IDENTITY_SHIFT) & IDENTITY_MASK) == identity) {
+                stampHits.increment();
+                return (int) (stored & BITS_MASK);
+            }
+        }
+
+        int bits = compute(item);
+        classified.increment();
+        if (stamp && hasMeta) {
+            long value = ((long) currentVersion << 32) | ((long) identity << IDENTITY_SHIFT) | (bits & BITS_MASK);
+            item.editMeta(meta -> meta.getPersistentDataContainer().set(stampKey, PersistentDataType.LONG, value));
+        }
+        return bits;
+    }
+
+    public boolean has(ItemStack item, int flags) {
+        return (classify(item) & flags) != 0;
+    }
+
+    public boolean has(ItemStack item, int flags, boolean stamp) {
+        return (classify(item, stamp) & flags) != 0;
+    }
+
+    /**
+     * Hash of everything the full checks read from the item, cut to the stamp's 24 bits.
+     * Costs one meta copy, far less than the checks themselves.
+     */
+    private int identity(ItemStack item) {
+        int hash = item.getType().name().hashCode();
+        ItemMeta meta = item.getItemMeta();
+        if (meta != null) {
+            hash = hash * 31 + (meta.hasDisplayName() ? meta.getDisplayName().hashCode() : 0);
+            hash = hash * 31 + (meta.hasLore() ? Objects.hashCode(meta.getLore()) : 0);
+        }
+        ExternalPluginIntegration integration = plugin.getExternalPluginIntegration();
+        if (integration != null) {
+            hash = hash * 31 + Objects.hashCode(integration.getExecutableItemId(item));
+        }
+        return (hash ^ (hash >>> 24)) & IDENTITY_MASK;
+    }
+
+    /**
+     * Strip the stamp from anvil results, so a renamed item is classified afresh
+     */
+    @EventHandler(priority = EventPriority.HIGHEST)
+    public void onPrepareAnvil(PrepareAnvilEvent event) {
+        ItemStack result = event.getResult();
+        if (result == null || !result.hasItemMeta()
+                || !result.getPersistentDataContainer().has(stampKey, PersistentDataType.LONG)) {
+            return;
+        }
+        result.editMeta(meta -> meta.getPersistentDataContainer().remove(stampKey));
+        event.setResult(result);
+    }
+
+    private int compute(ItemStack item) {
+        int bits = 0;
+        ContrabandManager contrabandManager = plugin.getContrabandManager();
+        if (contrabandManager != null) {
+            if (contrabandManager.isContraband(item)) bits |= TAGGED_CONTRABAND;
+            if (contrabandManager.isDrug(item)) bits |= TAGGED_DRUG;
+        }
+        ExternalPluginIntegration integration = plugin.getExternalPluginIntegration();
+        if (integration != null) {
+            if (integration.isContrabandComprehensive(item)) bits |= CONTRABAND;
+            if (integration.isDrugComprehensive(item)) bits |= DRUG;
+        }
+        return bits;
+    }
+
+    /**
+     * Recompute the version from everything classification depends on. Stamps written under a
+     * different version are ignored from now on.
+     */
+    public void refreshVersion() {
+        int hash = STAMP_FORMAT;
+
+        ContrabandManager contrabandManager = plugin.getContrabandManager();
+        if (contrabandManager != null) {
+            int registryHash = 0;
+            for (Map.Entry<String, Set<ContrabandManager.ContrabandItem>> entry
+                    : contrabandManager.getContrabandItems().entrySet()) {
+                for (ContrabandManager.ContrabandItem item : entry.getValue()) {
+                    // Material names, not enum hashes, so the version survives restarts
+                    registryHash += Objects.hash(entry.getKey(), item.material.name(), item.displayName, item.loreHash);
+                }
+            }
+            hash = hash * 31 + registryHash;
+        }
+
+        ExternalPluginIntegration integration = plugin.getExternalPluginIntegration();
+        if (integration != null) {
+            hash = hash * 31 + Boolean.hashCode(integration.isExecutableItemsEnabled());
+            hash = hash * 31 + integration.getDrugItemIds().hashCode();
+            hash = hash * 31 + integration.getContrabandItemIds().hashCode();
+        }
+        hash = hash * 31 + Boolean.hashCode(plugin.getConfig().getBoolean("jail.use-legacy-keyword-detection", false));
+
+        version = hash;
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public long getStampHits() {
+        return stampHits.sum();
+    }
+
+    public long getClassified() {
+        return classified.sum();
+    }
+}
@@ -0,0 +1,342 @@
+package dev.lsdmc.edencorrections.managers;
+
+import dev.lsdmc.edencorrections.EdenCorrections;
+import dev.lsdmc.edencorrections.scheduler.CorrectionsTask;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockPlaceEvent;
+import org.bukkit.event.entity.EntityPickupItemEvent;
+import org.bukkit.event.entity.PlayerDeathEvent;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryCloseEvent;
+import org.bukkit.event.inventory.InventoryDragEvent;
+import org.bukkit.event.player.PlayerDropItemEvent;
+import org.bukkit.event.player.PlayerItemBreakEvent;
+import org.bukkit.event.player.PlayerItemConsumeEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.player.PlayerRespawnEvent;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-player tally of contraband, drugs and metal, kept current from inventory events.
+ *
+ * Any event that can change a player's inventory marks them dirty, and one rescan per player
+ * runs on the next tick however many events arrived. Anything that changes inventories
+ * without an event (commands, other plugins) is caught by a reconciliation pass. It compares
+ * a cheap hash of each inventory's materials and amounts with the one recorded at the last
+ * scan. Reads on the thread owning the player check that hash too, so a change that slipped
+ * past the events is caught at the next read there; only reads from other threads wait for
+ * the reconciliation. Detectors, sniffers, placeholders and prison-wide counts read the tally
+ * instead of walking inventories.
+ */
+public class ContrabandLedger implements Listener {
+    private static final String CONFIG_PATH = "performance.contraband-ledger";
+
+    private final EdenCorrections plugin;
+    private final Map<UUID, Entry> entries = new ConcurrentHashMap<>();
+    private final Set<UUID> dirty = ConcurrentHashMap.newKeySet();
+
+    private final LongAdder rescans = new LongAdder();
+    private final LongAdder drift = new LongAdder();
+
+    private CorrectionsTask reconcileTask;
+
+    public ContrabandLedger(EdenCorrections plugin) {
+        this.plugin = plugin;
+        Bukkit.getPluginManager().registerEvents(this, plugin);
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            markDirty(player);
+        }
+        start();
+    }
+
+    private void start() {
+        long intervalTicks = Math.max(1L, plugin.getConfig().getLong(CONFIG_PATH + ".reconcile-interval-seconds", 10L)) * 20L;
+        reconcileTask = plugin.getTaskScheduler().runGlobalTimer(task -> {
+            for (Player player : Bukkit.getOnlinePlayers()) {
+                plugin.getTaskScheduler().runAtEntity(player, () -> reconcile(player));
+            }
+        }, intervalTicks, intervalTicks);
+    }
+
+    /**
+     * The player's tally. On the thread owning the player a stale tally, or one whose inventory
+     * hash no longer matches, is rescanned first; from any other thread the last known tally
+     * is returned and a rescan is queued.
+     * @return Never null; an empty tally for players not scanned yet
+     */
+    public Entry get(Player player) {
+        UUID playerId = player.getUniqueId();
+        Entry entry = entries.get(playerId);
+        boolean stale = entry == null || dirty.contains(playerId)
+                || entry.version != plugin.getContrabandClassifier().getVersion();
+        if (plugin.getTaskScheduler().isOwnedByCurrentThread(player)) {
+            if (stale) {
+                return rescan(player);
+            }
+            if (entry.inventoryHash != hash(player.getInventory().getContents())) {
+                drift.increment();
+                return rescan(player);
+            }
+            return entry;
+        }
+        if (!stale) {
+            return entry;
+        }
+        markDirty(player);
+        return entry != null ? entry : Entry.EMPTY;
+    }
+
+    public boolean has(Player player, int mask) {
+        return get(player).has(mask);
+    }
+
+    /**
+     * @return Total matching items across every tracked player, without scanning anyone
+     */
+    public int getTotal(int mask) {
+        int total = 0;
+        for (Entry entry : entries.values()) {
+            total += entry.amount(mask);
+        }
+        return total;
+    }
+
+    /**
+     * @return Players whose last tally holds anything matching the mask
+     */
+    public List<UUID> getHolders(int mask) {
+        List<UUID> holders = new ArrayList<>();
+        for (Map.Entry<UUID, Entry> entry : entries.entrySet()) {
+            if (entry.getValue().has(mask)) {
+                holders.add(entry.getKey());
+            }
+        }
+        return holders;
+    }
+
+    /**
+     * Rescan the player on their next tick. Repeated calls before then share one rescan.
+     */
+    public void markDirty(Player player) {
+        if (dirty.add(player.getUniqueId())) {
+            plugin.getTaskScheduler().runAtEntityLater(player, () -> {
+                if (dirty.contains(player.getUniqueId())) {
+                    rescan(player);
+                }
+            }, 1L);
+        }
+    }
+
+    private Entry rescan(Player player) {
+        dirty.remove(player.getUniqueId());
+        InventoryScanner.Result result = plugin.getInventoryScanner().scan(player);
+        ItemStack[] contents = result.getContents();
+        int[] flags = new int[contents.length];
+        int[] amounts = new int[contents.length];
+        for (int slot = 0; slot < contents.length; slot++) {
+            flags[slot] = result.getFlags(slot);
+            amounts[slot] = contents[slot] != null ? contents[slot].getAmount() : 0;
+        }
+        Entry entry = new Entry(flags, amounts, hash(contents), plugin.getContrabandClassifier().getVersion());
+        if (player.isOnline()) {
+            entries.put(player.getUniqueId(), entry);
+        }
+        rescans.increment();
+        return entry;
+    }
+
+    private void reconcile(Player player) {
+        Entry entry = entries.get(player.getUniqueId());
+        if (entry == null || dirty.contains(player.getUniqueId())
+                || entry.version != plugin.getContrabandClassifier().getVersion()) {
+            rescan(player);
+            return;
+        }
+        if (entry.inventoryHash != hash(player.getInventory().getContents())) {
+            drift.increment();
+            rescan(player);
+        }
+    }
+
+    /**
+     * Materials and amounts only, so checking it reads no item meta
+     */
+    private static long hash(ItemStack[] contents) {
+        long hash = contents.length;
+        for (ItemStack item : contents) {
+            hash *= 31;
+            if (item != null) {
+                hash += ((long) item.getType().ordinal() << 8) | item.getAmount();
+            }
+        }
+        return hash;
+    }
+
+    public void reload() {
+        if (reconcileTask != null) {
+            reconcileTask.cancel();
+        }
+        start();
+    }
+
+    public void shutdown() {
+        if (reconcileTask != null) {
+            reconcileTask.cancel();
+            reconcileTask = null;
+        }
+        entries.clear();
+        dirty.clear();
+    }
+
+    public int getTrackedPlayers() {
+        return entries.size();
+    }
+
+    public long getRescans() {
+        return rescans.sum();
+    }
+
+    public long getDrift() {
+        return drift.sum();
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onInventoryClick(InventoryClickEvent event) {
+        if (event.getWhoClicked() instanceof Player player) {
+            markDirty(player);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onInventoryDrag(InventoryDragEvent event) {
+        if (event.getWhoClicked() instanceof Player player) {
+            markDirty(player);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onInventoryClose(InventoryCloseEvent event) {
+        if (event.getPlayer() instanceof Player player) {
+            markDirty(player);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPickup(EntityPickupItemEvent event) {
+        if (event.getEntity() instanceof Player player) {
+            markDirty(player);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onDrop(PlayerDropItemEvent event) {
+        markDirty(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onConsume(PlayerItemConsumeEvent event) {
+        markDirty(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockPlace(BlockPlaceEvent event) {
+        markDirty(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onItemBreak(PlayerItemBreakEvent event) {
+        markDirty(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onDeath(PlayerDeathEvent event) {
+        // Dead players are skipped by entity tasks, so the rescan waits for the respawn
+        if (!event.getKeepInventory()) {
+            entries.remove(event.getEntity().getUniqueId());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onRespawn(PlayerRespawnEvent event) {
+        dirty.remove(event.getPlayer().getUniqueId());
+        markDirty(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onJoin(PlayerJoinEvent event) {
+        markDirty(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        entries.remove(event.getPlayer().getUniqueId());
+        dirty.remove(event.getPlayer().getUniqueId());
+    }
+
+    /**
+     * One player's tally at their last scan. Flags are the {@link InventoryScanner} slot flags;
+     * queries match slots having any bit of the mask.
+     */
+    public static final class Entry {
+        static final Entry EMPTY = new Entry(new int[0], new int[0], 0L, 0);
+
+        private final int[] flags;
+        private final int[] amounts;
+        private final long inventoryHash;
+        private final int version;
+        private final int union;
+
+        private Entry(int[] flags, int[] amounts, long inventoryHash, int version) {
+            this.flags = flags;
+            this.amounts = amounts;
+            this.inventoryHash = inventoryHash;
+            this.version = version;
+            int union = 0;
+            for (int bits : flags) {
+                union |= bits;
+            }
+            this.union = union;
+        }
+
+        public boolean has(int mask) {
+            return (union & mask) != 0;
+        }
+
+        /**
+         * @return Number of matching stacks
+         */
+        public int count(int mask) {
+            if (!has(mask)) return 0;
+            int count = 0;
+            for (int bits : flags) {
+                if ((bits & mask) != 0) count++;
+            }
+            return count;
+        }
+
+        /**
+         * @return Number of matching items across all stacks
+         */
+        public int amount(int mask) {
+            if (!has(mask)) return 0;
+            int amount = 0;
+            for (int slot = 0; slot < flags.length; slot++) {
+                if ((flags[slot] & mask) != 0) amount += amounts[slot];
+            }
+            return amount;
+        }
+    }
+}
@@ -5,6 +5,7 @@ import dev.lsdmc.edencorrections.utils.MessageUtils;
 import dev.lsdmc.edencorrections.storage.SQLiteStorage;
 import org.bukkit.Material;
 import org.bukkit.NamespacedKey;
+import org.bukkit.command.CommandSender;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.entity.Player;
@@ -59,6 +60,14 @@ public class ContrabandManager {
     
     // Registry of manually tagged items
     private final Map<String, Set<ContrabandItem>> contrabandRegistry = new ConcurrentHashMap<>();
+
+    // Registry entries by (material, display name hash, lore hash); rebuilt whenever the registry changes
+    private volatile Map<Fingerprint, List<ContrabandItem>> fingerprintIndex = Map.of();
+    private volatile Set<Material> indexedMaterials = Collections.emptySet();
+
+    // Prison-wide shakedowns; the last one is kept so its report can be reopened
+    private volatile ContrabandSweep activeSweep;
+    private volatile ContrabandSweep lastSweep;
     
     // NamespacedKeys for NBT tagging
     private final NamespacedKey contrabandTypeKey;
@@ -96,9 +105,33 @@ public class ContrabandManager {
             if (set == null) continue;
             set.addAll(entry.getValue());
         }
+        rebuildFingerprintIndex();
         plugin.getLogger().info("Loaded " + getTotalContrabandCount() + " manually tagged contraband items");
     }
     
+    /**
+     * Rebuild the fingerprint index from the registry
+     */
+    private void rebuildFingerprintIndex() {
+        Map<Fingerprint, List<ContrabandItem>> index = new HashMap<>();
+        Set<Material> materials = EnumSet.noneOf(Material.class);
+        for (Set<ContrabandItem> items : contrabandRegistry.values()) {
+            for (ContrabandItem item : items) {
+                index.computeIfAbsent(Fingerprint.of(item.material, item.displayName, item.lore), key -> new ArrayList<>())
+                        .add(item);
+                materials.add(item.material);
+            }
+        }
+        index.replaceAll((key, items) -> List.copyOf(items));
+        fingerprintIndex = Map.copyOf(index);
+        indexedMaterials = Collections.unmodifiableSet(materials);
+
+        // Registry changes alter what counts as contraband, so older item stamps must not be trusted
+        if (plugin.getContrabandClassifier() != null) {
+            plugin.getContrabandClassifier().refreshVersion();
+        }
+    }
+
     /**
      * Save contraband registry to file
      */
@@ -156,6 +189,7 @@ public class ContrabandManager {
         Set<ContrabandItem> items = contrabandRegistry.get(type.getKey());
         if (items == null) return false;
         items.add(contrabandItem);
+        rebuildFingerprintIndex();
         saveContrabandRegistry();
         
         admin.sendMessage(MessageUtils.getPrefix(plugin).append(
@@ -203,6 +237,7 @@ public class ContrabandManager {
             Set<ContrabandItem> items = contrabandRegistry.get(typeKey);
             if (items == null) return false;
             items.removeIf(ci -> ci.matches(item));
+            rebuildFingerprintIndex();
         }
         
         saveContrabandRegistry();
@@ -242,20 +277,40 @@ public class ContrabandManager {
      * Check if an item matches any manually tagged contraband
      */
     public boolean isContraband(ItemStack item) {
-        if (isManuallyTagged(item)) {
+        if (item == null || item.getType().isAir()) return false;
+
+        Material material = item.getType();
+        boolean registered = indexedMaterials.contains(material);
+        if (!item.hasItemMeta()) {
+            // No meta: only a registry entry without name or lore can match
+            return registered && findRegistryMatch(material, null, null) != null;
+        }
+
+        // One meta copy serves both the tag check and the fingerprint
+        ItemMeta meta = item.getItemMeta();
+        if (meta.getPersistentDataContainer().has(contrabandTypeKey, PersistentDataType.STRING)) {
             return true;
         }
-        
-        // Check registry by material and display name
-        for (Set<ContrabandItem> items : contrabandRegistry.values()) {
-            for (ContrabandItem contrabandItem : items) {
-                if (contrabandItem.matches(item)) {
-                    return true;
-                }
+        if (!registered) return false;
+
+        return findRegistryMatch(material,
+                meta.hasDisplayName() ? meta.getDisplayName() : null,
+                meta.hasLore() ? meta.getLore() : null) != null;
+    }
+
+    /**
+     * Look up the registry entry with exactly this material, display name and lore
+     */
+    private ContrabandItem findRegistryMatch(Material material, String displayName, List<String> lore) {
+        List<ContrabandItem> candidates = fingerprintIndex.get(Fingerprint.of(material, displayName, lore));
+        if (candidates == null) return null;
+        for (ContrabandItem candidate : candidates) {
+            // Hashes can collide, so confirm the full name and lore
+            if (candidate.matches(material, displayName, lore)) {
+                return candidate;
             }
         }
-        
-        return false;
+        return null;
     }
     
     /**
@@ -281,6 +336,7 @@ public class ContrabandManager {
         if (items == null) return 0;
         int count = items.size();
         items.clear();
+        rebuildFingerprintIndex();
         saveContrabandRegistry();
         return count;
     }
@@ -327,16 +383,18 @@ public class ContrabandManager {
             ItemMeta meta = item.getItemMeta();
             if (meta == null) return displayName == null && lore == null;
             
-            // Check display name
-            String itemDisplayName = meta.hasDisplayName() ? meta.getDisplayName() : null;
-            if (!Objects.equals(displayName, itemDisplayName)) return false;
-            
-            // Check lore
-            List<String> itemLore = meta.hasLore() ? meta.getLore() : null;
-            if (lore == null && itemLore == null) return true;
-            if (lore == null || itemLore == null) return false;
-            
-            return lore.equals(itemLore);
+            return matches(material,
+                    meta.hasDisplayName() ? meta.getDisplayName() : null,
+                    meta.hasLore() ? meta.getLore() : null);
+        }
+
+        /**
+         * Match against values already pulled out of an item's meta
+         */
+        public boolean matches(Material itemMaterial, String itemDisplayName, List<String> itemLore) {
+            return itemMaterial == material
+                    && Objects.equals(displayName, itemDisplayName)
+                    && Objects.equals(lore, itemLore);
         }
         
         public String getDisplayString() {
@@ -388,6 +446,16 @@ public class ContrabandManager {
         }
     }
 
+    /**
+     * Index key for registry entries; equal items always share a fingerprint
+     */
+    private record Fingerprint(Material material, int displayNameHash, int loreHash) {
+        static Fingerprint of(Material material, String displayName, List<String> lore) {
+            return new Fingerprint(material, displayName != null ? displayName.hashCode() : 0,
+                    lore != null ? lore.hashCode() : 0);
+        }
+    }
+
     public static class DrugEffect {
         public final Drug drug;
         public final long startTime;
@@ -446,21 +514,7 @@ public class ContrabandManager {
     }
 
     public List<ItemStack> confiscateContraband(Player target) {
-        List<ItemStack> confiscatedItems = new ArrayList<>();
-        ItemStack[] contents = target.getInventory().getContents();
-        
-        for (int i = 0; i < contents.length; i++) {
-            ItemStack item = contents[i];
-            if (item == null) continue;
-            
-            if (isContraband(item)) {
-                confiscatedItems.add(item);
-                contents[i] = null;
-            }
-        }
-        
-        target.getInventory().setContents(contents);
-        return confiscatedItems;
+        return plugin.getInventoryScanner().scan(target).remove(ContrabandClassifier.TAGGED_CONTRABAND | InventoryScanner.UNSCANNED);
     }
 
     public int getTokenReward(ItemStack item) {
@@ -492,4 +546,42 @@ public class ContrabandManager {
     public Map<String, Set<ContrabandItem>> getContrabandItems() {
         return contrabandRegistry;
     }
+
+    /**
+     * Start a shakedown of every online inmate and the cell regions' containers
+     * @param confiscate Whether contraband found is removed on the spot
+     * @return The running sweep, or null if one is already running
+     */
+    public synchronized ContrabandSweep startSweep(CommandSender initiator, boolean confiscate) {
+        if (activeSweep != null) {
+            return null;
+        }
+        ContrabandSweep[] holder = new ContrabandSweep[1];
+        holder[0] = new ContrabandSweep(plugin, initiator, confiscate, () -> {
+            synchronized (this) {
+                if (activeSweep == holder[0]) {
+                    activeSweep = null;
+                }
+            }
+        });
+        activeSweep = holder[0];
+        lastSweep = holder[0];
+        holder[0].start();
+        return holder[0];
+    }
+
+    public ContrabandSweep getActiveSweep() {
+        return activeSweep;
+    }
+
+    public ContrabandSweep getLastSweep() {
+        return lastSweep;
+    }
+
+    public void shutdown() {
+        ContrabandSweep sweep = activeSweep;
+        if (sweep != null) {
+            sweep.cancel();
+        }
+    }
 } 
\ No newline at end of file
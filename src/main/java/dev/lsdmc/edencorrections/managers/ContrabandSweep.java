@@ -0,0 +1,457 @@
+package dev.lsdmc.edencorrections.managers;
+
+import com.sk89q.worldedit.bukkit.BukkitAdapter;
+import com.sk89q.worldedit.math.BlockVector3;
+import com.sk89q.worldguard.WorldGuard;
+import com.sk89q.worldguard.protection.managers.RegionManager;
+import com.sk89q.worldguard.protection.regions.ProtectedRegion;
+import dev.lsdmc.edencorrections.EdenCorrections;
+import dev.lsdmc.edencorrections.gui.GuiHolder;
+import dev.lsdmc.edencorrections.regions.PlayerSpatialIndex;
+import dev.lsdmc.edencorrections.scheduler.CorrectionsScheduler;
+import dev.lsdmc.edencorrections.scheduler.CorrectionsTask;
+import dev.lsdmc.edencorrections.scheduler.IoExecutor;
+import dev.lsdmc.edencorrections.utils.MessageUtils;
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.BlockState;
+import org.bukkit.block.Chest;
+import org.bukkit.block.Container;
+import org.bukkit.command.CommandSender;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemFlag;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A prison-wide contraband shakedown spread over as many ticks as it needs.
+ *
+ * Online inmates are searched first, then the containers in every loaded chunk of the cell
+ * regions, one chunk per step. An inmate is a jailed player or anyone standing in a cell
+ * region; on-duty guards and players with the bypass permission are never searched. Each tick
+ * runs steps until its time budget is spent. Findings are streamed as they happen: into a
+ * report menu (the first 45, the rest only counted), into a log file appended in order on the
+ * I/O pool, and optionally confiscated on the spot. Confiscated stacks are written to an
+ * evidence file next to the log rather than destroyed. Nothing is kept per finding beyond
+ * that, so memory stays flat however big the prison is.
+ */
+public class ContrabandSweep {
+    private static final String CONFIG_PATH = "shakedown";
+    private static final String BYPASS_PERMISSION = "edencorrections.shakedown.bypass";
+    // Containers too full to search completely are taken in as if they held contraband
+    private static final int MASK = ContrabandClassifier.CONTRABAND | ContrabandClassifier.DRUG | InventoryScanner.UNSCANNED;
+    private static final int REPORT_SIZE = 54;
+    private static final int REPORT_SLOTS = 45;
+    private static final int SUMMARY_SLOT = 49;
+    // Steps handed to other region threads (Folia) that never come back are given up on after this
+    private static final int DRAIN_TICKS = 200;
+
+    private final EdenCorrections plugin;
+    private final CommandSender initiator;
+    private final boolean confiscate;
+    private final long budgetNanos;
+    private final int maxStepsPerTick;
+    private final Runnable onFinish;
+
+    private final Iterator<UUID> players;
+    private final Iterator<ChunkTarget> chunks;
+    private final int playerTotal;
+    private final int chunkTotal;
+    private final List<String> cellRegionIds;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final Inventory report;
+    private final File logFile;
+    private final StringBuilder pendingLog = new StringBuilder();
+    private final File evidenceFile;
+    private final StringBuilder pendingEvidence = new StringBuilder();
+    private CompletableFuture<Void> logChain = CompletableFuture.completedFuture(null);
+
+    private final long startedAt = System.currentTimeMillis();
+    private int playersSearched;
+    private int chunksSearched;
+    private int chunksSkipped;
+    private int containersSearched;
+    private int findings;
+    private int itemsFound;
+    private int itemsConfiscated;
+    private int reportSlot;
+    private int drainTicks;
+    private volatile String status = "Running";
+    private volatile boolean finished;
+
+    private CorrectionsTask task;
+
+    ContrabandSweep(EdenCorrections plugin, CommandSender initiator, boolean confiscate, Runnable onFinish) {
+        this.plugin = plugin;
+        this.initiator = initiator;
+        this.confiscate = confiscate;
+        this.onFinish = onFinish;
+        this.budgetNanos = (long) (Math.max(0.1, plugin.getConfig().getDouble(CONFIG_PATH + ".max-millis-per-tick", 2.0)) * 1_000_000L);
+        this.maxStepsPerTick = Math.max(1, plugin.getConfig().getInt(CONFIG_PATH + ".max-steps-per-tick", 50));
+
+        List<UUID> online = new ArrayList<>();
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            if (!player.hasPermission(BYPASS_PERMISSION)) {
+                online.add(player.getUniqueId());
+            }
+        }
+        this.cellRegionIds = getCellRegionIds();
+        List<ChunkTarget> cellChunks = collectCellChunks(cellRegionIds);
+        this.playerTotal = online.size();
+        this.chunkTotal = cellChunks.size();
+        this.players = online.iterator();
+        this.chunks = cellChunks.iterator();
+
+        this.report = Bukkit.createInventory(new GuiHolder(plugin, GuiHolder.GuiType.SHAKEDOWN_REPORT), REPORT_SIZE,
+                "§4§lShakedown Report");
+        String stamp = new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date(startedAt));
+        this.logFile = new File(new File(plugin.getDataFolder(), "shakedowns"), "shakedown-" + stamp + ".log");
+        this.evidenceFile = new File(logFile.getParentFile(), "evidence-" + stamp + ".yml");
+    }
+
+    void start() {
+        log("Shakedown started by " + initiator.getName() + (confiscate ? " (confiscating)" : "")
+                + ": " + playerTotal + " players, " + chunkTotal + " cell chunks");
+        updateSummary();
+        task = plugin.getTaskScheduler().runGlobalTimer(handle -> tick(), 1L, 1L);
+    }
+
+    private List<String> getCellRegionIds() {
+        List<String> regionIds = plugin.getConfig().getStringList(CONFIG_PATH + ".cell-regions");
+        if (regionIds.isEmpty()) {
+            regionIds = plugin.getConfig().getStringList("chase.restricted-cells");
+        }
+        return regionIds;
+    }
+
+    /**
+     * Every chunk touched by a cell region, each listed once with the cell regions covering it
+     */
+    private List<ChunkTarget> collectCellChunks(List<String> regionIds) {
+        List<ChunkTarget> targets = new ArrayList<>();
+        if (regionIds.isEmpty()) {
+            return targets;
+        }
+
+        try {
+            for (World world : Bukkit.getWorlds()) {
+                RegionManager manager = WorldGuard.getInstance().getPlatform().getRegionContainer().get(BukkitAdapter.adapt(world));
+                if (manager == null) {
+                    continue;
+                }
+                Map<Long, ChunkTarget> byChunk = new LinkedHashMap<>();
+                for (String id : regionIds) {
+                    ProtectedRegion region = manager.getRegion(id);
+                    if (region == null) {
+                        continue;
+                    }
+                    BlockVector3 min = region.getMinimumPoint();
+                    BlockVector3 max = region.getMaximumPoint();
+                    for (int cx = min.getBlockX() >> 4; cx <= max.getBlockX() >> 4; cx++) {
+                        for (int cz = min.getBlockZ() >> 4; cz <= max.getBlockZ() >> 4; cz++) {
+                            int x = cx;
+                            int z = cz;
+                            byChunk.computeIfAbsent(Chunk.getChunkKey(x, z), key -> new ChunkTarget(world, x, z, new ArrayList<>()))
+                                    .regions().add(region);
+                        }
+                    }
+                }
+                targets.addAll(byChunk.values());
+            }
+        } catch (Exception | NoClassDefFoundError e) {
+            plugin.getLogger().warning("Could not resolve cell regions for the shakedown: " + e.getMessage());
+        }
+        return targets;
+    }
+
+    private void tick() {
+        if (finished) {
+            return;
+        }
+        CorrectionsScheduler scheduler = plugin.getTaskScheduler();
+        long deadline = System.nanoTime() + budgetNanos;
+        int steps = 0;
+        while (steps < maxStepsPerTick && System.nanoTime() < deadline) {
+            if (players.hasNext()) {
+                Player player = Bukkit.getPlayer(players.next());
+                if (player != null) {
+                    if (scheduler.isOwnedByCurrentThread(player)) {
+                        searchPlayer(player);
+                    } else {
+                        inFlight.incrementAndGet();
+                        scheduler.runAtEntity(player, () -> runDispatched(() -> searchPlayer(player)));
+                    }
+                }
+            } else if (chunks.hasNext()) {
+                ChunkTarget target = chunks.next();
+                Location location = new Location(target.world(), (target.x() << 4) + 8, 64, (target.z() << 4) + 8);
+                if (scheduler.isOwnedByCurrentThread(location)) {
+                    searchChunk(target);
+                } else {
+                    inFlight.incrementAndGet();
+                    scheduler.runAtLocation(location, () -> runDispatched(() -> searchChunk(target)));
+                }
+            } else {
+                if (inFlight.get() == 0 || ++drainTicks > DRAIN_TICKS) {
+                    finish("Finished");
+                    return;
+                }
+                break;
+            }
+            steps++;
+        }
+        updateSummary();
+        flushLog();
+    }
+
+    private void runDispatched(Runnable step) {
+        try {
+            if (!finished) {
+                step.run();
+            }
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    private void searchPlayer(Player player) {
+        if (!player.isOnline() || !isInmate(player)) {
+            return;
+        }
+        synchronized (this) {
+            playersSearched++;
+        }
+        // The tally rescans only if it is stale, so clean inmates cost no scan at all
+        if (!plugin.getContrabandLedger().has(player, MASK)) {
+            return;
+        }
+        InventoryScanner.Result result = plugin.getInventoryScanner().scan(player);
+        if (result.has(MASK)) {
+            record(player.getName(), Material.PLAYER_HEAD, result, player);
+        }
+    }
+
+    /**
+     * Jailed players, and anyone else in a cell region who is not an on-duty guard
+     */
+    private boolean isInmate(Player player) {
+        PlayerSpatialIndex index = plugin.getPlayerSpatialIndex();
+        if (index.hasRole(player.getUniqueId(), PlayerSpatialIndex.ROLE_GUARD)) {
+            return false;
+        }
+        if (index.hasRole(player.getUniqueId(), PlayerSpatialIndex.ROLE_JAILED)) {
+            return true;
+        }
+        Location location = player.getLocation();
+        for (String regionId : cellRegionIds) {
+            if (plugin.getRegionCache().isInRegion(player, location, regionId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void searchChunk(ChunkTarget target) {
+        // Unloaded cells are skipped rather than loaded mid-sweep
+        if (!target.world().isChunkLoaded(target.x(), target.z())) {
+            synchronized (this) {
+                chunksSkipped++;
+            }
+            return;
+        }
+        int containers = 0;
+        for (BlockState state : target.world().getChunkAt(target.x(), target.z()).getTileEntities(false)) {
+            if (!(state instanceof Container container) || !inRegions(target.regions(), state)) {
+                continue;
+            }
+            containers++;
+            // A double chest's inventory spans both halves, each of which is visited on its own
+            Inventory inventory = container instanceof Chest chest ? chest.getBlockInventory() : container.getInventory();
+            InventoryScanner.Result result = plugin.getInventoryScanner().scan(inventory, false);
+            if (result.has(MASK)) {
+                String where = state.getType().name().toLowerCase() + " at " + state.getWorld().getName()
+                        + " " + state.getX() + ", " + state.getY() + ", " + state.getZ();
+                record(where, state.getType(), result, null);
+            }
+        }
+        synchronized (this) {
+            chunksSearched++;
+            containersSearched += containers;
+        }
+    }
+
+    private static boolean inRegions(List<ProtectedRegion> regions, BlockState state) {
+        for (ProtectedRegion region : regions) {
+            if (region.contains(state.getX(), state.getY(), state.getZ())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private synchronized void record(String where, Material icon, InventoryScanner.Result result, Player holder) {
+        int amount = result.amount(MASK);
+        StringBuilder found = new StringBuilder();
+        for (Map.Entry<Material, Integer> entry : result.amountsByType(MASK).entrySet()) {
+            if (found.length() > 0) found.append(", ");
+            found.append(entry.getValue()).append("x ").append(entry.getKey().name().toLowerCase());
+        }
+
+        if (result.has(InventoryScanner.UNSCANNED)) {
+            found.append(" (").append(result.count(InventoryScanner.UNSCANNED)).append(" container(s) not fully searched)");
+        }
+
+        findings++;
+        itemsFound += amount;
+        if (confiscate) {
+            keepEvidence(where, result.remove(MASK));
+            itemsConfiscated += amount;
+            if (holder != null) {
+                holder.sendMessage(MessageUtils.getPrefix(plugin).append(
+                    MessageUtils.parseMessage("<red>Your contraband was confiscated in a prison shakedown!</red>")));
+            }
+        }
+        log(where + ": " + found + (confiscate ? " (confiscated)" : ""));
+
+        if (reportSlot < REPORT_SLOTS) {
+            report.setItem(reportSlot++, createItem(icon, "§c" + where,
+                    "§7Found: §f" + found,
+                    confiscate ? "§aConfiscated" : "§eNot confiscated"));
+        }
+    }
+
+    /**
+     * Queue confiscated stacks for the evidence file, one entry per finding
+     */
+    private void keepEvidence(String where, List<ItemStack> items) {
+        YamlConfiguration entry = new YamlConfiguration();
+        String key = "finding-" + findings;
+        entry.set(key + ".where", where);
+        entry.set(key + ".time", new SimpleDateFormat("HH:mm:ss").format(new Date()));
+        entry.set(key + ".items", items);
+        pendingEvidence.append(entry.saveToString());
+    }
+
+    private synchronized void updateSummary() {
+        int unlisted = Math.max(0, findings - REPORT_SLOTS);
+        report.setItem(SUMMARY_SLOT, createItem(Material.WRITABLE_BOOK, "§6§lShakedown: " + status,
+                "§7Inmates searched: §f" + playersSearched + " §7of §f" + playerTotal + " §7online",
+                "§7Cell chunks searched: §f" + chunksSearched + "/" + chunkTotal
+                        + (chunksSkipped > 0 ? " §8(" + chunksSkipped + " not loaded)" : ""),
+                "§7Containers searched: §f" + containersSearched,
+                "§7Findings: §c" + findings + " §7(" + itemsFound + " items)",
+                confiscate ? "§7Confiscated: §a" + itemsConfiscated + " items §8(" + evidenceFile.getName() + ")" : "§7Report only",
+                unlisted > 0 ? "§8" + unlisted + " more findings in the log" : "§8Full log: " + logFile.getName()));
+    }
+
+    private void finish(String result) {
+        if (finished) {
+            return;
+        }
+        finished = true;
+        status = result;
+        if (task != null) {
+            task.cancel();
+        }
+        long seconds = (System.currentTimeMillis() - startedAt) / 1000;
+        String summary;
+        synchronized (this) {
+            summary = result + " after " + seconds + "s: " + playersSearched + " inmates, "
+                    + chunksSearched + " cell chunks (" + chunksSkipped + " not loaded), "
+                    + containersSearched + " containers; " + findings + " findings with " + itemsFound + " items"
+                    + (confiscate ? ", " + itemsConfiscated + " confiscated into shakedowns/" + evidenceFile.getName() : "");
+        }
+        log(summary);
+        updateSummary();
+        flushLog();
+        plugin.getLogger().info("Shakedown " + summary.substring(0, 1).toLowerCase() + summary.substring(1));
+        if (!(initiator instanceof Player player) || player.isOnline()) {
+            initiator.sendMessage(MessageUtils.getPrefix(plugin).append(
+                MessageUtils.parseMessage("<yellow>Shakedown " + summary.substring(0, 1).toLowerCase() + summary.substring(1) + "</yellow>")));
+        }
+        onFinish.run();
+    }
+
+    public void cancel() {
+        finish("Cancelled");
+    }
+
+    private synchronized void log(String line) {
+        pendingLog.append('[').append(new SimpleDateFormat("HH:mm:ss").format(new Date())).append("] ")
+                .append(line).append(System.lineSeparator());
+    }
+
+    /**
+     * Hand this tick's log lines and evidence to the file pool, chained so they land in order
+     */
+    private synchronized void flushLog() {
+        append(logFile, pendingLog);
+        append(evidenceFile, pendingEvidence);
+    }
+
+    private void append(File file, StringBuilder pending) {
+        if (pending.length() == 0) {
+            return;
+        }
+        String text = pending.toString();
+        pending.setLength(0);
+        logChain = logChain.thenCompose(ignored -> plugin.getIoExecutor().run(IoExecutor.FILES, () -> {
+            try {
+                Files.createDirectories(file.getParentFile().toPath());
+                Files.writeString(file.toPath(), text, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            } catch (IOException e) {
+                plugin.getLogger().warning("Could not write shakedown file " + file.getName() + ": " + e.getMessage());
+            }
+        }));
+    }
+
+    private static ItemStack createItem(Material material, String name, String... lore) {
+        ItemStack item = new ItemStack(material.isItem() ? material : Material.CHEST);
+        ItemMeta meta = item.getItemMeta();
+        if (meta != null) {
+            meta.setDisplayName(name);
+            meta.setLore(List.of(lore));
+            meta.addItemFlags(ItemFlag.HIDE_ATTRIBUTES, ItemFlag.HIDE_ENCHANTS);
+            item.setItemMeta(meta);
+        }
+        return item;
+    }
+
+    public Inventory getReport() {
+        return report;
+    }
+
+    public boolean isFinished() {
+        return finished;
+    }
+
+    public boolean isConfiscating() {
+        return confiscate;
+    }
+
+    private record ChunkTarget(World world, int x, int z, List<ProtectedRegion> regions) {
+    }
+}
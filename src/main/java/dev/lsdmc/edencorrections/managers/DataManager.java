@@ -1,10 +1,10 @@
 package dev.lsdmc.edencorrections.managers;
 
 import dev.lsdmc.edencorrections.EdenCorrections;
+import dev.lsdmc.edencorrections.scheduler.CorrectionsTask;
 import dev.lsdmc.edencorrections.config.ConfigManager;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
-import org.bukkit.scheduler.BukkitTask;
 
 import java.io.File;
 import java.io.IOException;
@@ -45,10 +45,10 @@ public class DataManager implements StorageManager {
     private FileConfiguration dataConfig;
 
     // Autosave task
-    private BukkitTask autoSaveTask;
+    private CorrectionsTask autoSaveTask;
 
     // Add cleanup task
-    private BukkitTask cleanupTask;
+    private CorrectionsTask cleanupTask;
     private static final long CLEANUP_INTERVAL = 30 * 60 * 20; // 30 minutes in ticks
     private static final long INACTIVE_THRESHOLD = 7 * 24 * 60 * 60 * 1000; // 7 days in milliseconds
 
@@ -291,9 +291,8 @@ public class DataManager implements StorageManager {
         int autoSaveInterval = configManager.getAutoSaveInterval() * 20 * 60; // Convert minutes to ticks
 
         // Start new task
-        autoSaveTask = plugin.getServer().getScheduler().runTaskTimerAsynchronously(
-                plugin,
-                this::saveAllDirtyData,
+        autoSaveTask = plugin.getTaskScheduler().runAsyncTimer(
+                task -> saveAllDirtyData(),
                 autoSaveInterval,
                 autoSaveInterval
         );
@@ -590,9 +589,8 @@ public class DataManager implements StorageManager {
         }
 
         // Start new task
-        cleanupTask = plugin.getServer().getScheduler().runTaskTimerAsynchronously(
-            plugin,
-            this::cleanupInactiveData,
+        cleanupTask = plugin.getTaskScheduler().runAsyncTimer(
+            task -> cleanupInactiveData(),
             CLEANUP_INTERVAL,
             CLEANUP_INTERVAL
         );
@@ -4,6 +4,7 @@ import dev.lsdmc.edencorrections.EdenCorrections;
 import dev.lsdmc.edencorrections.config.ConfigManager;
 import dev.lsdmc.edencorrections.events.GuardDutyStartEvent;
 import dev.lsdmc.edencorrections.events.GuardDutyEndEvent;
+import dev.lsdmc.edencorrections.scheduler.CorrectionsTask;
 import dev.lsdmc.edencorrections.utils.MessageUtils;
 import dev.lsdmc.edencorrections.utils.RegionUtils;
 import net.kyori.adventure.text.Component;
@@ -21,7 +22,6 @@ import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.potion.PotionEffect;
 import org.bukkit.potion.PotionEffectType;
-import org.bukkit.scheduler.BukkitTask;
 import org.bukkit.util.io.BukkitObjectInputStream;
 import org.bukkit.util.io.BukkitObjectOutputStream;
 import org.yaml.snakeyaml.external.biz.base64Coder.Base64Coder;
@@ -31,7 +31,6 @@ import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -48,22 +47,22 @@ public class DutyManager {
     private ConfigManager.DutyConfig dutyConfig;
     private ConfigManager.MessagesConfig messagesConfig;
 
-    private final Map<UUID, Boolean> dutyStatus = new HashMap<>();
-    private final Map<UUID, Long> dutyStartTimes = new HashMap<>();
-    private final Map<UUID, Integer> offDutyMinutes = new HashMap<>();
-    private final Map<UUID, InventoryData> savedInventories = new HashMap<>();
-    private final Map<UUID, BukkitTask> playerTimers = new HashMap<>();
+    private final Map<UUID, Boolean> dutyStatus = new ConcurrentHashMap<>();
+    private final Map<UUID, Long> dutyStartTimes = new ConcurrentHashMap<>();
+    private final Map<UUID, Integer> offDutyMinutes = new ConcurrentHashMap<>();
+    private final Map<UUID, InventoryData> savedInventories = new ConcurrentHashMap<>();
+    private final Map<UUID, CorrectionsTask> playerTimers = new ConcurrentHashMap<>();
     private final NPCManager npcManager;
     private final StorageManager storageManager;
 
     // Immobilization tracking
     private final Map<UUID, Boolean> immobilizedPlayers = new ConcurrentHashMap<>();
-    private final Map<UUID, Long> immobilizedGuards = new HashMap<>();
-    private final Map<UUID, BukkitTask> immobilizationTasks = new HashMap<>();
-    private final Map<UUID, Long> lastReminderTime = new HashMap<>();
+    private final Map<UUID, Long> immobilizedGuards = new ConcurrentHashMap<>();
+    private final Map<UUID, CorrectionsTask> immobilizationTasks = new ConcurrentHashMap<>();
+    private final Map<UUID, Long> lastReminderTime = new ConcurrentHashMap<>();
 
-    private BukkitTask decayTask;
-    private BukkitTask timeCheckTask;
+    private CorrectionsTask decayTask;
+    private CorrectionsTask timeCheckTask;
     private File inventoryFile;
     private FileConfiguration inventoryConfig;
 
@@ -139,7 +138,7 @@ public class DutyManager {
         // This prevents auto-duty behavior for players who may have disconnected while on duty
         
         // Clean up any stale duty statuses for players who may have left improperly
-        Bukkit.getScheduler().runTaskLater(plugin, () -> {
+        plugin.getTaskScheduler().runGlobalLater(() -> {
             // Only process currently online players
             for (Player player : Bukkit.getOnlinePlayers()) {
                 UUID playerId = player.getUniqueId();
@@ -285,7 +284,7 @@ public class DutyManager {
         
         // CRITICAL: Check if there's already an active immobilization task
         if (immobilizationTasks.containsKey(playerId)) {
-            BukkitTask existingTask = immobilizationTasks.get(playerId);
+            CorrectionsTask existingTask = immobilizationTasks.get(playerId);
             if (existingTask != null && !existingTask.isCancelled()) {
                 plugin.getLogger().warning("Attempted to start immobilization for " + player.getName() + " but they already have an active immobilization task - cancelling old task");
                 existingTask.cancel();
@@ -324,49 +323,50 @@ public class DutyManager {
                 BarStyle.SOLID);
         countdownBar.addPlayer(player);
 
-        // Schedule task to update boss bar and handle countdown
-        BukkitTask immobilizationTask = Bukkit.getScheduler().runTaskTimer(plugin, new Runnable() {
-            int secondsLeft = seconds;
-
-            @Override
-            public void run() {
-                // CRITICAL: Check if player went offline or is no longer immobilized
-                if (!player.isOnline() || !immobilizedGuards.containsKey(playerId)) {
-                    // Clean up and cancel
-                    if (countdownBar != null) {
-                        countdownBar.removeAll();
-                    }
-                    if (immobilizationTasks.containsKey(playerId)) {
-                        immobilizationTasks.get(playerId).cancel();
-                        immobilizationTasks.remove(playerId);
-                    }
-                    clearImmobilization(playerId);
-                    return;
+        // Schedule task to update boss bar and handle countdown on the guard's region thread
+        int[] secondsLeft = {seconds};
+        CorrectionsTask immobilizationTask = plugin.getTaskScheduler().runAtEntityTimer(player, handle -> {
+            // CRITICAL: Check if player went offline or is no longer immobilized
+            if (!player.isOnline() || !immobilizedGuards.containsKey(playerId)) {
+                // Clean up and cancel
+                if (countdownBar != null) {
+                    countdownBar.removeAll();
                 }
-                
-                secondsLeft--;
-
-                if (secondsLeft <= 0) {
-                    // Time's up, complete immobilization
-                    finishImmobilization(player, countdownBar, this);
-                } else {
-                    // Update boss bar
-                    countdownBar.setProgress((double) secondsLeft / seconds);
-                    countdownBar.setTitle("§c§lDuty Preparation: §e" + secondsLeft + " seconds");
-
-                    // Play tick sound every 5 seconds and for last 5 seconds
-                    if (secondsLeft <= 5 || secondsLeft % 5 == 0) {
-                        player.playSound(player.getLocation(), Sound.UI_BUTTON_CLICK, 0.5f, 1.0f);
-                    }
+                if (immobilizationTasks.containsKey(playerId)) {
+                    immobilizationTasks.get(playerId).cancel();
+                    immobilizationTasks.remove(playerId);
+                }
+                clearImmobilization(playerId);
+                return;
+            }
 
-                    // Send reminder broadcast every 10 seconds
-                    if (secondsLeft % 10 == 0) {
-                        Component reminder = MessageUtils.parseMessage(
-                            "<red>WARNING: " + rankDisplay + " " + player.getName() + " is going on duty in " + secondsLeft + " seconds!</red>");
-                        Bukkit.broadcast(reminder);
-                    }
+            secondsLeft[0]--;
+
+            if (secondsLeft[0] <= 0) {
+                // Time's up, complete immobilization
+                finishImmobilization(player, countdownBar, handle);
+            } else {
+                // Update boss bar
+                countdownBar.setProgress((double) secondsLeft[0] / seconds);
+                countdownBar.setTitle("§c§lDuty Preparation: §e" + secondsLeft[0] + " seconds");
+
+                // Play tick sound every 5 seconds and for last 5 seconds
+                if (secondsLeft[0] <= 5 || secondsLeft[0] % 5 == 0) {
+                    player.playSound(player.getLocation(), Sound.UI_BUTTON_CLICK, 0.5f, 1.0f);
+                }
+
+                // Send reminder broadcast every 10 seconds
+                if (secondsLeft[0] % 10 == 0) {
+                    Component reminder = MessageUtils.parseMessage(
+                        "<red>WARNING: " + rankDisplay + " " + player.getName() + " is going on duty in " + secondsLeft[0] + " seconds!</red>");
+                    Bukkit.broadcast(reminder);
                 }
             }
+        }, () -> {
+            // Guard logged out mid-countdown
+            countdownBar.removeAll();
+            immobilizationTasks.remove(playerId);
+            clearImmobilization(playerId);
         }, 20L, 20L); // Run every second
 
         // Store task for cleanup if needed
@@ -376,7 +376,7 @@ public class DutyManager {
     /**
      * Completes the guard immobilization and initializes duty
      */
-    private void finishImmobilization(Player player, BossBar countdownBar, Runnable task) {
+    private void finishImmobilization(Player player, BossBar countdownBar, CorrectionsTask task) {
         UUID playerId = player.getUniqueId();
 
         // CRITICAL: Check if player is already on duty to prevent duplicate execution
@@ -673,8 +673,8 @@ public class DutyManager {
                 .replace("{kit}", kitName)
                 .replace("{player}", player.getName());
 
-        // Execute the command on the main thread
-        Bukkit.getScheduler().runTask(plugin, () -> {
+        // Execute the command on the global region
+        plugin.getTaskScheduler().runGlobal(() -> {
             try {
                 if (configManager.isDebugEnabled()) {
                     plugin.getLogger().info("Executing kit command: " + kitCommand);
@@ -703,7 +703,7 @@ public class DutyManager {
         }
 
         // Create a new timer that runs every minute
-        BukkitTask task = Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, () -> {
+        CorrectionsTask task = plugin.getTaskScheduler().runAsyncTimer(handle -> {
             try {
                 // Skip if player is offline or not on duty anymore
                 if (!player.isOnline() || !dutyStatus.getOrDefault(uuid, false)) {
@@ -720,64 +720,75 @@ public class DutyManager {
                 long onDutyTime = System.currentTimeMillis() - startTime;
                 int minutesServed = (int) (onDutyTime / (1000 * 60));
 
-                // Every 2 minutes on duty = 1 minute off duty time
-                if (minutesServed % 2 == 0 && minutesServed > 0) {
-                    try {
-                        addOffDutyMinutes(uuid, 1);
-                    } catch (Exception e) {
-                        plugin.getLogger().warning("Failed to add off-duty minutes for " + player.getName() + ": " + e.getMessage());
-                        // Continue with other operations
-                    }
-                }
+                // Effects touch the player and Bukkit state, so batch them onto the main thread
+                plugin.getMainThreadHandoff().submit(player, () -> applyDutyMinute(player, minutesServed));
+            } catch (Exception e) {
+                plugin.getLogger().warning("Error in duty timer for " + player.getName() + ": " + e.getMessage());
+                // Don't crash the timer, just log the error and continue
+            }
+        }, 20L * 60, 20L * 60); // Run every minute
 
-                // Update progression system with time served
+        playerTimers.put(uuid, task);
+    }
+
+    /**
+     * Per-minute duty bookkeeping, run on the main thread via the handoff queue
+     */
+    private void applyDutyMinute(Player player, int minutesServed) {
+        UUID uuid = player.getUniqueId();
+        try {
+            // Every 2 minutes on duty = 1 minute off duty time
+            if (minutesServed % 2 == 0 && minutesServed > 0) {
                 try {
-                    plugin.getGuardProgressionManager().updateTimeServed(player, 60); // 60 seconds per minute
+                    addOffDutyMinutes(uuid, 1);
                 } catch (Exception e) {
-                    plugin.getLogger().warning("Failed to update time served for " + player.getName() + ": " + e.getMessage());
+                    plugin.getLogger().warning("Failed to add off-duty minutes for " + player.getName() + ": " + e.getMessage());
                     // Continue with other operations
                 }
+            }
+
+            // Update progression system with time served
+            try {
+                plugin.getGuardProgressionManager().updateTimeServed(player, 60); // 60 seconds per minute
+            } catch (Exception e) {
+                plugin.getLogger().warning("Failed to update time served for " + player.getName() + ": " + e.getMessage());
+                // Continue with other operations
+            }
 
-                // Check if player has exceeded their off-duty time
-                if (!isOnDuty(uuid)) {
-                    try {
-                        int currentOffDutyTime = getRemainingOffDutyMinutes(uuid);
-                        if (currentOffDutyTime <= 1) {
-                            // Send warning message 1 minute before duty ends
-                            Component warningMsg = MessageUtils.parseMessage("<red>Warning: Your off-duty time ends in 1 minute!</red>");
-                            player.sendMessage(MessageUtils.getPrefix(plugin).append(warningMsg));
-                        } else if (currentOffDutyTime <= -3) {
-                            // Force teleport after 3 minutes grace period
-                            Bukkit.getScheduler().runTask(plugin, () -> {
-                                try {
-                                    // Teleport to guard lounge
-                                    Location guardLounge = getGuardLoungeLocation();
-                                    if (guardLounge != null) {
-                                        player.teleport(guardLounge);
-                                    }
-                                    
-                                    // Force on duty with penalty
-                                    toggleDuty(player);
-                                    
-                                    // Add penalty time (12 minutes of required duty)
-                                    player.sendMessage(MessageUtils.parseMessage("<red>You have exceeded your off-duty time by 3 minutes. You must serve 12 minutes of duty time as penalty.</red>"));
-                                } catch (Exception e) {
-                                    plugin.getLogger().warning("Failed to handle off-duty time penalty for " + player.getName() + ": " + e.getMessage());
-                                }
-                            });
+            // Check if player has exceeded their off-duty time
+            if (!isOnDuty(uuid)) {
+                try {
+                    int currentOffDutyTime = getRemainingOffDutyMinutes(uuid);
+                    if (currentOffDutyTime <= 1) {
+                        // Send warning message 1 minute before duty ends
+                        Component warningMsg = MessageUtils.parseMessage("<red>Warning: Your off-duty time ends in 1 minute!</red>");
+                        player.sendMessage(MessageUtils.getPrefix(plugin).append(warningMsg));
+                    } else if (currentOffDutyTime <= -3) {
+                        // Force teleport after 3 minutes grace period
+                        try {
+                            // Teleport to guard lounge
+                            Location guardLounge = getGuardLoungeLocation();
+                            if (guardLounge != null) {
+                                player.teleportAsync(guardLounge);
+                            }
+                            
+                            // Force on duty with penalty
+                            toggleDuty(player);
+                            
+                            // Add penalty time (12 minutes of required duty)
+                            player.sendMessage(MessageUtils.parseMessage("<red>You have exceeded your off-duty time by 3 minutes. You must serve 12 minutes of duty time as penalty.</red>"));
+                        } catch (Exception e) {
+                            plugin.getLogger().warning("Failed to handle off-duty time penalty for " + player.getName() + ": " + e.getMessage());
                         }
-                    } catch (Exception e) {
-                        plugin.getLogger().warning("Failed to check off-duty time for " + player.getName() + ": " + e.getMessage());
-                        // Continue with timer
                     }
+                } catch (Exception e) {
+                    plugin.getLogger().warning("Failed to check off-duty time for " + player.getName() + ": " + e.getMessage());
+                    // Continue with timer
                 }
-            } catch (Exception e) {
-                plugin.getLogger().warning("Error in duty timer for " + player.getName() + ": " + e.getMessage());
-                // Don't crash the timer, just log the error and continue
             }
-        }, 20L * 60, 20L * 60); // Run every minute
-
-        playerTimers.put(uuid, task);
+        } catch (Exception e) {
+            plugin.getLogger().warning("Error in duty timer for " + player.getName() + ": " + e.getMessage());
+        }
     }
 
     private Location getGuardLoungeLocation() {
@@ -1101,11 +1112,7 @@ public class DutyManager {
             inventoryConfig.set(path + ".armor", serializeInventory(data.armor));
         }
 
-        try {
-            inventoryConfig.save(inventoryFile);
-        } catch (IOException e) {
-            plugin.getLogger().log(Level.SEVERE, "Failed to save inventories to file", e);
-        }
+        plugin.getIoExecutor().saveYaml(inventoryConfig, inventoryFile);
     }
 
     private void loadInventories() {
@@ -1207,13 +1214,13 @@ public class DutyManager {
 
     public void onDisable() {
         // Cancel timers
-        for (BukkitTask task : playerTimers.values()) {
+        for (CorrectionsTask task : playerTimers.values()) {
             task.cancel();
         }
         playerTimers.clear();
 
         // Cancel all immobilization tasks
-        for (BukkitTask task : immobilizationTasks.values()) {
+        for (CorrectionsTask task : immobilizationTasks.values()) {
             task.cancel();
         }
         immobilizationTasks.clear();
@@ -1257,7 +1264,7 @@ public class DutyManager {
             if (includeOffhand) {
                 inventoryConfig.set(path + ".offhand", serializeInventory(new ItemStack[]{offhand}));
             }
-            inventoryConfig.save(inventoryFile);
+            plugin.getIoExecutor().saveYaml(inventoryConfig, inventoryFile);
         } catch (Exception e) {
             plugin.getLogger().log(Level.SEVERE, "Failed to save player inventory (config-driven)", e);
         }
@@ -1277,7 +1284,7 @@ public class DutyManager {
                 }
                 // Remove from file
                 inventoryConfig.set(player.getUniqueId().toString(), null);
-                inventoryConfig.save(inventoryFile);
+                plugin.getIoExecutor().saveYaml(inventoryConfig, inventoryFile);
             }
         } catch (Exception e) {
             plugin.getLogger().log(Level.SEVERE, "Failed to restore player inventory (config-driven)", e);
@@ -0,0 +1,149 @@
+package dev.lsdmc.edencorrections.managers;
+
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Method;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Direct-call bridge to the ExecutableItems API.
+ *
+ * ExecutableItems is optional, so its API can only be reached reflectively. Instead of looking
+ * up getExecutableItem, isPresent, get and getId on every check, the bridge resolves them once
+ * into method handles bound to EI's manager. In front of that sits a small identity cache of
+ * the stacks looked up most recently, so the contraband, drug and id checks that one
+ * classification makes on the same stack only reach EI once.
+ */
+final class ExecutableItemsBridge {
+    private static final String API_CLASS = "com.ssomar.score.api.executableitems.ExecutableItemsAPI";
+    private static final String ITEM_INTERFACE = "com.ssomar.score.api.executableitems.config.ExecutableItemInterface";
+    private static final MethodType GET_ID_TYPE = MethodType.methodType(String.class, Object.class);
+
+    // Direct-mapped by identity hash; must be a power of two
+    private static final int CACHE_SIZE = 256;
+
+    private final MethodHandle getExecutableItem;
+    private final MethodHandle isValidId;
+    private final MethodHandle getId;
+    private final ClassValue<MethodHandle> getIdByClass = new ClassValue<>() {
+        @Override
+        protected MethodHandle computeValue(Class<?> type) {
+            try {
+                return unreflect(type.getMethod("getId")).asType(GET_ID_TYPE);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("ExecutableItem type has no usable getId: " + type.getName(), e);
+            }
+        }
+    };
+
+    private final AtomicReferenceArray<Entry> cache = new AtomicReferenceArray<>(CACHE_SIZE);
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder cacheHits = new LongAdder();
+
+    /**
+     * Resolve the ExecutableItems API
+     * @param logger Where to note optional parts of the API that could not be resolved
+     * @throws ReflectiveOperationException if EI is missing or its API has changed shape
+     */
+    ExecutableItemsBridge(Logger logger) throws ReflectiveOperationException {
+        Class<?> apiClass = Class.forName(API_CLASS);
+        Object manager = apiClass.getMethod("getExecutableItemsManager").invoke(null);
+        Class<?> managerClass = manager.getClass();
+
+        getExecutableItem = unreflect(managerClass.getMethod("getExecutableItem", ItemStack.class))
+                .bindTo(manager)
+                .asType(MethodType.methodType(Object.class, ItemStack.class));
+        isValidId = unreflect(managerClass.getMethod("isValidID", String.class))
+                .bindTo(manager)
+                .asType(MethodType.methodType(boolean.class, String.class));
+
+        // Older EI versions do not expose the item interface; getId is then resolved per item class
+        MethodHandle interfaceGetId = null;
+        try {
+            Class<?> itemInterface = Class.forName(ITEM_INTERFACE, true, apiClass.getClassLoader());
+            interfaceGetId = MethodHandles.publicLookup()
+                    .findVirtual(itemInterface, "getId", MethodType.methodType(String.class))
+                    .asType(GET_ID_TYPE);
+        } catch (ReflectiveOperationException e) {
+            // Not fatal: resolve() falls back to looking up getId on each item's own class
+            logger.log(Level.FINE, "ExecutableItems item interface " + ITEM_INTERFACE
+                    + " not found, resolving getId per item class", e);
+        }
+        getId = interfaceGetId;
+    }
+
+    /**
+     * @return The ExecutableItems ID of the stack, or null if it is not an ExecutableItem
+     */
+    String getId(ItemStack item) {
+        // EI keeps its id in the item's data, so stacks without meta are never ExecutableItems
+        if (item == null || !item.hasItemMeta()) {
+            return null;
+        }
+        lookups.increment();
+
+        Material type = item.getType();
+        int slot = System.identityHashCode(item) & (CACHE_SIZE - 1);
+        Entry entry = cache.get(slot);
+        if (entry != null && entry.type == type && entry.item.get() == item) {
+            cacheHits.increment();
+            return entry.id;
+        }
+
+        String id = resolve(item);
+        cache.set(slot, new Entry(new WeakReference<>(item), type, id));
+        return id;
+    }
+
+    boolean isValidId(String id) {
+        try {
+            return (boolean) isValidId.invokeExact(id);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+    }
+
+    private String resolve(ItemStack item) {
+        try {
+            Object result = (Object) getExecutableItem.invokeExact(item);
+            if (!(result instanceof Optional<?> optional) || optional.isEmpty()) {
+                return null;
+            }
+            Object executableItem = optional.get();
+            MethodHandle handle = getId != null ? getId : getIdByClass.get(executableItem.getClass());
+            return (String) handle.invokeExact(executableItem);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+    }
+
+    long getLookups() {
+        return lookups.sum();
+    }
+
+    long getCacheHits() {
+        return cacheHits.sum();
+    }
+
+    private static MethodHandle unreflect(Method method) throws IllegalAccessException {
+        // The manager and item classes are often non-public implementations of public interfaces
+        method.trySetAccessible();
+        return MethodHandles.lookup().unreflect(method);
+    }
+
+    private record Entry(WeakReference<ItemStack> item, Material type, String id) {
+    }
+}
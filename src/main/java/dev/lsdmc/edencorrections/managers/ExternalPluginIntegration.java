@@ -1,6 +1,7 @@
 package dev.lsdmc.edencorrections.managers;
 
 import dev.lsdmc.edencorrections.EdenCorrections;
+import dev.lsdmc.edencorrections.scheduler.IoExecutor;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
@@ -12,10 +13,10 @@ import org.bukkit.potion.PotionEffect;
 import org.bukkit.potion.PotionEffectType;
 import org.bukkit.NamespacedKey;
 
-import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Optional;
+import java.util.concurrent.Callable;
 import java.util.Set;
 
 public class ExternalPluginIntegration {
@@ -24,9 +25,7 @@ public class ExternalPluginIntegration {
     // ExecutableItems integration
     private Plugin executableItemsPlugin;
     private boolean executableItemsEnabled;
-    private Object executableItemsManager;
-    private Method getExecutableItemMethod;
-    private Method isValidIDMethod;
+    private ExecutableItemsBridge executableItems;
     
     // Configuration for drug and contraband items
     private final Set<String> drugItemIds = new HashSet<>();
@@ -41,6 +40,41 @@ public class ExternalPluginIntegration {
     private void loadIntegrations() {
         loadExecutableItemsIntegration();
         loadDrugAndContrabandConfig();
+        validateConfiguredItemIds();
+    }
+
+    /**
+     * Check every configured ExecutableItems ID against the EI registry in one fan-out,
+     * off the main thread, and warn about IDs that do not exist
+     */
+    private void validateConfiguredItemIds() {
+        if (!executableItemsEnabled || executableItems == null) {
+            return;
+        }
+
+        ExecutableItemsBridge bridge = executableItems;
+        List<String> ids = new ArrayList<>(drugItemIds);
+        ids.addAll(contrabandItemIds);
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        List<Callable<Boolean>> checks = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            checks.add(() -> bridge.isValidId(id));
+        }
+
+        plugin.getIoExecutor().fanOut(IoExecutor.INTEGRATIONS, checks).whenComplete((valid, error) -> {
+            if (error != null) {
+                plugin.getLogger().warning("Could not validate ExecutableItems IDs: " + error.getMessage());
+                return;
+            }
+            for (int i = 0; i < ids.size(); i++) {
+                if (!valid.get(i)) {
+                    plugin.getLogger().warning("Configured ExecutableItems ID does not exist: " + ids.get(i));
+                }
+            }
+        });
     }
 
     /**
@@ -61,15 +95,8 @@ public class ExternalPluginIntegration {
         }
 
         try {
-            // Get the ExecutableItemsAPI class
-            Class<?> executableItemsAPIClass = Class.forName("com.ssomar.score.api.executableitems.ExecutableItemsAPI");
-            Method getManagerMethod = executableItemsAPIClass.getMethod("getExecutableItemsManager");
-            executableItemsManager = getManagerMethod.invoke(null);
-            
-            // Get the manager methods
-            Class<?> managerClass = executableItemsManager.getClass();
-            getExecutableItemMethod = managerClass.getMethod("getExecutableItem", ItemStack.class);
-            isValidIDMethod = managerClass.getMethod("isValidID", String.class);
+            // Resolve the ExecutableItems API once into direct method handles
+            executableItems = new ExecutableItemsBridge(plugin.getLogger());
             
             executableItemsEnabled = true;
             plugin.getLogger().info("Successfully hooked into ExecutableItems!");
@@ -135,25 +162,11 @@ public class ExternalPluginIntegration {
         }
         
         try {
-            // Get the ExecutableItem from the ItemStack
-            Object executableItemOptional = getExecutableItemMethod.invoke(executableItemsManager, item);
-            
-            // Check if Optional is present (using reflection)
-            Method isPresentMethod = executableItemOptional.getClass().getMethod("isPresent");
-            boolean isPresent = (boolean) isPresentMethod.invoke(executableItemOptional);
-            
-            if (!isPresent) {
+            String itemId = executableItems.getId(item);
+            if (itemId == null) {
                 return false;
             }
             
-            // Get the ExecutableItem
-            Method getMethod = executableItemOptional.getClass().getMethod("get");
-            Object executableItem = getMethod.invoke(executableItemOptional);
-            
-            // Get the ID of the ExecutableItem
-            Method getIdMethod = executableItem.getClass().getMethod("getId");
-            String itemId = (String) getIdMethod.invoke(executableItem);
-            
             boolean isDrug = drugItemIds.contains(itemId);
             
             if (plugin.getConfigManager().isDebugEnabled() && isDrug) {
@@ -181,25 +194,11 @@ public class ExternalPluginIntegration {
         }
         
         try {
-            // Get the ExecutableItem from the ItemStack
-            Object executableItemOptional = getExecutableItemMethod.invoke(executableItemsManager, item);
-            
-            // Check if Optional is present
-            Method isPresentMethod = executableItemOptional.getClass().getMethod("isPresent");
-            boolean isPresent = (boolean) isPresentMethod.invoke(executableItemOptional);
-            
-            if (!isPresent) {
+            String itemId = executableItems.getId(item);
+            if (itemId == null) {
                 return false;
             }
             
-            // Get the ExecutableItem
-            Method getMethod = executableItemOptional.getClass().getMethod("get");
-            Object executableItem = getMethod.invoke(executableItemOptional);
-            
-            // Get the ID of the ExecutableItem
-            Method getIdMethod = executableItem.getClass().getMethod("getId");
-            String itemId = (String) getIdMethod.invoke(executableItem);
-            
             boolean isContraband = contrabandItemIds.contains(itemId) || drugItemIds.contains(itemId);
             
             if (plugin.getConfigManager().isDebugEnabled() && isContraband) {
@@ -406,24 +405,7 @@ public class ExternalPluginIntegration {
         }
         
         try {
-            // Get the ExecutableItem from the ItemStack
-            Object executableItemOptional = getExecutableItemMethod.invoke(executableItemsManager, item);
-            
-            // Check if Optional is present
-            Method isPresentMethod = executableItemOptional.getClass().getMethod("isPresent");
-            boolean isPresent = (boolean) isPresentMethod.invoke(executableItemOptional);
-            
-            if (!isPresent) {
-                return null;
-            }
-            
-            // Get the ExecutableItem
-            Method getMethod = executableItemOptional.getClass().getMethod("get");
-            Object executableItem = getMethod.invoke(executableItemOptional);
-            
-            // Get the ID of the ExecutableItem
-            Method getIdMethod = executableItem.getClass().getMethod("getId");
-            return (String) getIdMethod.invoke(executableItem);
+            return executableItems.getId(item);
             
         } catch (Exception e) {
             if (plugin.getConfigManager().isDebugEnabled()) {
@@ -463,9 +445,7 @@ public class ExternalPluginIntegration {
     public void reload() {
         executableItemsEnabled = false;
         executableItemsPlugin = null;
-        executableItemsManager = null;
-        getExecutableItemMethod = null;
-        isValidIDMethod = null;
+        executableItems = null;
         
         loadIntegrations();
         
@@ -484,6 +464,9 @@ public class ExternalPluginIntegration {
         status.put("drugEffectsCount", drugEffectTypes.size());
         status.put("drugDetectionEnabled", isDrugDetectionEnabled());
         status.put("contrabandDetectionEnabled", isContrabandDetectionEnabled());
+        ExecutableItemsBridge bridge = executableItems;
+        status.put("executableItemLookups", bridge != null ? bridge.getLookups() : 0L);
+        status.put("executableItemCacheHits", bridge != null ? bridge.getCacheHits() : 0L);
         return status;
     }
 } 
\ No newline at end of file
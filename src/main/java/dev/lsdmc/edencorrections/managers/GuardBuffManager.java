@@ -1,6 +1,7 @@
 package dev.lsdmc.edencorrections.managers;
 
 import dev.lsdmc.edencorrections.EdenCorrections;
+import dev.lsdmc.edencorrections.scheduler.CorrectionsTask;
 import dev.lsdmc.edencorrections.config.ConfigManager;
 import dev.lsdmc.edencorrections.utils.MessageUtils;
 import net.kyori.adventure.text.Component;
@@ -8,7 +9,6 @@ import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.bukkit.potion.PotionEffect;
 import org.bukkit.potion.PotionEffectType;
-import org.bukkit.scheduler.BukkitTask;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -29,7 +29,7 @@ public class GuardBuffManager {
     private int onlineGuardCount = 0;
     private final Map<String, String> effectsConfig = new HashMap<>();
     private final List<BuffedGuard> buffedGuards = new ArrayList<>();
-    private final Map<UUID, BukkitTask> removalTasks = new ConcurrentHashMap<>();
+    private final Map<UUID, CorrectionsTask> removalTasks = new ConcurrentHashMap<>();
 
     public GuardBuffManager(EdenCorrections plugin) {
         this.plugin = plugin;
@@ -174,7 +174,7 @@ public class GuardBuffManager {
             removeBuffsFromPlayer(buffedGuard.getPlayerId());
         }
         buffedGuards.clear();
-        removalTasks.values().forEach(BukkitTask::cancel);
+        removalTasks.values().forEach(CorrectionsTask::cancel);
         removalTasks.clear();
     }
 
@@ -195,7 +195,7 @@ public class GuardBuffManager {
 
                 // Schedule removal
                 UUID playerId = player.getUniqueId();
-                BukkitTask task = Bukkit.getScheduler().runTaskLater(plugin, () -> {
+                CorrectionsTask task = plugin.getTaskScheduler().runAtEntityLater(player, () -> {
                     removeBuffsFromPlayer(playerId);
                     removalTasks.remove(playerId);
                 }, config.loneGuardRemovalDelay * 20L);
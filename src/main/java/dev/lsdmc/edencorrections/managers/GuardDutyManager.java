@@ -7,6 +7,7 @@ import com.sk89q.worldguard.protection.regions.ProtectedRegion;
 import com.sk89q.worldguard.protection.regions.RegionContainer;
 import com.sk89q.worldguard.protection.regions.RegionQuery;
 import dev.lsdmc.edencorrections.EdenCorrections;
+import dev.lsdmc.edencorrections.scheduler.CorrectionsTask;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
 import net.kyori.adventure.text.format.TextDecoration;
@@ -18,7 +19,6 @@ import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
 import org.bukkit.potion.PotionEffect;
 import org.bukkit.potion.PotionEffectType;
-import org.bukkit.scheduler.BukkitTask;
 import net.luckperms.api.LuckPerms;
 import net.luckperms.api.model.user.User;
 import net.luckperms.api.node.Node;
@@ -34,8 +34,8 @@ public class GuardDutyManager {
     private final Map<UUID, Integer> onDutyTimeMap = new HashMap<>();
     private final Map<UUID, Integer> breakTimeMap = new HashMap<>();
     private final Map<UUID, Integer> effectLevelMap = new HashMap<>();
-    private final Map<UUID, BukkitTask> breakTasks = new HashMap<>();
-    private final Map<UUID, BukkitTask> dutyTasks = new HashMap<>();
+    private final Map<UUID, CorrectionsTask> breakTasks = new ConcurrentHashMap<>();
+    private final Map<UUID, CorrectionsTask> dutyTasks = new ConcurrentHashMap<>();
     private final Map<UUID, Boolean> onBreakMap = new HashMap<>();
     private final String guardLoungeRegion = "guard_lounge";
 
@@ -203,7 +203,7 @@ public class GuardDutyManager {
         }
 
         // Schedule new task
-        BukkitTask task = Bukkit.getScheduler().runTaskLater(plugin, () -> {
+        CorrectionsTask task = plugin.getTaskScheduler().runAtEntityLater(player, () -> {
             if (isOnDuty(player)) {
                 applyNegativeEffects(player);
             }
@@ -241,7 +241,7 @@ public class GuardDutyManager {
 
         // Schedule next effect application if still on duty
         if (isOnDuty(player)) {
-            Bukkit.getScheduler().runTaskLater(plugin, () -> {
+            plugin.getTaskScheduler().runAtEntityLater(player, () -> {
                 if (isOnDuty(player)) {
                     applyNegativeEffects(player);
                 }
@@ -2,12 +2,13 @@ package dev.lsdmc.edencorrections.managers;
 
 import dev.lsdmc.edencorrections.EdenCorrections;
 import dev.lsdmc.edencorrections.config.ConfigManager;
+import dev.lsdmc.edencorrections.items.GuardItemType;
+import dev.lsdmc.edencorrections.regions.PlayerSpatialIndex;
 import dev.lsdmc.edencorrections.utils.MessageUtils;
 import net.kyori.adventure.text.Component;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.Material;
-import org.bukkit.NamespacedKey;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
@@ -15,23 +16,25 @@ import org.bukkit.persistence.PersistentDataContainer;
 import org.bukkit.persistence.PersistentDataType;
 import org.bukkit.potion.PotionEffect;
 import org.bukkit.potion.PotionEffectType;
-import org.bukkit.scheduler.BukkitTask;
 
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 public class GuardItemManager {
     private final EdenCorrections plugin;
     private final ConfigManager configManager;
     private ConfigManager.ItemsConfig itemsConfig;
-    private final NamespacedKey itemTypeKey;
     private final Map<UUID, Map<String, Long>> cooldowns = new ConcurrentHashMap<>();
-    private final Map<UUID, BukkitTask> searchTasks = new HashMap<>();
-    private final Map<UUID, BukkitTask> cuffingTasks = new HashMap<>();
+
+    // What each guard item does when used on a player, and when used without a target
+    private final Map<GuardItemType, TargetedUse> targetedUses = new EnumMap<>(GuardItemType.class);
+    private final Map<GuardItemType, Consumer<Player>> untargetedUses = new EnumMap<>(GuardItemType.class);
     
     // Cached configuration values for better performance
     private final double cuffingMaxDistance;
@@ -44,7 +47,6 @@ public class GuardItemManager {
         this.plugin = plugin;
         this.configManager = plugin.getConfigManager();
         this.itemsConfig = configManager.getItemsConfig();
-        this.itemTypeKey = new NamespacedKey(plugin, "guard_item_type");
         
         // Cache configuration values for better performance
         this.cuffingMaxDistance = itemsConfig.getDouble("handcuffs.max-distance", 5.0);
@@ -52,6 +54,36 @@ public class GuardItemManager {
         this.taserMaxDistance = itemsConfig.getDouble("taser.max-distance", 8.0);
         this.jailMaxDistance = itemsConfig.getDouble("commands.jail.max-distance", 5.0);
         this.cmiJailName = itemsConfig.getString("jail.cmi-jail-name", "default");
+
+        registerItemUses();
+    }
+
+    private void registerItemUses() {
+        targetedUses.put(GuardItemType.HANDCUFFS, this::handleHandcuffsItem);
+        targetedUses.put(GuardItemType.SPYGLASS, this::handleSpyglassItem);
+        targetedUses.put(GuardItemType.DRUG_SNIFFER, (guard, target, item) -> {
+            handleDrugSniffer(guard, target);
+            return true;
+        });
+        targetedUses.put(GuardItemType.METAL_DETECTOR, (guard, target, item) -> {
+            handleMetalDetector(guard, target);
+            return true;
+        });
+        targetedUses.put(GuardItemType.GUARD_BATON, (guard, target, item) -> {
+            handleGuardBaton(guard, target);
+            return true;
+        });
+        targetedUses.put(GuardItemType.SMOKE_BOMB, (guard, target, item) -> {
+            handleSmokeBomb(guard, target);
+            return true;
+        });
+        targetedUses.put(GuardItemType.TASER, (guard, target, item) -> {
+            handleTaser(guard, target);
+            return true;
+        });
+
+        untargetedUses.put(GuardItemType.PRISON_REMOTE, this::handlePrisonRemote);
+        untargetedUses.put(GuardItemType.RIOT_SHIELD, this::handleRiotShield);
     }
 
     /**
@@ -78,7 +110,7 @@ public class GuardItemManager {
 
             // Store item type
             PersistentDataContainer container = meta.getPersistentDataContainer();
-            container.set(itemTypeKey, PersistentDataType.STRING, type);
+            container.set(GuardItemType.KEY, PersistentDataType.STRING, type);
 
             item.setItemMeta(meta);
         }
@@ -89,22 +121,23 @@ public class GuardItemManager {
      * Check if an item is a guard item
      */
     public boolean isGuardItem(ItemStack item) {
-        if (item == null || !item.hasItemMeta()) return false;
-        
-        ItemMeta meta = item.getItemMeta();
-        PersistentDataContainer container = meta.getPersistentDataContainer();
-        return container.has(itemTypeKey, PersistentDataType.STRING);
+        return getType(item) != null;
     }
 
     /**
      * Get the type of a guard item
+     * @return The type, or null if the item is not a guard item
+     */
+    public GuardItemType getType(ItemStack item) {
+        return GuardItemType.of(item);
+    }
+
+    /**
+     * Get the type id of a guard item
      */
     public String getGuardItemType(ItemStack item) {
-        if (!isGuardItem(item)) return null;
-        
-        ItemMeta meta = item.getItemMeta();
-        PersistentDataContainer container = meta.getPersistentDataContainer();
-        return container.get(itemTypeKey, PersistentDataType.STRING);
+        GuardItemType type = getType(item);
+        return type != null ? type.getId() : null;
     }
 
     /**
@@ -141,63 +174,34 @@ public class GuardItemManager {
     /**
      * Start a search countdown
      */
-    private void startSearchCountdown(Player guard, Player target, int countdown, String itemType, Runnable onComplete) {
-        UUID guardId = guard.getUniqueId();
-        
-        // Cancel any existing search
-        if (searchTasks.containsKey(guardId)) {
-            searchTasks.get(guardId).cancel();
-        }
-        
-        // Start countdown
-        BukkitTask task = Bukkit.getScheduler().runTaskTimer(plugin, new Runnable() {
-            int secondsLeft = countdown;
-            
-            @Override
-            public void run() {
-                // Check if target moved away
-                if (!guard.isOnline() || !target.isOnline() ||
-                        guard.getLocation().distance(target.getLocation()) > 5) {
-                    cancelSearch(guard, target);
-                    return;
-                }
-                
-                if (secondsLeft <= 0) {
-                    // Complete search
-                    searchTasks.remove(guardId);
-                    onComplete.run();
-                    return;
-                }
-                
-                // Update countdown
-                guard.sendMessage(MessageUtils.parseMessage(
-                    "<yellow>Searching " + target.getName() + " in " + secondsLeft + "...</yellow>"));
-                target.sendMessage(MessageUtils.parseMessage(
-                    "<yellow>Being searched by " + guard.getName() + " in " + secondsLeft + "...</yellow>"));
-                
-                secondsLeft--;
-            }
-        }, 0L, 20L);
-        
-        searchTasks.put(guardId, task);
+    private void startSearchCountdown(Player guard, Player target, int countdown, String title, Runnable onComplete) {
+        // Starting a new search replaces the guard's previous one
+        plugin.getInteractionSessionManager().start(new InteractionSessionManager.Session(
+                InteractionSessionManager.Kind.SEARCH, guard, target, countdown, 5.0)
+                .title(title)
+                .guardLabel("Searching " + target.getName())
+                .targetLabel("Being searched by " + guard.getName())
+                .onComplete(onComplete)
+                .onCancel(reason -> cancelSearch(guard, target, reason)));
     }
 
     /**
-     * Cancel an ongoing search
+     * Tell both players a search was cut short, and chase a target who moved away
      */
-    private void cancelSearch(Player guard, Player target) {
-        UUID guardId = guard.getUniqueId();
-        if (searchTasks.containsKey(guardId)) {
-            searchTasks.get(guardId).cancel();
-            searchTasks.remove(guardId);
-            
-            guard.sendMessage(MessageUtils.parseMessage("<red>Search cancelled! Target moved away.</red>"));
-            target.sendMessage(MessageUtils.parseMessage("<green>Search cancelled! You moved away from the guard.</green>"));
-            
-            // Only start chase if conditions are met to prevent spam
-            if (shouldStartChase(guard, target)) {
-                plugin.getChaseManager().startChase(guard, target);
-            }
+    private void cancelSearch(Player guard, Player target, InteractionSessionManager.EndReason reason) {
+        if (reason == InteractionSessionManager.EndReason.REPLACED || reason == InteractionSessionManager.EndReason.CANCELLED) {
+            return;
+        }
+        if (reason == InteractionSessionManager.EndReason.LOGOUT) {
+            notifyLogout(guard, target, "Search");
+            return;
+        }
+        tell(guard, MessageUtils.parseMessage("<red>Search cancelled! Target moved away.</red>"));
+        target.sendMessage(MessageUtils.parseMessage("<green>Search cancelled! You moved away from the guard.</green>"));
+
+        // Only start chase if conditions are met to prevent spam
+        if (reason == InteractionSessionManager.EndReason.DISTANCE && shouldStartChase(guard, target)) {
+            plugin.getChaseManager().startChase(guard, target);
         }
     }
 
@@ -215,11 +219,14 @@ public class GuardItemManager {
             return false;
         }
         
-        // Don't start chase if players are too far apart (prevents console spam)
-        double distance = guard.getLocation().distance(target.getLocation());
+        // Don't start chase if players are too far apart (prevents console spam); this runs on
+        // the target's thread, so the guard's position comes from the spatial index
+        Location guardLocation = plugin.getPlayerSpatialIndex().getLocation(guard);
+        Location targetLocation = target.getLocation();
         double maxChaseDistance = itemsConfig.general.globalMaxRange;
-        if (distance > maxChaseDistance) {
-            guard.sendMessage(MessageUtils.parseMessage("<red>Target is too far away to initiate a chase!</red>"));
+        if (guardLocation == null || guardLocation.getWorld() != targetLocation.getWorld()
+                || guardLocation.distanceSquared(targetLocation) > maxChaseDistance * maxChaseDistance) {
+            tell(guard, MessageUtils.parseMessage("<red>Target is too far away to initiate a chase!</red>"));
             return false;
         }
         
@@ -310,17 +317,9 @@ public class GuardItemManager {
 
         // Start search countdown
         int countdown = itemsConfig.drugSniffer.countdown;
-        startSearchCountdown(guard, target, countdown, "drug_sniffer", () -> {
+        startSearchCountdown(guard, target, countdown, "Drug Search", () -> {
             // Check for drugs using comprehensive detection
-            boolean foundDrugs = false;
-            
-            // Check inventory for drug items
-            for (org.bukkit.inventory.ItemStack item : target.getInventory().getContents()) {
-                if (item != null && plugin.getExternalPluginIntegration().isDrugComprehensive(item)) {
-                    foundDrugs = true;
-                    break;
-                }
-            }
+            boolean foundDrugs = plugin.getContrabandLedger().has(target, ContrabandClassifier.DRUG);
             
             // Check for drug effects (player under influence)
             if (!foundDrugs && plugin.getExternalPluginIntegration().isUnderInfluence(target)) {
@@ -333,7 +332,7 @@ public class GuardItemManager {
                 int reward = itemsConfig.drugSniffer.rewardPerDrug;
                 plugin.getGuardTokenManager().giveTokens(guard, reward, "Found drugs on " + target.getName());
                 
-                guard.sendMessage(MessageUtils.getPrefix(plugin).append(
+                tell(guard, MessageUtils.getPrefix(plugin).append(
                     MessageUtils.parseMessage("<red>Drug sniffer detected drugs on " + target.getName() + "!</red>")));
                 target.sendMessage(MessageUtils.getPrefix(plugin).append(
                     MessageUtils.parseMessage("<red>A guard has detected drugs on you!</red>")));
@@ -350,7 +349,7 @@ public class GuardItemManager {
                 int reward = itemsConfig.drugSniffer.rewardNoFind;
                 plugin.getGuardTokenManager().giveTokens(guard, reward, "Drug search on " + target.getName());
                 
-                guard.sendMessage(MessageUtils.getPrefix(plugin).append(
+                tell(guard, MessageUtils.getPrefix(plugin).append(
                     MessageUtils.parseMessage("<green>Drug sniffer found no drugs on " + target.getName() + ".</green>")));
                 target.sendMessage(MessageUtils.getPrefix(plugin).append(
                     MessageUtils.parseMessage("<green>Drug search completed - you are clean.</green>")));
@@ -395,6 +394,13 @@ public class GuardItemManager {
             return;
         }
 
+        // Don't cuff someone already being restrained in the guard lounge
+        if (plugin.getInteractionSessionManager().isTarget(target.getUniqueId(), InteractionSessionManager.Kind.LOUNGE_CUFFING)) {
+            guard.sendMessage(MessageUtils.getPrefix(plugin).append(
+                MessageUtils.parseMessage("<red>This player is already being cuffed!</red>")));
+            return;
+        }
+
         // Check cooldown
         if (isOnCooldown(guardId, "handcuffs")) {
             int remainingSeconds = getCooldownSeconds(guardId, "handcuffs");
@@ -422,62 +428,59 @@ public class GuardItemManager {
     }
 
     /**
-     * Start a cuffing countdown (displays countdown, allows escape, starts chase if escaped)
+     * Start a cuffing countdown (shows progress, allows escape, starts chase if escaped)
      */
     private void startCuffingCountdown(Player guard, Player target, int countdownSeconds, Runnable onComplete) {
-        UUID guardId = guard.getUniqueId();
-        UUID targetId = target.getUniqueId();
-
-        // Cancel any existing cuffing task for this guard
-        if (cuffingTasks.containsKey(guardId)) {
-            cuffingTasks.get(guardId).cancel();
-        }
-
-        BukkitTask task = Bukkit.getScheduler().runTaskTimer(plugin, new Runnable() {
-            int secondsLeft = countdownSeconds;
-
-            @Override
-            public void run() {
-                if (!guard.isOnline() || !target.isOnline() ||
-                    guard.getLocation().distance(target.getLocation()) > cuffingMaxDistance) {
-                    // Target escaped!
-                    cancelCuffing(guard, target);
-                    
-                    // Only start chase if conditions are met to prevent spam
-                    if (shouldStartChase(guard, target)) {
-                        plugin.getChaseManager().startChase(guard, target);
-                    }
-                    return;
-                }
-
-                if (secondsLeft <= 0) {
-                    // Cuffing complete
-                    cuffingTasks.remove(guardId);
-                    onComplete.run();
-                    return;
-                }
+        // Starting a new cuffing replaces the guard's previous one
+        plugin.getInteractionSessionManager().start(new InteractionSessionManager.Session(
+                InteractionSessionManager.Kind.CUFFING, guard, target, countdownSeconds, cuffingMaxDistance)
+                .title("Cuffing " + target.getName())
+                .guardLabel("Cuffing " + target.getName())
+                .targetLabel("You are being cuffed by " + guard.getName())
+                .onComplete(onComplete)
+                .onCancel(reason -> cancelCuffing(guard, target, reason)));
+    }
 
-                // Show countdown to both players
-                guard.sendMessage(MessageUtils.parseMessage("<yellow>Cuffing " + target.getName() + " in " + secondsLeft + "...</yellow>"));
-                target.sendMessage(MessageUtils.parseMessage("<yellow>You are being cuffed by " + guard.getName() + " in " + secondsLeft + "...</yellow>"));
-                secondsLeft--;
-            }
-        }, 0L, 20L);
+    /**
+     * Tell both players a cuffing attempt failed, and chase a target who escaped
+     */
+    private void cancelCuffing(Player guard, Player target, InteractionSessionManager.EndReason reason) {
+        if (reason == InteractionSessionManager.EndReason.REPLACED || reason == InteractionSessionManager.EndReason.CANCELLED) {
+            return;
+        }
+        if (reason == InteractionSessionManager.EndReason.LOGOUT) {
+            notifyLogout(guard, target, "Cuffing");
+            return;
+        }
+        tell(guard, MessageUtils.parseMessage("<red>Cuffing cancelled! Target moved away.</red>"));
+        target.sendMessage(MessageUtils.parseMessage("<green>You escaped being cuffed!</green>"));
 
-        cuffingTasks.put(guardId, task);
+        // Only start chase if conditions are met to prevent spam
+        if (reason == InteractionSessionManager.EndReason.DISTANCE && shouldStartChase(guard, target)) {
+            plugin.getChaseManager().startChase(guard, target);
+        }
     }
 
     /**
-     * Cancel an ongoing cuffing attempt
+     * Tell whichever of the two is still online that the other logged out
      */
-    private void cancelCuffing(Player guard, Player target) {
-        UUID guardId = guard.getUniqueId();
-        if (cuffingTasks.containsKey(guardId)) {
-            cuffingTasks.get(guardId).cancel();
-            cuffingTasks.remove(guardId);
+    private void notifyLogout(Player guard, Player target, String action) {
+        if (guard.isOnline()) {
+            tell(guard, MessageUtils.parseMessage(
+                "<yellow>" + action + " cancelled! " + target.getName() + " logged out.</yellow>"));
+        }
+        if (target.isOnline()) {
+            tell(target, MessageUtils.parseMessage(
+                "<yellow>" + action + " cancelled! " + guard.getName() + " logged out.</yellow>"));
         }
-        guard.sendMessage(MessageUtils.parseMessage("<red>Cuffing cancelled! Target moved away.</red>"));
-        target.sendMessage(MessageUtils.parseMessage("<green>You escaped being cuffed!</green>"));
+    }
+
+    /**
+     * Message a player on their own thread. Session callbacks run on the target's thread, so
+     * anything they send the guard goes through here.
+     */
+    private void tell(Player player, Component message) {
+        plugin.getTaskScheduler().runForEntity(player, () -> player.sendMessage(message));
     }
 
     /**
@@ -504,13 +507,13 @@ public class GuardItemManager {
         plugin.getGuardTokenManager().giveTokens(guard, totalReward, "Apprehension reward");
         plugin.getDutyManager().addOffDutyMinutes(guard.getUniqueId(), 1 + wantedLevel);
         
-        guard.sendMessage(MessageUtils.getPrefix(plugin).append(
+        tell(guard, MessageUtils.getPrefix(plugin).append(
             MessageUtils.parseMessage("<green>Successfully jailed " + target.getName() + " for " + baseMinutes + " minutes! +" + totalReward + " tokens</green>")));
             
         // Notify other guards
-        for (Player onlinePlayer : plugin.getServer().getOnlinePlayers()) {
-            if (plugin.getDutyManager().isOnDuty(onlinePlayer.getUniqueId()) && !onlinePlayer.equals(guard)) {
-                onlinePlayer.sendMessage(MessageUtils.getPrefix(plugin).append(
+        for (Player onlinePlayer : plugin.getPlayerSpatialIndex().getPlayers(PlayerSpatialIndex.ROLE_GUARD)) {
+            if (!onlinePlayer.equals(guard)) {
+                tell(onlinePlayer, MessageUtils.getPrefix(plugin).append(
                     MessageUtils.parseMessage("<yellow>" + guard.getName() + " successfully apprehended " + target.getName() + "!</yellow>")));
             }
         }
@@ -555,25 +558,15 @@ public class GuardItemManager {
 
         // Start countdown
         int countdown = itemsConfig.getInt("items.metal-detector.countdown", 10);
-        startSearchCountdown(guard, target, countdown, "metal_detector", () -> {
-            // Check for metal items
-            boolean foundMetal = false;
+        startSearchCountdown(guard, target, countdown, "Metal Detector Search", () -> {
+            // Check for metal items (contents include the armour slots)
             java.util.List<String> metalItems = new java.util.ArrayList<>();
-            
-            for (org.bukkit.inventory.ItemStack item : target.getInventory().getContents()) {
-                if (item != null && isMetalItem(item)) {
-                    foundMetal = true;
-                    metalItems.add(getItemDisplayName(item));
-                }
-            }
-            
-            // Check armor slots
-            for (org.bukkit.inventory.ItemStack item : target.getInventory().getArmorContents()) {
-                if (item != null && isMetalItem(item)) {
-                    foundMetal = true;
+            if (plugin.getContrabandLedger().has(target, InventoryScanner.METAL)) {
+                for (org.bukkit.inventory.ItemStack item : plugin.getInventoryScanner().scan(target).items(InventoryScanner.METAL)) {
                     metalItems.add(getItemDisplayName(item));
                 }
             }
+            boolean foundMetal = !metalItems.isEmpty();
             
             // Handle results
             if (foundMetal) {
@@ -581,7 +574,7 @@ public class GuardItemManager {
                 int reward = itemsConfig.getInt("items.metal-detector.reward.find", 250);
                 plugin.getGuardTokenManager().giveTokens(guard, reward, "Found metal items on " + target.getName());
                 
-                guard.sendMessage(MessageUtils.getPrefix(plugin).append(
+                tell(guard, MessageUtils.getPrefix(plugin).append(
                     MessageUtils.parseMessage("<red>Metal detector found metal items on " + target.getName() + ": " + String.join(", ", metalItems) + "</red>")));
                 target.sendMessage(MessageUtils.getPrefix(plugin).append(
                     MessageUtils.parseMessage("<red>Metal detection revealed your metal items!</red>")));
@@ -595,7 +588,7 @@ public class GuardItemManager {
                 int reward = itemsConfig.getInt("items.metal-detector.reward.no-find", 250);
                 plugin.getGuardTokenManager().giveTokens(guard, reward, "Metal detection on " + target.getName());
                 
-                guard.sendMessage(MessageUtils.getPrefix(plugin).append(
+                tell(guard, MessageUtils.getPrefix(plugin).append(
                     MessageUtils.parseMessage("<green>Metal detector found no metal items on " + target.getName() + ".</green>")));
                 target.sendMessage(MessageUtils.getPrefix(plugin).append(
                     MessageUtils.parseMessage("<green>Metal detection completed - no metal items found.</green>")));
@@ -610,20 +603,6 @@ public class GuardItemManager {
         });
     }
 
-    /**
-     * Check if an item is considered metal for metal detector
-     */
-    private boolean isMetalItem(org.bukkit.inventory.ItemStack item) {
-        String materialName = item.getType().name();
-        return materialName.contains("IRON") || materialName.contains("DIAMOND") || 
-               materialName.contains("NETHERITE") || materialName.contains("GOLD") ||
-               materialName.contains("SWORD") || materialName.contains("AXE") ||
-               materialName.contains("PICKAXE") || materialName.contains("SHOVEL") ||
-               materialName.contains("HOE") || materialName.contains("HELMET") ||
-               materialName.contains("CHESTPLATE") || materialName.contains("LEGGINGS") ||
-               materialName.contains("BOOTS") || materialName.contains("SHEARS");
-    }
-
     /**
      * Handle spyglass use (ENHANCED with spam protection)
      */
@@ -729,7 +708,7 @@ public class GuardItemManager {
         }
 
         // Schedule lockdown end message
-        Bukkit.getScheduler().runTaskLater(plugin, () -> {
+        plugin.getTaskScheduler().runGlobalLater(() -> {
             Component endMessage = MessageUtils.parseMessage("<green>Emergency lockdown has ended. Normal operations resumed.</green>");
             Bukkit.broadcast(endMessage);
         }, lockdownDuration * 20L);
@@ -751,7 +730,7 @@ public class GuardItemManager {
     public void handleGuardBaton(Player guard, Player target) {
         // Check if PvP only is enabled and if in PvP region
         boolean pvpOnly = itemsConfig.getBoolean("items.guard-baton.pvp-only", true);
-        if (pvpOnly && !plugin.getRegionUtils().isPvPRegion(target.getLocation())) {
+        if (pvpOnly && !plugin.getSafezoneManager().isInPvPZone(target.getLocation())) {
             guard.sendMessage(MessageUtils.getPrefix(plugin).append(
                 MessageUtils.parseMessage("<red>Guard baton can only be used in PvP regions!</red>")));
             return;
@@ -866,17 +845,10 @@ public class GuardItemManager {
     }
 
     private ItemStack findRandomContraband(Player player) {
-        List<ItemStack> found = new ArrayList<>();
-        
-        // Check inventory
-        for (ItemStack item : player.getInventory().getContents()) {
-            if (item == null) continue;
-            
-            // Use comprehensive contraband detection
-            if (plugin.getExternalPluginIntegration().isContrabandComprehensive(item)) {
-                found.add(item);
-            }
-        }
+        // Use comprehensive contraband detection
+        int mask = ContrabandClassifier.CONTRABAND | InventoryScanner.UNSCANNED;
+        if (!plugin.getContrabandLedger().has(player, mask)) return null;
+        List<ItemStack> found = plugin.getInventoryScanner().scan(player).items(mask);
         
         if (found.isEmpty()) return null;
         return found.get(new java.util.Random().nextInt(found.size()));
@@ -1018,7 +990,7 @@ public class GuardItemManager {
      */
     public boolean handleHandcuffsItem(Player guard, Player target, ItemStack handcuffs) {
         // Verify this is actually handcuffs
-        if (!isGuardItem(handcuffs) || !"handcuffs".equals(getGuardItemType(handcuffs))) {
+        if (getType(handcuffs) != GuardItemType.HANDCUFFS) {
             return false;
         }
         
@@ -1058,7 +1030,7 @@ public class GuardItemManager {
      */
     public boolean handleSpyglassItem(Player guard, Player target, ItemStack spyglass) {
         // Verify this is actually spyglass
-        if (!isGuardItem(spyglass) || !"spyglass".equals(getGuardItemType(spyglass))) {
+        if (getType(spyglass) != GuardItemType.SPYGLASS) {
             return false;
         }
         
@@ -1097,6 +1069,13 @@ public class GuardItemManager {
      * @return true if the action was handled, false otherwise
      */
     public boolean handleGuardItemUsage(Player guard, Player target, ItemStack item) {
+        return handleGuardItemUsage(guard, target, item, getType(item));
+    }
+
+    /**
+     * Handle guard item usage when the caller has already read the item's type
+     */
+    public boolean handleGuardItemUsage(Player guard, Player target, ItemStack item, GuardItemType type) {
         // Emergency shutdown check
         if (EdenCorrections.isEmergencyShutdown()) {
             guard.sendMessage(MessageUtils.getPrefix(plugin).append(
@@ -1108,42 +1087,8 @@ public class GuardItemManager {
             return false;
         }
 
-        String itemType = getGuardItemType(item);
-        if (itemType == null) {
-            return false;
-        }
-
-        switch (itemType) {
-            case "handcuffs" -> {
-                return handleHandcuffsItem(guard, target, item);
-            }
-            case "spyglass" -> {
-                return handleSpyglassItem(guard, target, item);
-            }
-            case "drug-sniffer" -> {
-                handleDrugSniffer(guard, target);
-                return true;
-            }
-            case "metal-detector" -> {
-                handleMetalDetector(guard, target);
-                return true;
-            }
-            case "guard-baton" -> {
-                handleGuardBaton(guard, target);
-                return true;
-            }
-            case "smoke_bomb" -> {
-                handleSmokeBomb(guard, target);
-                return true;
-            }
-            case "taser" -> {
-                handleTaser(guard, target);
-                return true;
-            }
-            default -> {
-                return false;
-            }
-        }
+        TargetedUse use = type != null ? targetedUses.get(type) : null;
+        return use != null && use.apply(guard, target, item);
     }
 
     /**
@@ -1153,6 +1098,13 @@ public class GuardItemManager {
      * @return true if the action was handled, false otherwise
      */
     public boolean handleGuardItemUsageNoTarget(Player guard, ItemStack item) {
+        return handleGuardItemUsageNoTarget(guard, getType(item));
+    }
+
+    /**
+     * Handle guard item usage without target when the caller has already read the item's type
+     */
+    public boolean handleGuardItemUsageNoTarget(Player guard, GuardItemType type) {
         // Emergency shutdown check
         if (EdenCorrections.isEmergencyShutdown()) {
             guard.sendMessage(MessageUtils.getPrefix(plugin).append(
@@ -1164,24 +1116,12 @@ public class GuardItemManager {
             return false;
         }
 
-        String itemType = getGuardItemType(item);
-        if (itemType == null) {
+        Consumer<Player> use = type != null ? untargetedUses.get(type) : null;
+        if (use == null) {
             return false;
         }
-
-        switch (itemType) {
-            case "prison-remote" -> {
-                handlePrisonRemote(guard);
-                return true;
-            }
-            case "riot_shield" -> {
-                handleRiotShield(guard);
-                return true;
-            }
-            default -> {
-                return false;
-            }
-        }
+        use.accept(guard);
+        return true;
     }
 
     /**
@@ -1297,7 +1237,7 @@ public class GuardItemManager {
         Location center = target.getLocation();
         int affected = 0;
         
-        for (Player nearby : center.getNearbyPlayers(range)) {
+        for (Player nearby : plugin.getPlayerSpatialIndex().getNearby(center, range)) {
             if (nearby.equals(guard)) continue; // Don't affect the guard
             
             // Apply blindness and slowness
@@ -1314,8 +1254,9 @@ public class GuardItemManager {
         guard.sendMessage(MessageUtils.getPrefix(plugin).append(
             MessageUtils.parseMessage("<green>Smoke bomb deployed! Affected " + affected + " players.</green>")));
         
-        // Visual effect - spawn smoke particles if possible
-        center.getWorld().spawnParticle(org.bukkit.Particle.LARGE_SMOKE, center, 100, 3, 2, 3, 0.1);
+        // Visual effect - the effects above are applied once, the cloud is only drawn
+        plugin.getSmokeCloudManager().deployVisual(center, range, blackoutDuration * 20,
+            org.bukkit.Particle.LARGE_SMOKE);
         
         // Sound effect
         center.getWorld().playSound(center, org.bukkit.Sound.ENTITY_TNT_PRIMED, 0.5f, 2.0f);
@@ -1452,14 +1393,14 @@ public class GuardItemManager {
     private boolean canJailTarget(Player guard, Player target) {
         // Check if target is OP (OPs typically can't be jailed)
         if (target.isOp()) {
-            guard.sendMessage(MessageUtils.getPrefix(plugin).append(
+            tell(guard, MessageUtils.getPrefix(plugin).append(
                 MessageUtils.parseMessage("<red>Cannot jail " + target.getName() + " - they have operator privileges!</red>")));
             return false;
         }
 
         // Check if target has jail bypass permission
         if (target.hasPermission("edencorrections.jail.bypass") || target.hasPermission("cmi.command.jail.bypass")) {
-            guard.sendMessage(MessageUtils.getPrefix(plugin).append(
+            tell(guard, MessageUtils.getPrefix(plugin).append(
                 MessageUtils.parseMessage("<red>Cannot jail " + target.getName() + " - they have jail bypass permission!</red>")));
             return false;
         }
@@ -1467,7 +1408,7 @@ public class GuardItemManager {
         // Check if target is another guard (optional protection)
         if (plugin.getDutyManager().isOnDuty(target.getUniqueId()) && 
             itemsConfig.getBoolean("items.handcuffs.protect-guards", true)) {
-            guard.sendMessage(MessageUtils.getPrefix(plugin).append(
+            tell(guard, MessageUtils.getPrefix(plugin).append(
                 MessageUtils.parseMessage("<red>Cannot jail " + target.getName() + " - they are a fellow guard on duty!</red>")));
             return false;
         }
@@ -1477,7 +1418,7 @@ public class GuardItemManager {
         if (!safeRegions.isEmpty()) {
             for (String region : safeRegions) {
                 if (plugin.getRegionUtils().isPlayerInRegion(target, region)) {
-                    guard.sendMessage(MessageUtils.getPrefix(plugin).append(
+                    tell(guard, MessageUtils.getPrefix(plugin).append(
                         MessageUtils.parseMessage("<red>Cannot jail " + target.getName() + " - they are in a protected area!</red>")));
                     return false;
                 }
@@ -1551,4 +1492,12 @@ public class GuardItemManager {
             return false;
         }
     }
+
+    @FunctionalInterface
+    private interface TargetedUse {
+        /**
+         * @return true if the use was handled
+         */
+        boolean apply(Player guard, Player target, ItemStack item);
+    }
 } 
\ No newline at end of file
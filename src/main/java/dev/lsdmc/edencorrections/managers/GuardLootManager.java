@@ -1,9 +1,11 @@
 package dev.lsdmc.edencorrections.managers;
 
 import dev.lsdmc.edencorrections.EdenCorrections;
+import dev.lsdmc.edencorrections.scheduler.CorrectionsTask;
 import dev.lsdmc.edencorrections.config.ConfigManager;
 import dev.lsdmc.edencorrections.utils.MessageUtils;
 import dev.lsdmc.edencorrections.managers.loot.LootContext;
+import dev.lsdmc.edencorrections.regions.PlayerSpatialIndex;
 import net.kyori.adventure.text.Component;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
@@ -16,7 +18,6 @@ import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
 import org.bukkit.persistence.PersistentDataContainer;
 import org.bukkit.persistence.PersistentDataType;
-import org.bukkit.scheduler.BukkitTask;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -25,12 +26,15 @@ import java.util.Map;
 import java.util.Random;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 
 /**
  * Manages the guard loot system
  */
 public class GuardLootManager {
+    private static final double LOOT_CONTEXT_RADIUS = 24.0; // "nearby" for loneguard/outnumbered rules
+
     private final EdenCorrections plugin;
     private boolean lootEnabled;
     private int cooldownTime;
@@ -43,7 +47,7 @@ public class GuardLootManager {
 
     // Death cooldown tracking
     private final Map<UUID, Integer> deathCooldowns = new ConcurrentHashMap<>();
-    private final Map<UUID, BukkitTask> cooldownTasks = new ConcurrentHashMap<>();
+    private final Map<UUID, CorrectionsTask> cooldownTasks = new ConcurrentHashMap<>();
 
     // Loot table configuration
     private final Map<String, RankLootTable> rankLootTables = new HashMap<>();
@@ -396,6 +400,10 @@ public class GuardLootManager {
                 .victim(victim)
                 .killer(killer)
                 .location(victim.getLocation())
+                .nearbyGuards(plugin.getPlayerSpatialIndex().count(victim.getLocation(), LOOT_CONTEXT_RADIUS,
+                    PlayerSpatialIndex.ROLE_GUARD, 0))
+                .nearbyPrisoners(plugin.getPlayerSpatialIndex().count(victim.getLocation(), LOOT_CONTEXT_RADIUS,
+                    0, PlayerSpatialIndex.ROLE_GUARD))
                 .build();
             
             // Generate and drop loot
@@ -636,16 +644,16 @@ public class GuardLootManager {
         deathCooldowns.put(playerId, seconds);
         
         // Create dedicated countdown task for this player
-        BukkitTask task = Bukkit.getScheduler().runTaskTimer(plugin, new Runnable() {
+        CorrectionsTask task = plugin.getTaskScheduler().runGlobalTimer(new Consumer<CorrectionsTask>() {
             int remaining = seconds;
             
             @Override
-            public void run() {
+            public void accept(CorrectionsTask handle) {
                 // Check if player still needs cooldown
                 if (remaining <= 0) {
                     // Cooldown expired - clean up
                     deathCooldowns.remove(playerId);
-                    BukkitTask currentTask = cooldownTasks.remove(playerId);
+                    CorrectionsTask currentTask = cooldownTasks.remove(playerId);
                     if (currentTask != null) {
                         currentTask.cancel();
                     }
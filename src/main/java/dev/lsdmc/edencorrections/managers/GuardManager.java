@@ -1,6 +1,7 @@
 package dev.lsdmc.edencorrections.managers;
 
 import dev.lsdmc.edencorrections.EdenCorrections;
+import dev.lsdmc.edencorrections.scheduler.CorrectionsTask;
 import dev.lsdmc.edencorrections.config.ConfigManager;
 import dev.lsdmc.edencorrections.utils.MessageUtils;
 import net.kyori.adventure.text.Component;
@@ -13,7 +14,6 @@ import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.potion.PotionEffect;
 import org.bukkit.potion.PotionEffectType;
-import org.bukkit.scheduler.BukkitTask;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
@@ -35,7 +35,7 @@ public class GuardManager {
 
     // Guard buffs
     private final Map<UUID, Set<PotionEffect>> activeBuffs = new ConcurrentHashMap<>();
-    private final Map<UUID, BukkitTask> buffTasks = new ConcurrentHashMap<>();
+    private final Map<UUID, CorrectionsTask> buffTasks = new ConcurrentHashMap<>();
     private int onlineGuardCount = 0;
 
     // Guard penalties
@@ -1,16 +1,15 @@
 package dev.lsdmc.edencorrections.managers;
 
 import dev.lsdmc.edencorrections.EdenCorrections;
+import dev.lsdmc.edencorrections.regions.RegionRuleIndex;
+import dev.lsdmc.edencorrections.scheduler.DeadlineTimeline;
 import dev.lsdmc.edencorrections.config.ConfigManager;
 import dev.lsdmc.edencorrections.utils.MessageUtils;
 import net.kyori.adventure.text.Component;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
-import org.bukkit.scheduler.BukkitTask;
 
-import java.util.ArrayList;
 import java.util.HashSet;
-import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
@@ -25,17 +24,16 @@ public class GuardPenaltyManager {
     private final ConfigManager configManager;
     private ConfigManager.GuardPenaltyConfig config;
 
-    // Track players with active penalties
-    private final Map<UUID, Integer> lockedPlayers = new ConcurrentHashMap<>();
-    private final Map<UUID, BukkitTask> penaltyTasks = new ConcurrentHashMap<>();
+    // Active penalties are absolute lock-until deadlines on the timeline, so they survive restarts
+    private final DeadlineTimeline timeline;
 
     public GuardPenaltyManager(EdenCorrections plugin) {
         this.plugin = plugin;
         this.configManager = plugin.getConfigManager();
+        this.timeline = plugin.getDeadlineTimeline();
         loadConfig();
 
-        // Start penalty tick task
-        startPenaltyTask();
+        timeline.registerHandler(DeadlineTimeline.Kind.GUARD_PENALTY, this::expirePenalty);
     }
 
     private void loadConfig() {
@@ -51,31 +49,19 @@ public class GuardPenaltyManager {
     }
 
     /**
-     * Start the task that decrements penalty times
+     * Timeline handler: a penalty ran out
      */
-    private void startPenaltyTask() {
-        Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, () -> {
-            // Decrement all penalties by 1
-            for (UUID playerId : new ArrayList<>(lockedPlayers.keySet())) {
-                int current = lockedPlayers.get(playerId);
-                if (current <= 1) {
-                    lockedPlayers.remove(playerId);
-
-                    // Notify player if online
-                    Player player = Bukkit.getPlayer(playerId);
-                    if (player != null && player.isOnline()) {
-                        Component message = MessageUtils.parseMessage("<green>You can now leave the guard area!</green>");
-                        player.sendMessage(message);
-
-                        if (configManager.isDebugEnabled()) {
-                            plugin.getLogger().info("Death penalty expired for " + player.getName());
-                        }
-                    }
-                } else {
-                    lockedPlayers.put(playerId, current - 1);
-                }
+    private void expirePenalty(UUID playerId) {
+        // Notify player if online; the timeline runs on the global thread, so on their own
+        Player player = Bukkit.getPlayer(playerId);
+        if (player != null && player.isOnline()) {
+            Component message = MessageUtils.parseMessage("<green>You can now leave the guard area!</green>");
+            plugin.getTaskScheduler().runForEntity(player, () -> player.sendMessage(message));
+
+            if (configManager.isDebugEnabled()) {
+                plugin.getLogger().info("Death penalty expired for " + player.getName());
             }
-        }, 20L, 20L); // Run every second
+        }
     }
 
     /**
@@ -125,7 +111,7 @@ public class GuardPenaltyManager {
      * @return True if the player is locked
      */
     public boolean isPlayerLocked(UUID playerId) {
-        return lockedPlayers.containsKey(playerId) && lockedPlayers.get(playerId) > 0;
+        return timeline.getRemainingSeconds(DeadlineTimeline.Kind.GUARD_PENALTY, playerId) > 0;
     }
 
     /**
@@ -143,7 +129,11 @@ public class GuardPenaltyManager {
      * @param seconds Lock time in seconds
      */
     public void setPlayerLockTime(UUID playerId, int seconds) {
-        lockedPlayers.put(playerId, seconds);
+        if (seconds <= 0) {
+            timeline.cancel(DeadlineTimeline.Kind.GUARD_PENALTY, playerId);
+            return;
+        }
+        timeline.schedule(DeadlineTimeline.Kind.GUARD_PENALTY, playerId, System.currentTimeMillis() + seconds * 1000L);
     }
 
     /**
@@ -152,7 +142,7 @@ public class GuardPenaltyManager {
      * @return Remaining lock time in seconds, 0 if not locked
      */
     public int getPlayerLockTime(UUID playerId) {
-        return lockedPlayers.getOrDefault(playerId, 0);
+        return timeline.getRemainingSeconds(DeadlineTimeline.Kind.GUARD_PENALTY, playerId);
     }
 
     /**
@@ -169,7 +159,8 @@ public class GuardPenaltyManager {
      * @param playerId The player's UUID
      */
     public void clearPlayerLockTime(UUID playerId) {
-        boolean hadPenalty = lockedPlayers.remove(playerId) != null;
+        boolean hadPenalty = timeline.getDeadline(DeadlineTimeline.Kind.GUARD_PENALTY, playerId) != 0L;
+        timeline.cancel(DeadlineTimeline.Kind.GUARD_PENALTY, playerId);
 
         if (hadPenalty && configManager.isDebugEnabled()) {
             Player player = Bukkit.getPlayer(playerId);
@@ -184,8 +175,7 @@ public class GuardPenaltyManager {
      * @return True if the region is restricted
      */
     public boolean isRestrictedRegion(String regionName) {
-        if (config.restrictedRegions == null) return false;
-        return config.restrictedRegions.contains(regionName);
+        return plugin.getRegionRuleIndex().has(regionName, RegionRuleIndex.PENALTY_ZONE);
     }
 
     /**
@@ -226,7 +216,14 @@ public class GuardPenaltyManager {
      * @return Map of player UUIDs to remaining penalty time
      */
     public Map<UUID, Integer> getActivePenalties() {
-        return new ConcurrentHashMap<>(lockedPlayers);
+        Map<UUID, Integer> penalties = new ConcurrentHashMap<>();
+        for (UUID playerId : timeline.getDeadlines(DeadlineTimeline.Kind.GUARD_PENALTY).keySet()) {
+            int remaining = getPlayerLockTime(playerId);
+            if (remaining > 0) {
+                penalties.put(playerId, remaining);
+            }
+        }
+        return penalties;
     }
 
     /**
@@ -234,7 +231,7 @@ public class GuardPenaltyManager {
      * @return Number of players with active penalties
      */
     public int getActivePenaltyCount() {
-        return lockedPlayers.size();
+        return timeline.getDeadlines(DeadlineTimeline.Kind.GUARD_PENALTY).size();
     }
 
     /**
@@ -254,15 +251,10 @@ public class GuardPenaltyManager {
     }
 
     /**
-     * Shutdown the manager and clear all tasks
+     * Shutdown the manager
      */
     public void shutdown() {
-        // Cancel all penalty tasks
-        for (BukkitTask task : penaltyTasks.values()) {
-            task.cancel();
-        }
-        penaltyTasks.clear();
-
+        // Penalties stay on the timeline and resume after restart
         if (configManager.isDebugEnabled()) {
             plugin.getLogger().info("GuardPenaltyManager shutdown");
         }
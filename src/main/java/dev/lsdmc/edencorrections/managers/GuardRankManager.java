@@ -1,6 +1,7 @@
 package dev.lsdmc.edencorrections.managers;
 
 import dev.lsdmc.edencorrections.EdenCorrections;
+import dev.lsdmc.edencorrections.scheduler.IoExecutor;
 import net.luckperms.api.LuckPerms;
 import net.luckperms.api.model.group.Group;
 import net.luckperms.api.model.user.User;
@@ -9,6 +10,7 @@ import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.entity.Player;
 
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.stream.Collectors;
 
@@ -122,19 +124,13 @@ public class GuardRankManager {
             return false;
         }
 
-        try {
-            User user = luckPerms.getUserManager().getUser(player.getUniqueId());
-            if (user == null) {
-                plugin.getLogger().warning("Could not find LuckPerms user for: " + player.getName());
-                return false;
-            }
-
-            String group = rankToGroupMap.get(rank.toLowerCase());
-            if (group == null) {
-                plugin.getLogger().warning("No LuckPerms group mapped for rank: " + rank);
-                return false;
-            }
+        String group = rankToGroupMap.get(rank.toLowerCase());
+        if (group == null) {
+            plugin.getLogger().warning("No LuckPerms group mapped for rank: " + rank);
+            return false;
+        }
 
+        return withUser(luckPerms, player, user -> {
             // Remove from all other guard rank groups
             for (String r : rankHierarchy) {
                 String otherGroup = rankToGroupMap.get(r);
@@ -157,11 +153,41 @@ public class GuardRankManager {
             // Save changes
             luckPerms.getUserManager().saveUser(user);
             plugin.getLogger().info("Assigned rank " + rank + " to " + player.getName());
-            return true;
+        });
+    }
+
+    /**
+     * Apply a change to a player's LuckPerms user. Online players are normally cached and edited
+     * in place; a user that still has to be loaded is loaded and edited on the I/O executor so the
+     * tick thread never waits on LuckPerms storage.
+     * @return false if the change could not be applied or scheduled
+     */
+    private boolean withUser(LuckPerms luckPerms, Player player, Consumer<User> change) {
+        UUID playerId = player.getUniqueId();
+        String playerName = player.getName();
+        try {
+            User cached = luckPerms.getUserManager().getUser(playerId);
+            if (cached != null) {
+                change.accept(cached);
+                return true;
+            }
         } catch (Exception e) {
-            plugin.getLogger().log(Level.SEVERE, "Error assigning rank to " + player.getName(), e);
+            plugin.getLogger().log(Level.SEVERE, "Error updating LuckPerms user " + playerName, e);
             return false;
         }
+
+        plugin.getIoExecutor().run(IoExecutor.LUCKPERMS, () -> {
+            User loaded = luckPerms.getUserManager().loadUser(playerId).join();
+            if (loaded == null) {
+                plugin.getLogger().warning("Could not find LuckPerms user for: " + playerName);
+                return;
+            }
+            change.accept(loaded);
+        }).exceptionally(e -> {
+            plugin.getLogger().log(Level.SEVERE, "Error updating LuckPerms user " + playerName, e);
+            return null;
+        });
+        return true;
     }
 
     public boolean removeRank(Player player, String rank) {
@@ -176,13 +202,7 @@ public class GuardRankManager {
             return false;
         }
 
-        try {
-            User user = luckPerms.getUserManager().getUser(player.getUniqueId());
-            if (user == null) {
-                plugin.getLogger().warning("Could not find LuckPerms user for: " + player.getName());
-                return false;
-            }
-
+        return withUser(luckPerms, player, user -> {
             String group = rankToGroupMap.get(rank.toLowerCase());
             if (group != null) {
                 Node node = Node.builder("group." + group).build();
@@ -199,11 +219,7 @@ public class GuardRankManager {
             // Save changes
             luckPerms.getUserManager().saveUser(user);
             plugin.getLogger().info("Removed rank " + rank + " from " + player.getName());
-            return true;
-        } catch (Exception e) {
-            plugin.getLogger().log(Level.SEVERE, "Error removing rank from " + player.getName(), e);
-            return false;
-        }
+        });
     }
 
     public String getPlayerRank(Player player) {
@@ -1,9 +1,10 @@
 package dev.lsdmc.edencorrections.managers;
 
 import dev.lsdmc.edencorrections.EdenCorrections;
+import dev.lsdmc.edencorrections.commands.CommandRuleIndex;
+import dev.lsdmc.edencorrections.regions.RegionRuleIndex;
 import dev.lsdmc.edencorrections.config.ConfigManager;
 import dev.lsdmc.edencorrections.utils.MessageUtils;
-import dev.lsdmc.edencorrections.utils.RegionUtils;
 import net.kyori.adventure.text.Component;
 import org.bukkit.Bukkit;
 import org.bukkit.Material;
@@ -12,6 +13,8 @@ import org.bukkit.block.Block;
 import org.bukkit.entity.Player;
 
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -34,6 +37,10 @@ public class GuardRestrictionManager {
     private final Set<String> restrictedCommands = new HashSet<>();
     private final Map<String, Set<Material>> tagCache = new HashMap<>();
 
+    // Material ordinals compiled from the block lists and tags above
+    private final BitSet restrictedMaterials = new BitSet();
+    private final BitSet exceptedMaterials = new BitSet();
+
     public GuardRestrictionManager(EdenCorrections plugin) {
         this.plugin = plugin;
         this.configManager = plugin.getConfigManager();
@@ -50,6 +57,8 @@ public class GuardRestrictionManager {
         restrictedRegions.clear();
         restrictedCommands.clear();
         tagCache.clear();
+        restrictedMaterials.clear();
+        exceptedMaterials.clear();
 
         // Only process if feature is enabled
         if (!config.enabled) {
@@ -71,6 +80,7 @@ public class GuardRestrictionManager {
                 exemptRegions.addAll(config.blockBreaking.exemptRegions);
             }
             preloadTagCache();
+            compileMaterials();
         }
 
         // Load movement restrictions
@@ -158,6 +168,37 @@ public class GuardRestrictionManager {
         }
     }
 
+    /**
+     * Fold the cached materials and tags into one bit per material ordinal for each list
+     */
+    private void compileMaterials() {
+        for (Map.Entry<String, Set<Material>> entry : tagCache.entrySet()) {
+            BitSet target = entry.getKey().startsWith("excepted:") ? exceptedMaterials : restrictedMaterials;
+            for (Material material : entry.getValue()) {
+                target.set(material.ordinal());
+            }
+        }
+        // Plain materials share one key namespace in the tag cache, so take them from the lists
+        compilePlainMaterials(restrictedBlocks, restrictedMaterials);
+        compilePlainMaterials(exceptedBlocks, exceptedMaterials);
+
+        if (configManager.isDebugEnabled()) {
+            plugin.getLogger().info("Compiled " + restrictedMaterials.cardinality() + " restricted and "
+                    + exceptedMaterials.cardinality() + " excepted materials");
+        }
+    }
+
+    private static void compilePlainMaterials(Set<String> entries, BitSet target) {
+        for (String entry : entries) {
+            if (!entry.startsWith("#")) {
+                Material material = Material.matchMaterial(entry);
+                if (material != null) {
+                    target.set(material.ordinal());
+                }
+            }
+        }
+    }
+
     /**
      * Get materials for a tag
      * @param tagName Name of the tag
@@ -207,55 +248,29 @@ public class GuardRestrictionManager {
         // Check if player is a guard on duty
         if (!plugin.getDutyManager().isOnDuty(player.getUniqueId())) return false;
 
-        // Check exempt regions first (most likely to allow action)
-        for (String region : exemptRegions) {
-            if (RegionUtils.isPlayerInRegion(player, region)) {
-                if (configManager.isDebugEnabled()) {
-                    plugin.getLogger().info("Player " + player.getName() + " is in exempt region " + region);
-                }
-                return false;
-            }
-        }
-
-        Material material = block.getType();
+        int ordinal = block.getType().ordinal();
 
-        // Check exceptions first (more likely to allow action)
-        // Check cached material exceptions
-        String materialKey = "material:" + material.name().toLowerCase();
-        if (tagCache.containsKey(materialKey)) {
+        // Exceptions win over restrictions
+        if (exceptedMaterials.get(ordinal) || !restrictedMaterials.get(ordinal)) {
             return false;
         }
 
-        // Check cached tag exceptions
-        for (Map.Entry<String, Set<Material>> entry : tagCache.entrySet()) {
-            if (entry.getKey().startsWith("excepted:") && entry.getValue().contains(material)) {
+        // Exempt regions, from the player's cached region set
+        if (!exemptRegions.isEmpty()) {
+            String region = plugin.getRegionRuleIndex().findFirst(
+                    plugin.getRegionCache().getRegions(player), RegionRuleIndex.GUARD_BREAK_EXEMPT);
+            if (region != null) {
                 if (configManager.isDebugEnabled()) {
-                    plugin.getLogger().info("Block " + material + " is in exception tag cache");
+                    plugin.getLogger().info("Player " + player.getName() + " is in exempt region " + region);
                 }
                 return false;
             }
         }
 
-        // Check restrictions
-        // Check cached material restrictions
-        if (tagCache.containsKey(materialKey)) {
-            if (configManager.isDebugEnabled()) {
-                plugin.getLogger().info("Block " + material + " is in restricted materials cache");
-            }
-            return true;
-        }
-
-        // Check cached tag restrictions
-        for (Map.Entry<String, Set<Material>> entry : tagCache.entrySet()) {
-            if (entry.getKey().startsWith("restricted:") && entry.getValue().contains(material)) {
-                if (configManager.isDebugEnabled()) {
-                    plugin.getLogger().info("Block " + material + " is in restricted tag cache");
-                }
-                return true;
-            }
+        if (configManager.isDebugEnabled()) {
+            plugin.getLogger().info("Block " + block.getType() + " is restricted for guards");
         }
-
-        return false;
+        return true;
     }
 
     /**
@@ -359,9 +374,7 @@ public class GuardRestrictionManager {
     public boolean isCommandRestricted(String command) {
         if (!config.enabled || !config.commands.enabled) return false;
         
-        String cmdLower = command.toLowerCase();
-        return restrictedCommands.stream()
-                .anyMatch(restricted -> cmdLower.startsWith(restricted.toLowerCase()));
+        return plugin.getCommandRuleIndex().matches(command, CommandRuleIndex.GUARD_RESTRICTED);
     }
 
     /**
@@ -369,7 +382,21 @@ public class GuardRestrictionManager {
      */
     public boolean isRegionRestricted(String region) {
         if (!config.enabled || !config.movement.enabled) return false;
-        return restrictedRegions.contains(region.toLowerCase());
+        return plugin.getRegionRuleIndex().has(region, RegionRuleIndex.GUARD_BLOCKED);
+    }
+
+    /**
+     * Get the regions guards may not enter (empty when movement restrictions are off)
+     */
+    public Set<String> getRestrictedRegions() {
+        return Collections.unmodifiableSet(restrictedRegions);
+    }
+
+    /**
+     * Get the commands guards may not use on duty (empty when command restrictions are off)
+     */
+    public Set<String> getRestrictedCommands() {
+        return Collections.unmodifiableSet(restrictedCommands);
     }
 
     /**
@@ -101,8 +101,8 @@ public class GuardStatisticsManager {
                     statsConfig.set(path + "." + statEntry.getKey(), statEntry.getValue());
                 }
             }
-            statsConfig.save(statsFile);
-        } catch (IOException e) {
+            plugin.getIoExecutor().saveYaml(statsConfig, statsFile);
+        } catch (Exception e) {
             plugin.getLogger().severe("Failed to save guard statistics to file: " + e.getMessage());
         }
     }
@@ -1,6 +1,7 @@
 package dev.lsdmc.edencorrections.managers;
 
 import dev.lsdmc.edencorrections.EdenCorrections;
+import dev.lsdmc.edencorrections.scheduler.CorrectionsTask;
 import dev.lsdmc.edencorrections.config.ConfigManager;
 import dev.lsdmc.edencorrections.utils.MessageUtils;
 import dev.lsdmc.edencorrections.storage.SQLiteStorage;
@@ -9,7 +10,6 @@ import org.bukkit.Bukkit;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.entity.Player;
-import org.bukkit.scheduler.BukkitTask;
 
 import java.io.File;
 import java.io.IOException;
@@ -39,7 +39,7 @@ public class GuardTokenManager {
     private final Map<UUID, Long> lastRewardTimes = new ConcurrentHashMap<>();
     
     private final SQLiteStorage sqliteStorage;
-    private BukkitTask dailyRewardTask;
+    private CorrectionsTask dailyRewardTask;
     
     private final Map<UUID, Integer> dailyStreak = new HashMap<>();
     private final Map<UUID, LocalDate> lastDailyReward = new HashMap<>();
@@ -123,12 +123,7 @@ public class GuardTokenManager {
             tokenConfig.set("balances." + entry.getKey().toString(), entry.getValue());
         }
         
-        try {
-            tokenConfig.save(tokenFile);
-        } catch (IOException e) {
-            plugin.getLogger().severe("Could not save guard_tokens.yml");
-            e.printStackTrace();
-        }
+        plugin.getIoExecutor().saveYaml(tokenConfig, tokenFile);
     }
     
     private void loadLastRewardTimesFromFile() {
@@ -151,21 +146,19 @@ public class GuardTokenManager {
             tokenConfig.set("last_rewards." + entry.getKey().toString(), entry.getValue());
         }
         
-        try {
-            tokenConfig.save(tokenFile);
-        } catch (IOException e) {
-            plugin.getLogger().severe("Could not save guard_tokens.yml");
-            e.printStackTrace();
-        }
+        plugin.getIoExecutor().saveYaml(tokenConfig, tokenFile);
     }
     
     private void startDailyRewardTask() {
         // Run every hour to check for and distribute daily rewards
-        dailyRewardTask = Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, () -> {
+        dailyRewardTask = plugin.getTaskScheduler().runAsyncTimer(handle -> {
+            // Permission checks, messages and balance updates belong on the main thread
             for (Player player : Bukkit.getOnlinePlayers()) {
-                if (isPlayerGuard(player)) {
-                    checkAndGiveDailyReward(player);
-                }
+                plugin.getMainThreadHandoff().submit(player, () -> {
+                    if (isPlayerGuard(player)) {
+                        checkAndGiveDailyReward(player);
+                    }
+                });
             }
         }, 20L * 60 * 60, 20L * 60 * 60); // Run every hour
     }
@@ -326,7 +319,8 @@ public class GuardTokenManager {
         message = message.replaceText(builder -> builder.matchLiteral("{amount}").replacement(String.valueOf(finalAmount)));
         message = message.replaceText(builder -> builder.matchLiteral("{reason}").replacement(reason));
         
-        player.sendMessage(MessageUtils.getPrefix(plugin).append(message));
+        Component prefixed = MessageUtils.getPrefix(plugin).append(message);
+        plugin.getTaskScheduler().runForEntity(player, () -> player.sendMessage(prefixed));
         
         if (configManager.isDebugEnabled()) {
             plugin.getLogger().info("Gave " + finalAmount + " tokens to " + player.getName() + " (base: " + baseAmount + ") for: " + reason);
@@ -0,0 +1,372 @@
+package dev.lsdmc.edencorrections.managers;
+
+import dev.lsdmc.edencorrections.EdenCorrections;
+import dev.lsdmc.edencorrections.scheduler.CorrectionsTask;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.boss.BarColor;
+import org.bukkit.boss.BarStyle;
+import org.bukkit.boss.BossBar;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Runs every timed guard-on-target interaction (searches, cuffing) from one ticker.
+ *
+ * Each interaction used to start its own one-second timer that checked both players were
+ * online, measured the distance between them, queried WorldGuard and sent a chat line. During
+ * a riot that meant hundreds of timers doing the same work. Sessions now share a single timer:
+ * each pass checks the cancel conditions (logout, squared distance, region through the
+ * {@link dev.lsdmc.edencorrections.regions.RegionCache}) and advances the countdown. Progress
+ * goes to the action bar or a boss bar and is only redrawn when the seconds left change.
+ *
+ * On Folia the timer stays global and hands each session's step to the thread that owns the
+ * target, which is where the old per-session timers ran. The guard may be on another thread
+ * there, so their position is read from the
+ * {@link dev.lsdmc.edencorrections.regions.PlayerSpatialIndex} and their progress is sent
+ * through their own scheduler.
+ */
+public class InteractionSessionManager {
+    private static final String CONFIG_PATH = "performance.interaction-sessions";
+
+    private final EdenCorrections plugin;
+    private final Set<Session> sessions = ConcurrentHashMap.newKeySet();
+
+    private final LongAdder started = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder cancelled = new LongAdder();
+
+    private CorrectionsTask ticker;
+    private volatile long periodTicks;
+    private volatile boolean bossBars;
+
+    public InteractionSessionManager(EdenCorrections plugin) {
+        this.plugin = plugin;
+        start();
+    }
+
+    private void start() {
+        periodTicks = Math.max(1L, plugin.getConfig().getLong(CONFIG_PATH + ".check-interval-ticks", 4L));
+        bossBars = "bossbar".equalsIgnoreCase(plugin.getConfig().getString(CONFIG_PATH + ".display", "actionbar"));
+        ticker = plugin.getTaskScheduler().runGlobalTimer(task -> tick(), periodTicks, periodTicks);
+    }
+
+    /**
+     * Start a session. A session of the same kind already run by the guard is replaced.
+     * @return The session, now running
+     */
+    public Session start(Session session) {
+        Session existing = find(session.guard.getUniqueId(), session.kind);
+        if (existing != null) {
+            end(existing, EndReason.REPLACED);
+        }
+        if (bossBars) {
+            session.bossBar = Bukkit.createBossBar(session.title, BarColor.YELLOW, BarStyle.SEGMENTED_10);
+            session.bossBar.setProgress(0.0);
+            session.bossBar.addPlayer(session.guard);
+            session.bossBar.addPlayer(session.target);
+        }
+        sessions.add(session);
+        started.increment();
+        session.shownSeconds = (int) (session.durationTicks / 20);
+        render(session, session.shownSeconds);
+        return session;
+    }
+
+    /**
+     * @return The guard's running session of this kind, or null
+     */
+    public Session find(UUID guardId, Kind kind) {
+        for (Session session : sessions) {
+            if (session.kind == kind && session.guard.getUniqueId().equals(guardId)) {
+                return session;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return Whether the player is the target of a running session of this kind
+     */
+    public boolean isTarget(UUID targetId, Kind kind) {
+        for (Session session : sessions) {
+            if (session.kind == kind && session.target.getUniqueId().equals(targetId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Stop a session early; its cancel callback runs with {@link EndReason#CANCELLED}
+     */
+    public void cancel(Session session) {
+        end(session, EndReason.CANCELLED);
+    }
+
+    private void tick() {
+        if (sessions.isEmpty()) {
+            return;
+        }
+        boolean folia = plugin.getTaskScheduler().isFolia();
+        for (Session session : sessions) {
+            if (!session.guard.isOnline() || !session.target.isOnline()) {
+                // A logged out target's thread never runs the step, so end it from here
+                end(session, EndReason.LOGOUT);
+            } else if (!folia) {
+                advance(session);
+            } else if (session.queued.compareAndSet(false, true)) {
+                plugin.getTaskScheduler().runAtEntity(session.target, () -> {
+                    session.queued.set(false);
+                    advance(session);
+                });
+            }
+        }
+    }
+
+    private void advance(Session session) {
+        if (session.ended.get()) {
+            return;
+        }
+        Player guard = session.guard;
+        Player target = session.target;
+        if (!guard.isOnline() || !target.isOnline()) {
+            end(session, EndReason.LOGOUT);
+            return;
+        }
+
+        Location guardLocation = plugin.getPlayerSpatialIndex().getLocation(guard);
+        Location targetLocation = target.getLocation();
+        if (guardLocation == null) {
+            // Not tracked for a moment, e.g. mid world change; look again next step
+            return;
+        }
+        if (guardLocation.getWorld() != targetLocation.getWorld()
+                || guardLocation.distanceSquared(targetLocation) > session.maxDistanceSquared) {
+            end(session, EndReason.DISTANCE);
+            return;
+        }
+        if (session.regionId != null
+                && !plugin.getRegionCache().isInRegion(target, targetLocation, session.regionId)) {
+            end(session, EndReason.REGION);
+            return;
+        }
+
+        session.elapsedTicks += periodTicks;
+        if (session.elapsedTicks >= session.durationTicks) {
+            if (end(session, EndReason.COMPLETED) && session.onComplete != null) {
+                session.onComplete.run();
+            }
+            return;
+        }
+
+        int secondsLeft = (int) ((session.durationTicks - session.elapsedTicks + 19) / 20);
+        if (secondsLeft != session.shownSeconds) {
+            session.shownSeconds = secondsLeft;
+            render(session, secondsLeft);
+        }
+    }
+
+    private void render(Session session, int secondsLeft) {
+        if (session.bossBar != null) {
+            session.bossBar.setTitle("§e" + session.title + " §7- §f" + secondsLeft + "s");
+            session.bossBar.setProgress(Math.min(1.0, (double) session.elapsedTicks / session.durationTicks));
+            return;
+        }
+        if (session.guardLabel != null) {
+            Player guard = session.guard;
+            Component label = Component.text(session.guardLabel + " in " + secondsLeft + "s...", NamedTextColor.YELLOW);
+            plugin.getTaskScheduler().runForEntity(guard, () -> guard.sendActionBar(label));
+        }
+        if (session.targetLabel != null) {
+            session.target.sendActionBar(Component.text(session.targetLabel + " in " + secondsLeft + "s...", NamedTextColor.YELLOW));
+        }
+    }
+
+    /**
+     * @return false if the session had already ended
+     */
+    private boolean end(Session session, EndReason reason) {
+        if (!session.ended.compareAndSet(false, true)) {
+            return false;
+        }
+        sessions.remove(session);
+        if (session.bossBar != null) {
+            session.bossBar.removeAll();
+        }
+        if (reason == EndReason.COMPLETED) {
+            completed.increment();
+        } else {
+            cancelled.increment();
+            if (session.onCancel != null) {
+                session.onCancel.accept(reason);
+            }
+        }
+        return true;
+    }
+
+    public void reload() {
+        if (ticker != null) {
+            ticker.cancel();
+        }
+        start();
+    }
+
+    /**
+     * Drop every session without running its callbacks
+     */
+    public void shutdown() {
+        if (ticker != null) {
+            ticker.cancel();
+            ticker = null;
+        }
+        List<Session> remaining = new ArrayList<>(sessions);
+        sessions.clear();
+        for (Session session : remaining) {
+            session.ended.set(true);
+            if (session.bossBar != null) {
+                session.bossBar.removeAll();
+            }
+        }
+    }
+
+    public int getActiveSessions() {
+        return sessions.size();
+    }
+
+    public long getStarted() {
+        return started.sum();
+    }
+
+    public long getCompleted() {
+        return completed.sum();
+    }
+
+    public long getCancelled() {
+        return cancelled.sum();
+    }
+
+    /**
+     * What a session is doing. A guard runs at most one session of each kind.
+     */
+    public enum Kind {
+        SEARCH,
+        /** Handcuffs used as a guard item, ending in an arrest */
+        CUFFING,
+        /** Handcuffs used in the guard lounge, ending in the target being restrained */
+        LOUNGE_CUFFING
+    }
+
+    public enum EndReason {
+        COMPLETED,
+        /** The guard or the target went offline */
+        LOGOUT,
+        /** The two moved further apart than the session allows */
+        DISTANCE,
+        /** The target left the session's region */
+        REGION,
+        /** The guard started another session of the same kind */
+        REPLACED,
+        CANCELLED
+    }
+
+    /**
+     * One guard-on-target countdown. Configure it with the chained setters, then pass it to
+     * {@link InteractionSessionManager#start(Session)}. The completion callback runs on the
+     * thread owning the target; the cancel callback may run on the global thread when a player
+     * has logged out.
+     */
+    public static final class Session {
+        private final Kind kind;
+        private final Player guard;
+        private final Player target;
+        private final long durationTicks;
+        private final double maxDistanceSquared;
+
+        private String title;
+        private String guardLabel;
+        private String targetLabel;
+        private String regionId;
+        private Runnable onComplete;
+        private Consumer<EndReason> onCancel;
+
+        private final AtomicBoolean ended = new AtomicBoolean();
+        private final AtomicBoolean queued = new AtomicBoolean();
+        private long elapsedTicks;
+        private int shownSeconds = -1;
+        private BossBar bossBar;
+
+        public Session(Kind kind, Player guard, Player target, int seconds, double maxDistance) {
+            this.kind = kind;
+            this.guard = guard;
+            this.target = target;
+            this.durationTicks = Math.max(1, seconds) * 20L;
+            this.maxDistanceSquared = maxDistance * maxDistance;
+            this.title = kind == Kind.SEARCH ? "Search" : "Cuffing";
+        }
+
+        /**
+         * Boss bar title when progress is shown on a boss bar
+         */
+        public Session title(String title) {
+            this.title = title;
+            return this;
+        }
+
+        /**
+         * Action bar text for the guard, followed by the seconds left
+         */
+        public Session guardLabel(String guardLabel) {
+            this.guardLabel = guardLabel;
+            return this;
+        }
+
+        /**
+         * Action bar text for the target, followed by the seconds left
+         */
+        public Session targetLabel(String targetLabel) {
+            this.targetLabel = targetLabel;
+            return this;
+        }
+
+        /**
+         * End the session if the target leaves this WorldGuard region
+         */
+        public Session region(String regionId) {
+            this.regionId = regionId;
+            return this;
+        }
+
+        public Session onComplete(Runnable onComplete) {
+            this.onComplete = onComplete;
+            return this;
+        }
+
+        public Session onCancel(Consumer<EndReason> onCancel) {
+            this.onCancel = onCancel;
+            return this;
+        }
+
+        public Kind getKind() {
+            return kind;
+        }
+
+        public Player getGuard() {
+            return guard;
+        }
+
+        public Player getTarget() {
+            return target;
+        }
+    }
+}
@@ -0,0 +1,372 @@
+package dev.lsdmc.edencorrections.managers;
+
+import dev.lsdmc.edencorrections.EdenCorrections;
+import org.bukkit.Material;
+import org.bukkit.block.ShulkerBox;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.BlockStateMeta;
+import org.bukkit.inventory.meta.BundleMeta;
+import org.bukkit.inventory.meta.ItemMeta;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Classifies a whole inventory in one pass.
+ *
+ * Searches, confiscations and jailing used to walk the inventory themselves, each with its own
+ * classification calls, and the metal detector walked the armour slots a second time although
+ * getContents already includes them. The scanner visits every slot once, classifies it through
+ * the {@link ContrabandClassifier} (item stamps first, then the fingerprint index and the other
+ * detection methods), adds the metal check, and returns a {@link Result} that every caller
+ * reads from.
+ *
+ * Shulker boxes and bundles are opened up to a configured depth, and a shared item budget
+ * bounds how much nesting a single scan may look at. A container holding contraband or drugs
+ * carries the bits of what it holds plus {@link #CONCEALED}. A container that was not looked
+ * into, because the budget ran out in it or it sits below the depth cap, carries
+ * {@link #UNSCANNED}, and searches treat it as suspect rather than clean. Results for
+ * container contents are remembered by a hash of those contents and the depth they were
+ * opened at, so the same smuggling box is only looked into again once it or the
+ * classification version changes.
+ */
+public class InventoryScanner {
+    /** Iron, gold, diamond or netherite items, weapons, tools and armour */
+    public static final int METAL = 1 << 8;
+    /** A shulker box or bundle with contraband or drugs inside */
+    public static final int CONCEALED = 1 << 9;
+    /** A shulker box or bundle that was not fully looked at, for lack of budget or depth */
+    public static final int UNSCANNED = 1 << 10;
+
+    private static final String CONFIG_PATH = "performance.container-scan";
+    private static final BitSet METAL_MATERIALS = compileMetalMaterials();
+    private static final BitSet CONTAINER_MATERIALS = compileContainerMaterials();
+    private static final int MEMO_SIZE = 1024;
+
+    private final EdenCorrections plugin;
+
+    // Content hash -> (classification version << 32 | bits), least recently used dropped first
+    private final Map<Long, Long> containerMemo = Collections.synchronizedMap(
+            new LinkedHashMap<>(64, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, Long> eldest) {
+                    return size() > MEMO_SIZE;
+                }
+            });
+
+    private volatile boolean containerScanEnabled;
+    private volatile int maxDepth;
+    private volatile int maxNestedItems;
+
+    private final LongAdder containersOpened = new LongAdder();
+    private final LongAdder containerMemoHits = new LongAdder();
+    private final LongAdder budgetExhausted = new LongAdder();
+
+    public InventoryScanner(EdenCorrections plugin) {
+        this.plugin = plugin;
+        reload();
+    }
+
+    public void reload() {
+        containerScanEnabled = plugin.getConfig().getBoolean(CONFIG_PATH + ".enabled", true);
+        maxDepth = Math.max(0, plugin.getConfig().getInt(CONFIG_PATH + ".max-depth", 2));
+        maxNestedItems = Math.max(0, plugin.getConfig().getInt(CONFIG_PATH + ".max-items", 512));
+        containerMemo.clear();
+    }
+
+    /**
+     * Scan a player's whole inventory, armour and off hand included
+     */
+    public Result scan(Player player) {
+        return scan(player.getInventory(), true);
+    }
+
+    /**
+     * Scan an inventory
+     * @param stamp Whether classification stamps may be written to the items. Pass false for
+     *              inventories the plugin does not own, such as other plugins' menus.
+     */
+    public Result scan(Inventory inventory, boolean stamp) {
+        ContrabandClassifier classifier = plugin.getContrabandClassifier();
+        ItemStack[] contents = inventory.getContents();
+        int[] flags = new int[contents.length];
+        int[] budget = {maxNestedItems};
+        boolean openContainers = containerScanEnabled && maxDepth > 0;
+
+        for (int slot = 0; slot < contents.length; slot++) {
+            ItemStack item = contents[slot];
+            if (item == null || item.getType().isAir()) {
+                continue;
+            }
+            int bits = classifier.classify(item, stamp);
+            if (isMetal(item.getType())) {
+                bits |= METAL;
+            }
+            if (openContainers && isContainer(item.getType())) {
+                bits |= scanContainer(item, 1, budget, classifier);
+            }
+            flags[slot] = bits;
+        }
+        if (budget[0] < 0) {
+            budgetExhausted.increment();
+            if (plugin.getConfigManager().isDebugEnabled()) {
+                plugin.getLogger().info("Container scan budget of " + maxNestedItems + " items ran out, rest skipped");
+            }
+        }
+        return new Result(this, inventory, contents, flags);
+    }
+
+    /**
+     * Classify what a shulker box or bundle holds
+     * @param budget Nested items this scan may still look at; goes negative once exhausted
+     * @return Classification bits of the contents plus {@link #CONCEALED}, {@link #UNSCANNED}
+     *         if anything inside was left unopened, or 0 if nothing was found
+     */
+    private int scanContainer(ItemStack container, int depth, int[] budget, ContrabandClassifier classifier) {
+        List<ItemStack> contents = getContainerContents(container);
+        if (contents.isEmpty()) {
+            return 0;
+        }
+
+        int version = classifier.getVersion();
+        // How deep a result reaches depends on where the container was opened
+        long key = contentHash(contents) ^ (depth * 0x9E3779B97F4A7C15L);
+        Long memoised = containerMemo.get(key);
+        if (memoised != null && (int) (memoised >>> 32) == version) {
+            containerMemoHits.increment();
+            return (int) (memoised & 0xFFFFFFFFL);
+        }
+        containersOpened.increment();
+
+        int found = 0;
+        for (ItemStack item : contents) {
+            if (item == null || item.getType().isAir()) {
+                continue;
+            }
+            if (budget[0]-- <= 0) {
+                found |= UNSCANNED;
+                break;
+            }
+            // These are copies inside the container's meta, so there is nothing to stamp
+            found |= classifier.classify(item, false) & ContrabandClassifier.ALL;
+            if (isContainer(item.getType())) {
+                if (depth < maxDepth) {
+                    found |= scanContainer(item, depth + 1, budget, classifier);
+                } else if (!getContainerContents(item).isEmpty()) {
+                    found |= UNSCANNED;
+                }
+            }
+        }
+
+        int bits = (found & ContrabandClassifier.ALL) != 0 ? found | CONCEALED : found;
+        // A result cut short by the budget is not the whole story, so only complete ones are kept
+        if (budget[0] >= 0) {
+            containerMemo.put(key, ((long) version << 32) | (bits & 0xFFFFFFFFL));
+        }
+        return bits;
+    }
+
+    private static List<ItemStack> getContainerContents(ItemStack container) {
+        // Empty containers carry no meta
+        if (!container.hasItemMeta()) {
+            return List.of();
+        }
+        ItemMeta meta = container.getItemMeta();
+        if (meta instanceof BundleMeta bundle) {
+            return bundle.hasItems() ? bundle.getItems() : List.of();
+        }
+        if (meta instanceof BlockStateMeta blockStateMeta && blockStateMeta.hasBlockState()
+                && blockStateMeta.getBlockState() instanceof ShulkerBox shulkerBox) {
+            return Arrays.asList(shulkerBox.getInventory().getContents());
+        }
+        return List.of();
+    }
+
+    private static long contentHash(List<ItemStack> contents) {
+        long hash = contents.size();
+        for (ItemStack item : contents) {
+            hash = hash * 0x9E3779B97F4A7C15L + (item != null ? item.hashCode() : 0);
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    private void removed(Inventory inventory) {
+        // Items removed this way fire no inventory event
+        if (inventory.getHolder() instanceof Player player && plugin.getContrabandLedger() != null) {
+            plugin.getContrabandLedger().markDirty(player);
+        }
+    }
+
+    public static boolean isContainer(Material material) {
+        return CONTAINER_MATERIALS.get(material.ordinal());
+    }
+
+    public long getContainersOpened() {
+        return containersOpened.sum();
+    }
+
+    public long getContainerMemoHits() {
+        return containerMemoHits.sum();
+    }
+
+    public long getBudgetExhausted() {
+        return budgetExhausted.sum();
+    }
+
+    public static boolean isMetal(Material material) {
+        return METAL_MATERIALS.get(material.ordinal());
+    }
+
+    private static BitSet compileMetalMaterials() {
+        String[] markers = {"IRON", "DIAMOND", "NETHERITE", "GOLD", "SWORD", "AXE", "PICKAXE", "SHOVEL",
+                "HOE", "HELMET", "CHESTPLATE", "LEGGINGS", "BOOTS", "SHEARS"};
+        BitSet materials = new BitSet();
+        for (Material material : Material.values()) {
+            String name = material.name();
+            for (String marker : markers) {
+                if (name.contains(marker)) {
+                    materials.set(material.ordinal());
+                    break;
+                }
+            }
+        }
+        return materials;
+    }
+
+    private static BitSet compileContainerMaterials() {
+        BitSet materials = new BitSet();
+        for (Material material : Material.values()) {
+            String name = material.name();
+            if (!material.isLegacy() && (name.endsWith("SHULKER_BOX") || name.endsWith("BUNDLE"))) {
+                materials.set(material.ordinal());
+            }
+        }
+        return materials;
+    }
+
+    /**
+     * What one scan found, slot by slot. Flags are the {@link ContrabandClassifier} bits plus
+     * {@link #METAL}, {@link #CONCEALED} and {@link #UNSCANNED}; every query takes a mask and
+     * matches slots having any of its bits.
+     */
+    public static final class Result {
+        private final InventoryScanner scanner;
+        private final Inventory inventory;
+        private final ItemStack[] contents;
+        private final int[] flags;
+        private int union;
+
+        private Result(InventoryScanner scanner, Inventory inventory, ItemStack[] contents, int[] flags) {
+            this.scanner = scanner;
+            this.inventory = inventory;
+            this.contents = contents;
+            this.flags = flags;
+            for (int bits : flags) {
+                union |= bits;
+            }
+        }
+
+        public boolean has(int mask) {
+            return (union & mask) != 0;
+        }
+
+        public int getFlags(int slot) {
+            return flags[slot];
+        }
+
+        /**
+         * The scanned contents, indexed like the flags
+         */
+        public ItemStack[] getContents() {
+            return contents;
+        }
+
+        /**
+         * @return Number of matching stacks
+         */
+        public int count(int mask) {
+            if (!has(mask)) return 0;
+            int count = 0;
+            for (int bits : flags) {
+                if ((bits & mask) != 0) count++;
+            }
+            return count;
+        }
+
+        /**
+         * @return Total number of matching items across all stacks
+         */
+        public int amount(int mask) {
+            if (!has(mask)) return 0;
+            int amount = 0;
+            for (int slot = 0; slot < flags.length; slot++) {
+                if ((flags[slot] & mask) != 0) amount += contents[slot].getAmount();
+            }
+            return amount;
+        }
+
+        public int[] slots(int mask) {
+            if (!has(mask)) return new int[0];
+            int[] slots = new int[flags.length];
+            int found = 0;
+            for (int slot = 0; slot < flags.length; slot++) {
+                if ((flags[slot] & mask) != 0) slots[found++] = slot;
+            }
+            return Arrays.copyOf(slots, found);
+        }
+
+        public List<ItemStack> items(int mask) {
+            List<ItemStack> items = new ArrayList<>();
+            if (!has(mask)) return items;
+            for (int slot = 0; slot < flags.length; slot++) {
+                if ((flags[slot] & mask) != 0) items.add(contents[slot]);
+            }
+            return items;
+        }
+
+        public Map<Material, Integer> amountsByType(int mask) {
+            Map<Material, Integer> amounts = new EnumMap<>(Material.class);
+            if (!has(mask)) return amounts;
+            for (int slot = 0; slot < flags.length; slot++) {
+                if ((flags[slot] & mask) != 0) amounts.merge(contents[slot].getType(), contents[slot].getAmount(), Integer::sum);
+            }
+            return amounts;
+        }
+
+        /**
+         * Clear every matching slot from the scanned inventory. Call in the same tick as the
+         * scan, before anything else can move the items.
+         * @return The removed stacks
+         */
+        public List<ItemStack> remove(int mask) {
+            List<ItemStack> removed = new ArrayList<>();
+            if (!has(mask)) return removed;
+            union = 0;
+            for (int slot = 0; slot < flags.length; slot++) {
+                if ((flags[slot] & mask) != 0) {
+                    removed.add(contents[slot]);
+                    inventory.setItem(slot, null);
+                    contents[slot] = null;
+                    flags[slot] = 0;
+                }
+                union |= flags[slot];
+            }
+            if (!removed.isEmpty()) {
+                scanner.removed(inventory);
+            }
+            return removed;
+        }
+    }
+}
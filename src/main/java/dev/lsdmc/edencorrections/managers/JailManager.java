@@ -1,11 +1,11 @@
 package dev.lsdmc.edencorrections.managers;
 
 import dev.lsdmc.edencorrections.EdenCorrections;
+import dev.lsdmc.edencorrections.scheduler.DeadlineTimeline;
+import dev.lsdmc.edencorrections.scheduler.IoExecutor;
 import dev.lsdmc.edencorrections.utils.MessageUtils;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
-import org.bukkit.scheduler.BukkitTask;
-import org.bukkit.inventory.ItemStack;
 import dev.lsdmc.edencorrections.storage.SQLiteStorage;
 import dev.lsdmc.edencorrections.managers.StorageManager;
 import net.kyori.adventure.text.Component;
@@ -16,8 +16,7 @@ import java.util.concurrent.ConcurrentHashMap;
 public class JailManager {
     private final EdenCorrections plugin;
     private final Map<UUID, JailData> jailedPlayers = new ConcurrentHashMap<>();
-    private final Map<UUID, BukkitTask> jailTasks = new HashMap<>();
-    private final Set<UUID> offlineJailQueue = new HashSet<>();
+    private final Set<UUID> offlineJailQueue = ConcurrentHashMap.newKeySet();
     private final SQLiteStorage sqliteStorage;
     
     // Simple jail configuration
@@ -46,6 +45,8 @@ public class JailManager {
         
         initializeCMIIntegration();
         loadJailData();
+
+        plugin.getDeadlineTimeline().registerHandler(DeadlineTimeline.Kind.JAIL_RELEASE, this::releaseTracking);
     }
     
     /**
@@ -106,6 +107,7 @@ public class JailManager {
         JailData jailData = new JailData(System.currentTimeMillis(), durationSeconds, reason, selectedJail, 
             arrestingGuard != null ? arrestingGuard.getUniqueId() : null);
         jailedPlayers.put(playerId, jailData);
+        plugin.getPlayerSpatialIndex().refreshRoles(playerId);
         
         // Execute CMI jail command
         if (cmiAvailable) {
@@ -125,7 +127,7 @@ public class JailManager {
         broadcastJailEvent(player, selectedJail, minutes, reason, wantedLevel);
 
         // Start tracking timer
-        startJailTrackingTimer(playerId, durationSeconds);
+        scheduleRelease(playerId, jailData);
         
         saveJailData();
 
@@ -155,7 +157,8 @@ public class JailManager {
         String jailCommand = String.format("cmi jail %s %s %.1fm %s", 
             player.getName(), jailName, minutes, reason);
         
-        plugin.getServer().getScheduler().runTask(plugin, () -> {
+        // Console commands must run on the global region
+        plugin.getTaskScheduler().runGlobal(() -> {
             try {
                 boolean result = plugin.getServer().dispatchCommand(plugin.getServer().getConsoleSender(), jailCommand);
                 if (result) {
@@ -206,26 +209,24 @@ public class JailManager {
     }
     
     /**
-     * Start jail tracking timer
+     * Put the jail release on the durable timeline
+     */
+    private void scheduleRelease(UUID playerId, JailData data) {
+        long endTime = data.startTime + (data.durationSeconds * 1000L);
+        plugin.getDeadlineTimeline().schedule(DeadlineTimeline.Kind.JAIL_RELEASE, playerId, endTime);
+    }
+
+    /**
+     * Timeline handler: clean up our tracking when jail time expires
      */
-    private void startJailTrackingTimer(UUID playerId, int durationSeconds) {
-        // Cancel existing task
-        if (jailTasks.containsKey(playerId)) {
-            jailTasks.get(playerId).cancel();
+    private void releaseTracking(UUID playerId) {
+        jailedPlayers.remove(playerId);
+        plugin.getPlayerSpatialIndex().refreshRoles(playerId);
+        saveJailData();
+
+        if (plugin.getConfigManager().isDebugEnabled()) {
+            plugin.getLogger().info("Jail tracking timer expired for player " + playerId);
         }
-        
-        BukkitTask task = Bukkit.getScheduler().runTaskLater(plugin, () -> {
-            // Clean up our tracking when jail time expires
-            jailTasks.remove(playerId);
-            jailedPlayers.remove(playerId);
-            saveJailData();
-            
-            if (plugin.getConfigManager().isDebugEnabled()) {
-                plugin.getLogger().info("Jail tracking timer expired for player " + playerId);
-            }
-        }, durationSeconds * 20L);
-        
-        jailTasks.put(playerId, task);
     }
     
     /**
@@ -308,16 +309,10 @@ public class JailManager {
             jailedPlayers.clear();
             jailedPlayers.putAll(loaded);
             
-            // Restore tracking
+            // Restore tracking; releases already on the timeline are left as they are and
+            // sentences that ended while the server was down are released right away
             for (Map.Entry<UUID, JailData> entry : jailedPlayers.entrySet()) {
-                UUID playerId = entry.getKey();
-                JailData data = entry.getValue();
-                
-                long endTime = data.startTime + (data.durationSeconds * 1000L);
-                if (System.currentTimeMillis() < endTime) {
-                    long remainingTime = endTime - System.currentTimeMillis();
-                    startJailTrackingTimer(playerId, (int) (remainingTime / 1000));
-                }
+                scheduleRelease(entry.getKey(), entry.getValue());
             }
             
             // Load offline queue
@@ -334,12 +329,17 @@ public class JailManager {
             return;
         }
         
-        try {
-            sqliteStorage.saveJailData(jailedPlayers);
-            sqliteStorage.saveOfflineJailQueue(offlineJailQueue);
-        } catch (Exception e) {
-            plugin.getLogger().warning("Failed to save jail data: " + e.getMessage());
-        }
+        // JailData is immutable, so a shallow copy is a consistent snapshot
+        Map<UUID, JailData> jailed = new HashMap<>(jailedPlayers);
+        Set<UUID> queue = new HashSet<>(offlineJailQueue);
+        plugin.getIoExecutor().submitLatest("jail-data", IoExecutor.DATABASE, () -> {
+            try {
+                sqliteStorage.saveJailData(jailed);
+                sqliteStorage.saveOfflineJailQueue(queue);
+            } catch (Exception e) {
+                plugin.getLogger().warning("Failed to save jail data: " + e.getMessage());
+            }
+        });
     }
 
     public void addToOfflineJailQueue(UUID playerId) {
@@ -356,26 +356,9 @@ public class JailManager {
      * Remove contraband and drugs from a player's inventory
      */
     public void removeContrabandAndDrugs(Player player) {
-        ItemStack[] contents = player.getInventory().getContents();
-        int removedCount = 0;
-        
-        for (int i = 0; i < contents.length; i++) {
-            ItemStack item = contents[i];
-            if (item == null) continue;
-
-            // Use comprehensive contraband/drug detection
-            if (plugin.getExternalPluginIntegration().isContrabandComprehensive(item) ||
-                plugin.getExternalPluginIntegration().isDrugComprehensive(item)) {
-                
-                if (plugin.getConfigManager().isDebugEnabled()) {
-                    plugin.getLogger().info("Removing contraband/drug item from " + player.getName());
-                }
-                contents[i] = null;
-                removedCount++;
-            }
-        }
-        
-        player.getInventory().setContents(contents);
+        // Use comprehensive contraband/drug detection
+        int removedCount = plugin.getInventoryScanner().scan(player)
+                .remove(ContrabandClassifier.CONTRABAND | ContrabandClassifier.DRUG | InventoryScanner.UNSCANNED).size();
         
         if (removedCount > 0) {
             player.sendMessage(MessageUtils.getPrefix(plugin).append(
@@ -426,29 +409,14 @@ public class JailManager {
 
     // Call this method when the plugin is disabled
     public void shutdown() {
+        // Releases live on the deadline timeline, so there are no per-player tasks to cancel
         saveJailData();
-        
-        // Cancel all jail tasks
-        for (BukkitTask task : jailTasks.values()) {
-            if (task != null && !task.isCancelled()) {
-                task.cancel();
-            }
-        }
-        jailTasks.clear();
     }
 
     /**
      * Reload jail configurations
      */
     public void reload() {
-        // Cancel all active jail tasks
-        for (BukkitTask task : jailTasks.values()) {
-            if (task != null && !task.isCancelled()) {
-                task.cancel();
-            }
-        }
-        jailTasks.clear();
-
         // Save current data before reloading
         saveJailData();
         
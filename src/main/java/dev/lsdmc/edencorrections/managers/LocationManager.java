@@ -293,6 +293,11 @@ public class LocationManager {
         }
         
         try {
+            // Folia only supports asynchronous teleports
+            if (plugin.getTaskScheduler().isFolia()) {
+                player.teleportAsync(location);
+                return true;
+            }
             return player.teleport(location);
         } catch (Exception e) {
             plugin.getLogger().log(Level.WARNING, "Failed to teleport " + player.getName() + " to " + type.getDisplayName(), e);
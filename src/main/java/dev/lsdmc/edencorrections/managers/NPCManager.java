@@ -4,6 +4,11 @@ import dev.lsdmc.edencorrections.EdenCorrections;
 import dev.lsdmc.edencorrections.config.ConfigManager;
 import dev.lsdmc.edencorrections.utils.MessageUtils;
 import net.citizensnpcs.api.CitizensAPI;
+import net.citizensnpcs.api.event.CitizensEnableEvent;
+import net.citizensnpcs.api.event.NPCCreateEvent;
+import net.citizensnpcs.api.event.NPCRemoveEvent;
+import net.citizensnpcs.api.event.NPCSpawnEvent;
+import net.citizensnpcs.api.event.NPCTeleportEvent;
 import net.citizensnpcs.api.npc.NPC;
 import net.citizensnpcs.api.npc.NPCRegistry;
 import net.kyori.adventure.text.Component;
@@ -16,6 +21,7 @@ import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.entity.EntityType;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.player.PlayerInteractAtEntityEvent;
 import org.bukkit.inventory.EquipmentSlot;
@@ -33,6 +39,7 @@ public class NPCManager implements Listener {
     private FileConfiguration npcConfig;
     private final Map<String, NPC> dutyNPCs = new HashMap<>();
     private final Map<UUID, Long> lastNpcInteraction = new HashMap<>();
+    private final NpcIndex index = new NpcIndex();
     private final int interactionRadius;
     private final String npcSkin;
     private boolean citizensEnabled = false;
@@ -80,6 +87,7 @@ public class NPCManager implements Listener {
 
         // Load NPCs
         loadNpcs();
+        rebuildIndex();
 
         // Register events
         Bukkit.getPluginManager().registerEvents(this, plugin);
@@ -89,6 +97,7 @@ public class NPCManager implements Listener {
         if (!citizensEnabled) return;
 
         // Track existing NPCs before destroying them
+        index.clear();
         Map<Location, NPC> existingNpcs = new HashMap<>();
         for (NPC npc : CitizensAPI.getNPCRegistry()) {
             if (npc.data().has(NPC_DATA_KEY)) {
@@ -143,19 +152,40 @@ public class NPCManager implements Listener {
 
     private boolean isPluginNpcAtLocation(Location location) {
         if (!citizensEnabled) return false;
-        
+
+        UUID nearest = index.findNearest(location, 0.1);
+        return nearest != null;
+    }
+
+    /**
+     * One full registry scan to seed the index; afterwards it follows the Citizens events
+     */
+    private void rebuildIndex() {
+        index.clear();
         for (NPC npc : CitizensAPI.getNPCRegistry()) {
-            if (npc.data().has(NPC_DATA_KEY)) {
-                Location npcLoc = npc.getStoredLocation();
-                if (npcLoc.getWorld().equals(location.getWorld()) &&
-                    Math.abs(npcLoc.getX() - location.getX()) < 0.1 &&
-                    Math.abs(npcLoc.getY() - location.getY()) < 0.1 &&
-                    Math.abs(npcLoc.getZ() - location.getZ()) < 0.1) {
-                    return true;
-                }
+            indexNpc(npc, npc.getStoredLocation());
+        }
+    }
+
+    private void indexNpc(NPC npc, Location location) {
+        if (!npc.data().has(NPC_DATA_KEY)) return;
+
+        NPCType type;
+        try {
+            type = NPCType.valueOf(npc.data().get("npc-type"));
+        } catch (Exception e) {
+            type = NPCType.DUTY;
+        }
+        GuiSection section = null;
+        String sectionStr = npc.data().get("gui-section");
+        if (sectionStr != null) {
+            try {
+                section = GuiSection.valueOf(sectionStr);
+            } catch (IllegalArgumentException ignored) {
+                // Reported when the NPC is used
             }
         }
-        return false;
+        index.put(npc.getUniqueId(), npc.getId(), type, section, location);
     }
 
     public boolean createNpc(Location location, Player createdBy, String name, NPCType type, GuiSection guiSection) {
@@ -241,6 +271,7 @@ public class NPCManager implements Listener {
                 npc.destroy();
                 return false;
             }
+            indexNpc(npc, location);
 
             // Save to config
             String base = "npcs." + npc.getUniqueId().toString();
@@ -255,15 +286,13 @@ public class NPCManager implements Listener {
                 npcConfig.set(base + ".gui-section", guiSection.name());
             }
             
-            try {
-                npcConfig.save(npcFile);
-            } catch (IOException e) {
-                plugin.getLogger().log(Level.SEVERE, "Failed to save npcs.yml", e);
-                if (createdBy != null) {
-                    createdBy.sendMessage(MessageUtils.getPrefix(plugin).append(
-                        MessageUtils.parseMessage("<yellow>NPC created but failed to save configuration!</yellow>")));
+            plugin.getIoExecutor().saveYaml(npcConfig, npcFile).whenComplete((ignored, error) -> {
+                if (error != null && createdBy != null) {
+                    // The write failed off-thread; tell the creator on their own thread
+                    plugin.getTaskScheduler().runAtEntity(createdBy, () -> createdBy.sendMessage(MessageUtils.getPrefix(plugin).append(
+                        MessageUtils.parseMessage("<yellow>NPC created but failed to save configuration!</yellow>"))));
                 }
-            }
+            });
 
             return true;
         } catch (Exception e) {
@@ -284,14 +313,11 @@ public class NPCManager implements Listener {
             if (npc != null) {
                 npc.destroy();
             }
+            index.remove(npcUuid);
             
             // Remove from config
             npcConfig.set("npcs." + npcUuid.toString(), null);
-            try {
-                npcConfig.save(npcFile);
-            } catch (IOException e) {
-                plugin.getLogger().log(Level.SEVERE, "Failed to save npcs.yml", e);
-            }
+            plugin.getIoExecutor().saveYaml(npcConfig, npcFile);
             
             return true;
         } catch (Exception e) {
@@ -300,6 +326,32 @@ public class NPCManager implements Listener {
         }
     }
 
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onCitizensEnable(CitizensEnableEvent event) {
+        // Citizens may load its saved NPCs after we enable
+        rebuildIndex();
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onNpcCreate(NPCCreateEvent event) {
+        indexNpc(event.getNPC(), event.getNPC().getStoredLocation());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onNpcSpawn(NPCSpawnEvent event) {
+        indexNpc(event.getNPC(), event.getLocation());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onNpcTeleport(NPCTeleportEvent event) {
+        index.move(event.getNPC().getUniqueId(), event.getTo());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onNpcRemove(NPCRemoveEvent event) {
+        index.remove(event.getNPC().getUniqueId());
+    }
+
     @EventHandler
     public void onNpcInteract(PlayerInteractAtEntityEvent event) {
         if (!citizensEnabled) return;
@@ -396,47 +448,41 @@ public class NPCManager implements Listener {
 
     public List<UUID> getCorrectionsNpcs() {
         if (!citizensEnabled) return new ArrayList<>();
-        
-        List<UUID> npcs = new ArrayList<>();
-        for (NPC npc : CitizensAPI.getNPCRegistry()) {
-            if (npc.data().has(NPC_DATA_KEY)) {
-                npcs.add(npc.getUniqueId());
-            }
-        }
-        return npcs;
+
+        return index.getAll();
     }
 
     public NPCType getNpcType(UUID npcUuid) {
         if (!citizensEnabled) return NPCType.DUTY;
-        
-        NPC npc = CitizensAPI.getNPCRegistry().getByUniqueId(npcUuid);
-        if (npc == null) return NPCType.DUTY;
-        
-        String typeStr = npc.data().get("npc-type");
-        try {
-            return NPCType.valueOf(typeStr);
-        } catch (Exception e) {
-            return NPCType.DUTY;
-        }
+
+        NPCType type = index.getType(npcUuid);
+        return type != null ? type : NPCType.DUTY;
     }
 
     public GuiSection getGuiSection(UUID npcUuid) {
         if (!citizensEnabled) return null;
-        
-        NPC npc = CitizensAPI.getNPCRegistry().getByUniqueId(npcUuid);
-        if (npc == null) return null;
-        
-        String sectionStr = npc.data().get("gui-section");
-        try {
-            return GuiSection.valueOf(sectionStr);
-        } catch (Exception e) {
-            return null;
-        }
+
+        return index.getSection(npcUuid);
+    }
+
+    public boolean isCorrectionsNpc(UUID npcUuid) {
+        return citizensEnabled && index.contains(npcUuid);
+    }
+
+    /**
+     * Find the closest Corrections NPC to a location
+     * @return The NPC's UUID, or null if none is within the radius
+     */
+    public UUID getNearestCorrectionsNpc(Location location, double radius) {
+        if (!citizensEnabled) return null;
+
+        return index.findNearest(location, radius);
     }
 
     public void shutdown() {
         if (!citizensEnabled) return;
-        
+
+        index.clear();
         try {
             npcConfig.save(npcFile);
         } catch (IOException e) {
@@ -450,15 +496,7 @@ public class NPCManager implements Listener {
 
     public boolean isNearCorrectionsNpc(Player player) {
         if (!citizensEnabled) return false;
-        
-        Location playerLoc = player.getLocation();
-        for (NPC npc : CitizensAPI.getNPCRegistry()) {
-            if (npc.data().has(NPC_DATA_KEY) && 
-                npc.getStoredLocation().getWorld().equals(playerLoc.getWorld()) &&
-                npc.getStoredLocation().distance(playerLoc) <= interactionRadius) {
-                return true;
-            }
-        }
-        return false;
+
+        return index.findNearest(player.getLocation(), interactionRadius) != null;
     }
 }
\ No newline at end of file
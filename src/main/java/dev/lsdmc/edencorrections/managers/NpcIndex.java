@@ -0,0 +1,154 @@
+package dev.lsdmc.edencorrections.managers;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Corrections NPCs by UUID and by world chunk.
+ *
+ * Kept in step with Citizens through NPCManager's create, spawn, teleport and remove handlers,
+ * so proximity and type lookups only touch the chunks around a point and never the NPCs other
+ * plugins have registered.
+ */
+class NpcIndex {
+    private final Map<UUID, Entry> byUuid = new ConcurrentHashMap<>();
+    private final Map<UUID, Map<Long, Set<Entry>>> byChunk = new ConcurrentHashMap<>();
+
+    /**
+     * Add or move an NPC. Location may be null for an NPC that has never been placed.
+     */
+    void put(UUID uuid, int id, NPCManager.NPCType type, NPCManager.GuiSection section, Location location) {
+        remove(uuid);
+        Entry entry = location != null && location.getWorld() != null
+                ? new Entry(uuid, id, type, section, location.getWorld().getUID(),
+                chunkKey(location.getBlockX() >> 4, location.getBlockZ() >> 4),
+                location.getX(), location.getY(), location.getZ())
+                : new Entry(uuid, id, type, section, null, 0L, 0, 0, 0);
+        byUuid.put(uuid, entry);
+        if (entry.worldId != null) {
+            byChunk.computeIfAbsent(entry.worldId, world -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(entry.chunk, chunk -> ConcurrentHashMap.newKeySet())
+                    .add(entry);
+        }
+    }
+
+    /**
+     * Update the position of an indexed NPC, keeping its type
+     */
+    void move(UUID uuid, Location location) {
+        Entry entry = byUuid.get(uuid);
+        if (entry != null) {
+            put(uuid, entry.id, entry.type, entry.section, location);
+        }
+    }
+
+    void remove(UUID uuid) {
+        Entry entry = byUuid.remove(uuid);
+        if (entry == null || entry.worldId == null) {
+            return;
+        }
+        Map<Long, Set<Entry>> chunks = byChunk.get(entry.worldId);
+        if (chunks != null) {
+            chunks.computeIfPresent(entry.chunk, (key, set) -> {
+                set.remove(entry);
+                return set.isEmpty() ? null : set;
+            });
+        }
+    }
+
+    void clear() {
+        byUuid.clear();
+        byChunk.clear();
+    }
+
+    boolean contains(UUID uuid) {
+        return byUuid.containsKey(uuid);
+    }
+
+    NPCManager.NPCType getType(UUID uuid) {
+        Entry entry = byUuid.get(uuid);
+        return entry != null ? entry.type : null;
+    }
+
+    NPCManager.GuiSection getSection(UUID uuid) {
+        Entry entry = byUuid.get(uuid);
+        return entry != null ? entry.section : null;
+    }
+
+    /**
+     * @return Every indexed NPC in Citizens id order
+     */
+    List<UUID> getAll() {
+        List<Entry> entries = new ArrayList<>(byUuid.values());
+        entries.sort(Comparator.comparingInt(Entry::id));
+        List<UUID> result = new ArrayList<>(entries.size());
+        for (Entry entry : entries) {
+            result.add(entry.uuid);
+        }
+        return result;
+    }
+
+    int size() {
+        return byUuid.size();
+    }
+
+    /**
+     * @return The closest NPC within the radius, or null
+     */
+    UUID findNearest(Location center, double radius) {
+        World world = center.getWorld();
+        if (world == null) {
+            return null;
+        }
+        Map<Long, Set<Entry>> chunks = byChunk.get(world.getUID());
+        if (chunks == null) {
+            return null;
+        }
+
+        double cx = center.getX();
+        double cy = center.getY();
+        double cz = center.getZ();
+        double bestDistanceSquared = radius * radius;
+        UUID best = null;
+        int minChunkX = (int) Math.floor(cx - radius) >> 4;
+        int maxChunkX = (int) Math.floor(cx + radius) >> 4;
+        int minChunkZ = (int) Math.floor(cz - radius) >> 4;
+        int maxChunkZ = (int) Math.floor(cz + radius) >> 4;
+
+        for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+            for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                Set<Entry> entries = chunks.get(chunkKey(chunkX, chunkZ));
+                if (entries == null) {
+                    continue;
+                }
+                for (Entry entry : entries) {
+                    double dx = entry.x - cx;
+                    double dy = entry.y - cy;
+                    double dz = entry.z - cz;
+                    double distanceSquared = dx * dx + dy * dy + dz * dz;
+                    if (distanceSquared <= bestDistanceSquared) {
+                        bestDistanceSquared = distanceSquared;
+                        best = entry.uuid;
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    private static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    private record Entry(UUID uuid, int id, NPCManager.NPCType type, NPCManager.GuiSection section,
+                         UUID worldId, long chunk, double x, double y, double z) {
+    }
+}
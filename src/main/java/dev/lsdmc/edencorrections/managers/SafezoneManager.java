@@ -1,7 +1,6 @@
 package dev.lsdmc.edencorrections.managers;
 
 import dev.lsdmc.edencorrections.EdenCorrections;
-import dev.lsdmc.edencorrections.utils.RegionUtils;
 import org.bukkit.Location;
 import org.bukkit.entity.Player;
 
@@ -56,14 +55,14 @@ public class SafezoneManager {
      */
     public boolean isInSafezone(Location location) {
         // Safezone = region where PvP is disabled
-        return !RegionUtils.isPvPRegion(location);
+        return !plugin.getPvpSectionCache().isPvP(location);
     }
     
     /**
      * Check if a location is in a PvP zone (PvP enabled region)
      */
     public boolean isInPvPZone(Location location) {
-        return RegionUtils.isPvPRegion(location);
+        return plugin.getPvpSectionCache().isPvP(location);
     }
     
     /**
@@ -224,6 +223,9 @@ public class SafezoneManager {
         stats.put("detectionMethod", "PvP Flag Based");
         stats.put("safezoneDefinition", "Regions with PvP disabled");
         stats.put("pvpZoneDefinition", "Regions with PvP enabled");
+        stats.put("cachedSections", plugin.getPvpSectionCache().getCachedSections());
+        stats.put("sectionCacheHits", plugin.getPvpSectionCache().getHits());
+        stats.put("boundaryFallbacks", plugin.getPvpSectionCache().getFallbacks());
         return stats;
     }
 } 
\ No newline at end of file
@@ -0,0 +1,275 @@
+package dev.lsdmc.edencorrections.managers;
+
+import com.destroystokyo.paper.ParticleBuilder;
+import dev.lsdmc.edencorrections.EdenCorrections;
+import dev.lsdmc.edencorrections.scheduler.CorrectionsTask;
+import org.bukkit.Location;
+import org.bukkit.Particle;
+import org.bukkit.entity.Player;
+import org.bukkit.potion.PotionEffect;
+import org.bukkit.potion.PotionEffectType;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Draws smoke clouds and applies their effects from one ticker.
+ *
+ * Smoke bombs used to spawn their particles for the whole world to receive, place each one
+ * with fresh random numbers, and look up nearby players every tick to re-apply blindness.
+ * Clouds now walk a precomputed table of puff offsets, so coverage is even without any
+ * per-particle randomness. Each puff goes out as one packet carrying several particles, and
+ * only to players within view distance, found through the
+ * {@link dev.lsdmc.edencorrections.regions.PlayerSpatialIndex}. A cloud nobody can see sends
+ * nothing.
+ *
+ * A server-wide budget caps the particles sent per tick, counted once per receiving player,
+ * and is shared evenly between clouds. During a riot every cloud thins out instead of the
+ * total growing with each bomb. Effects are applied on a slower cadence than the drawing.
+ */
+public class SmokeCloudManager {
+    private static final String CONFIG_PATH = "performance.smoke";
+
+    // Puff positions as (x, y, z) in a unit disc 2 blocks tall, spread by the golden angle
+    private static final int OFFSET_COUNT = 128;
+    private static final double[] OFFSETS = compileOffsets();
+
+    private final EdenCorrections plugin;
+    private final Set<Cloud> clouds = ConcurrentHashMap.newKeySet();
+
+    private final LongAdder deployed = new LongAdder();
+    private final LongAdder particlesSent = new LongAdder();
+    private final LongAdder throttledTicks = new LongAdder();
+
+    private CorrectionsTask ticker;
+    private volatile double viewDistance;
+    private volatile int maxParticlesPerTick;
+    private volatile int puffsPerTick;
+    private volatile int particlesPerPuff;
+    private volatile int effectIntervalTicks;
+
+    public SmokeCloudManager(EdenCorrections plugin) {
+        this.plugin = plugin;
+        start();
+    }
+
+    private void start() {
+        viewDistance = Math.max(8.0, plugin.getConfig().getDouble(CONFIG_PATH + ".view-distance", 48.0));
+        maxParticlesPerTick = Math.max(1, plugin.getConfig().getInt(CONFIG_PATH + ".max-particles-per-tick", 2000));
+        puffsPerTick = Math.max(1, plugin.getConfig().getInt(CONFIG_PATH + ".puffs-per-tick", 6));
+        particlesPerPuff = Math.max(1, plugin.getConfig().getInt(CONFIG_PATH + ".particles-per-puff", 4));
+        effectIntervalTicks = Math.max(1, plugin.getConfig().getInt(CONFIG_PATH + ".effect-interval-ticks", 10));
+        ticker = plugin.getTaskScheduler().runGlobalTimer(task -> tick(), 1L, 1L);
+    }
+
+    /**
+     * Start a smoke cloud
+     * @param center Where the cloud sits; copied
+     * @param radius Radius of the cloud and of its blindness
+     * @param durationTicks How long the cloud lasts
+     * @param particle Particle the cloud is drawn with
+     * @param exempt Player the cloud never blinds, usually the thrower; may be null
+     */
+    public void deploy(Location center, double radius, int durationTicks, Particle particle, UUID exempt) {
+        deploy(center, radius, durationTicks, particle, exempt, true);
+    }
+
+    /**
+     * Start a smoke cloud that is only drawn, for callers that apply their own effects
+     * @param center Where the cloud sits; copied
+     * @param radius Radius of the cloud
+     * @param durationTicks How long the cloud lasts
+     * @param particle Particle the cloud is drawn with
+     */
+    public void deployVisual(Location center, double radius, int durationTicks, Particle particle) {
+        deploy(center, radius, durationTicks, particle, null, false);
+    }
+
+    private void deploy(Location center, double radius, int durationTicks, Particle particle, UUID exempt, boolean blinds) {
+        if (center == null || center.getWorld() == null || durationTicks <= 0) {
+            return;
+        }
+        clouds.add(new Cloud(center.clone(), radius, durationTicks, particle, exempt, blinds));
+        deployed.increment();
+    }
+
+    private void tick() {
+        if (clouds.isEmpty()) {
+            return;
+        }
+        boolean folia = plugin.getTaskScheduler().isFolia();
+        int budget = maxParticlesPerTick;
+        int remainingClouds = clouds.size();
+        boolean throttled = false;
+
+        for (Cloud cloud : clouds) {
+            if (cloud.age >= cloud.durationTicks) {
+                clouds.remove(cloud);
+                remainingClouds--;
+                continue;
+            }
+            int share = budget / Math.max(1, remainingClouds--);
+            List<Player> viewers = plugin.getPlayerSpatialIndex().getNearby(cloud.center, viewDistance);
+
+            int puffs = 0;
+            if (!viewers.isEmpty()) {
+                int perPuff = particlesPerPuff * viewers.size();
+                puffs = Math.min(puffsPerTick, share / perPuff);
+                if (puffs < puffsPerTick) {
+                    throttled = true;
+                }
+                budget -= puffs * perPuff;
+            }
+            boolean applyEffects = cloud.blinds && cloud.age % effectIntervalTicks == 0;
+            cloud.age++;
+
+            if (puffs == 0 && !applyEffects) {
+                continue;
+            }
+            int drawPuffs = puffs;
+            if (!folia) {
+                step(cloud, viewers, drawPuffs, applyEffects);
+            } else if (cloud.queued.compareAndSet(false, true)) {
+                plugin.getTaskScheduler().runAtLocation(cloud.center, () -> {
+                    cloud.queued.set(false);
+                    step(cloud, viewers, drawPuffs, applyEffects);
+                });
+            }
+        }
+        if (throttled) {
+            throttledTicks.increment();
+        }
+    }
+
+    private void step(Cloud cloud, List<Player> viewers, int puffs, boolean applyEffects) {
+        if (puffs > 0) {
+            draw(cloud, viewers, puffs);
+        }
+        if (applyEffects) {
+            applyEffects(cloud);
+        }
+    }
+
+    private void draw(Cloud cloud, List<Player> viewers, int puffs) {
+        // Each puff is one packet per viewer, spread a little around its offset by the client
+        double spread = Math.min(0.5, cloud.radius / 4.0);
+        ParticleBuilder builder = new ParticleBuilder(cloud.particle)
+                .receivers(viewers)
+                .count(particlesPerPuff)
+                .offset(spread, 0.3, spread)
+                .extra(0.01);
+        Location location = cloud.center.clone();
+        for (int i = 0; i < puffs; i++) {
+            int index = (cloud.cursor++ % OFFSET_COUNT) * 3;
+            location.set(
+                    cloud.center.getX() + OFFSETS[index] * cloud.radius,
+                    cloud.center.getY() + OFFSETS[index + 1],
+                    cloud.center.getZ() + OFFSETS[index + 2] * cloud.radius);
+            builder.location(location).spawn();
+        }
+        particlesSent.add((long) puffs * particlesPerPuff * viewers.size());
+    }
+
+    private void applyEffects(Cloud cloud) {
+        // Long enough to last until the next application, so blindness holds while inside
+        int effectTicks = effectIntervalTicks + 30;
+        for (Player player : plugin.getPlayerSpatialIndex().getNearby(cloud.center, cloud.radius)) {
+            if (player.getUniqueId().equals(cloud.exempt)) {
+                continue;
+            }
+            PotionEffect blindness = new PotionEffect(PotionEffectType.BLINDNESS, effectTicks, 0);
+            if (plugin.getTaskScheduler().isOwnedByCurrentThread(player)) {
+                player.addPotionEffect(blindness);
+            } else {
+                plugin.getTaskScheduler().runAtEntity(player, () -> player.addPotionEffect(blindness));
+            }
+        }
+    }
+
+    public void reload() {
+        if (ticker != null) {
+            ticker.cancel();
+        }
+        start();
+    }
+
+    public void shutdown() {
+        if (ticker != null) {
+            ticker.cancel();
+            ticker = null;
+        }
+        clouds.clear();
+    }
+
+    public int getActiveClouds() {
+        return clouds.size();
+    }
+
+    public long getDeployed() {
+        return deployed.sum();
+    }
+
+    public long getParticlesSent() {
+        return particlesSent.sum();
+    }
+
+    /**
+     * @return Ticks in which the budget held at least one cloud below its full density
+     */
+    public long getThrottledTicks() {
+        return throttledTicks.sum();
+    }
+
+    private static double[] compileOffsets() {
+        double[] offsets = new double[OFFSET_COUNT * 3];
+        double goldenAngle = Math.PI * (3.0 - Math.sqrt(5.0));
+        for (int i = 0; i < OFFSET_COUNT; i++) {
+            // sqrt keeps the disc evenly filled rather than crowded at the middle
+            double distance = Math.sqrt((i + 0.5) / OFFSET_COUNT);
+            double angle = i * goldenAngle;
+            offsets[i * 3] = Math.cos(angle) * distance;
+            // Van der Corput in base 3 spreads the heights independently of the angle
+            offsets[i * 3 + 1] = radicalInverse(i + 1, 3) * 2.0;
+            offsets[i * 3 + 2] = Math.sin(angle) * distance;
+        }
+        return offsets;
+    }
+
+    private static double radicalInverse(int value, int base) {
+        double result = 0.0;
+        double fraction = 1.0 / base;
+        while (value > 0) {
+            result += (value % base) * fraction;
+            value /= base;
+            fraction /= base;
+        }
+        return result;
+    }
+
+    private static final class Cloud {
+        private final Location center;
+        private final double radius;
+        private final int durationTicks;
+        private final Particle particle;
+        private final UUID exempt;
+        private final boolean blinds;
+        private final AtomicBoolean queued = new AtomicBoolean();
+
+        // Only touched by the ticker, and by one queued step at a time on Folia
+        private volatile int age;
+        private volatile int cursor;
+
+        private Cloud(Location center, double radius, int durationTicks, Particle particle, UUID exempt, boolean blinds) {
+            this.center = center;
+            this.radius = radius;
+            this.durationTicks = durationTicks;
+            this.particle = particle;
+            this.exempt = exempt;
+            this.blinds = blinds;
+        }
+    }
+}
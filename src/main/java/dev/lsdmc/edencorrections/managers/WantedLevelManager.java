@@ -1,6 +1,12 @@
 package dev.lsdmc.edencorrections.managers;
 
 import dev.lsdmc.edencorrections.EdenCorrections;
+import dev.lsdmc.edencorrections.commands.CommandRuleIndex;
+import dev.lsdmc.edencorrections.regions.PlayerSpatialIndex;
+import dev.lsdmc.edencorrections.regions.RegionRuleIndex;
+import dev.lsdmc.edencorrections.scheduler.CorrectionsTask;
+import dev.lsdmc.edencorrections.scheduler.DeadlineTimeline;
+import dev.lsdmc.edencorrections.scheduler.IoExecutor;
 import dev.lsdmc.edencorrections.utils.MessageUtils;
 import net.kyori.adventure.text.Component;
 import org.bukkit.Bukkit;
@@ -10,7 +16,6 @@ import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.entity.Player;
 import org.bukkit.potion.PotionEffect;
 import org.bukkit.potion.PotionEffectType;
-import org.bukkit.scheduler.BukkitTask;
 import org.bukkit.scoreboard.Scoreboard;
 import org.bukkit.scoreboard.Team;
 
@@ -25,6 +30,7 @@ import java.lang.reflect.InvocationTargetException;
 import java.io.File;
 import java.io.IOException;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
@@ -36,10 +42,9 @@ import dev.lsdmc.edencorrections.managers.StorageManager;
 public class WantedLevelManager {
     private final EdenCorrections plugin;
     private final Map<UUID, Integer> wantedLevels = new ConcurrentHashMap<>();
-    private final Map<UUID, BukkitTask> resetTasks = new HashMap<>();
     private final Map<UUID, Long> wantedTimers = new ConcurrentHashMap<>();
     private final Set<UUID> markedPlayers = ConcurrentHashMap.newKeySet(); // Players marked by spyglass
-    private final Map<UUID, BukkitTask> glowTasks = new HashMap<>();
+    private final Map<UUID, CorrectionsTask> glowTasks = new ConcurrentHashMap<>();
     
     // Red glow team management with ProtocolLib
     private Team redGlowTeam;
@@ -74,6 +79,21 @@ public class WantedLevelManager {
         setupRedGlowTeam();
         
         loadWantedData();
+
+        // Expiries are durable timeline deadlines, so they survive restarts
+        plugin.getDeadlineTimeline().registerHandler(DeadlineTimeline.Kind.WANTED_EXPIRY, this::expireWantedLevel);
+    }
+
+    /**
+     * Timeline handler: a wanted level ran out
+     */
+    private void expireWantedLevel(UUID playerId) {
+        // Runs on the global thread, so anything touching the player goes to their own
+        clearWantedData(playerId);
+        Player player = Bukkit.getPlayer(playerId);
+        if (player != null && player.isOnline()) {
+            plugin.getTaskScheduler().runForEntity(player, () -> broadcastWantedLevel(player, 0));
+        }
     }
 
     /**
@@ -132,16 +152,13 @@ public class WantedLevelManager {
             wantedTimers.clear();
             markedPlayers.clear();
             wantedLevels.putAll(sqliteStorage.loadWantedLevels(wantedTimers, markedPlayers));
-            // Schedule reset tasks for loaded wanted data
+            // Make sure every loaded level has its expiry on the timeline; already-stored
+            // deadlines are left untouched and ones that passed while offline fire right away
+            DeadlineTimeline timeline = plugin.getDeadlineTimeline();
             for (UUID playerId : wantedLevels.keySet()) {
                 long expiry = wantedTimers.getOrDefault(playerId, 0L);
-                if (System.currentTimeMillis() < expiry) {
-                    long remainingTime = expiry - System.currentTimeMillis();
-                    BukkitTask task = Bukkit.getScheduler().runTaskLater(plugin, () -> {
-                        clearWantedData(playerId);
-                        resetTasks.remove(playerId);
-                    }, remainingTime / 50);
-                    resetTasks.put(playerId, task);
+                if (expiry > 0L) {
+                    timeline.schedule(DeadlineTimeline.Kind.WANTED_EXPIRY, playerId, expiry);
                 }
             }
         } catch (Exception e) {
@@ -154,11 +171,17 @@ public class WantedLevelManager {
             return; // Skip saving if SQLiteStorage not available
         }
         
-        try {
-            sqliteStorage.saveWantedLevels(wantedLevels, wantedTimers, markedPlayers);
-        } catch (Exception e) {
-            plugin.getLogger().warning("Failed to save wanted data: " + e.getMessage());
-        }
+        // Snapshot on the calling thread; the JDBC write runs on the I/O executor
+        Map<UUID, Integer> levels = new HashMap<>(wantedLevels);
+        Map<UUID, Long> timers = new HashMap<>(wantedTimers);
+        Set<UUID> marked = new HashSet<>(markedPlayers);
+        plugin.getIoExecutor().submitLatest("wanted-levels", IoExecutor.DATABASE, () -> {
+            try {
+                sqliteStorage.saveWantedLevels(levels, timers, marked);
+            } catch (Exception e) {
+                plugin.getLogger().warning("Failed to save wanted data: " + e.getMessage());
+            }
+        });
     }
 
     /**
@@ -181,10 +204,7 @@ public class WantedLevelManager {
         UUID playerId = player.getUniqueId();
         
         // Remove existing timer
-        if (resetTasks.containsKey(playerId)) {
-            resetTasks.get(playerId).cancel();
-            resetTasks.remove(playerId);
-        }
+        plugin.getDeadlineTimeline().cancel(DeadlineTimeline.Kind.WANTED_EXPIRY, playerId);
 
         if (level <= 0) {
             // Clear wanted level
@@ -202,15 +222,7 @@ public class WantedLevelManager {
             wantedTimers.put(playerId, expiryTime);
             
             // Schedule automatic reset
-            BukkitTask resetTask = Bukkit.getScheduler().runTaskLater(plugin, () -> {
-                clearWantedData(playerId);
-                if (player.isOnline()) {
-                    broadcastWantedLevel(player, 0);
-                }
-                resetTasks.remove(playerId);
-            }, duration * 20L);
-            
-            resetTasks.put(playerId, resetTask);
+            plugin.getDeadlineTimeline().schedule(DeadlineTimeline.Kind.WANTED_EXPIRY, playerId, expiryTime);
             
             // Apply glowing effect for level 5
             if (level >= 5) {
@@ -224,6 +236,7 @@ public class WantedLevelManager {
             broadcastWantedLevel(player, level);
         }
         
+        plugin.getPlayerSpatialIndex().refreshRoles(playerId);
         saveWantedData();
     }
 
@@ -310,6 +323,7 @@ public class WantedLevelManager {
 
         // Add to marked players
         markedPlayers.add(targetId);
+        plugin.getPlayerSpatialIndex().refreshRoles(targetId);
         
         // Apply glow effect
         applyGlowEffect(target);
@@ -356,14 +370,14 @@ public class WantedLevelManager {
             }
         }
         
-        // Create persistent glow task that only applies glow to guards
-        BukkitTask glowTask = Bukkit.getScheduler().runTaskTimer(plugin, () -> {
+        // Create persistent glow task that only applies glow to guards (runs on the marked player's region)
+        CorrectionsTask glowTask = plugin.getTaskScheduler().runAtEntityTimer(player, handle -> {
             if (player.isOnline() && markedPlayers.contains(playerId)) {
                 // Apply glow effect only for guards, not for the marked player themselves
-                for (Player guard : Bukkit.getOnlinePlayers()) {
-                    if (plugin.getDutyManager().isOnDuty(guard.getUniqueId()) && !guard.equals(player)) {
-                        // Send glow effect packet only to guards
-                        sendGlowEffectToGuard(guard, player, true);
+                for (Player guard : plugin.getPlayerSpatialIndex().getPlayers(PlayerSpatialIndex.ROLE_GUARD)) {
+                    if (!guard.equals(player)) {
+                        // Send glow effect packet only to guards, each on their own thread
+                        plugin.getTaskScheduler().runForEntity(guard, () -> sendGlowEffectToGuard(guard, player, true));
                     }
                 }
                 
@@ -373,7 +387,7 @@ public class WantedLevelManager {
                 // Player offline or no longer marked - cancel task
                 unmarkPlayer(playerId);
             }
-        }, 0L, 30L); // Refresh every 1.5 seconds
+        }, () -> unmarkPlayer(playerId), 0L, 30L); // Refresh every 1.5 seconds
         
         glowTasks.put(playerId, glowTask);
     }
@@ -458,8 +472,8 @@ public class WantedLevelManager {
         }
         
         // Use safer individual glow effects instead of team packets
-        for (Player guard : Bukkit.getOnlinePlayers()) {
-            if (plugin.getDutyManager().isOnDuty(guard.getUniqueId()) && !guard.equals(targetPlayer)) {
+        for (Player guard : plugin.getPlayerSpatialIndex().getPlayers(PlayerSpatialIndex.ROLE_GUARD)) {
+            if (!guard.equals(targetPlayer)) {
                 sendGlowEffectToGuard(guard, targetPlayer, true);
             }
         }
@@ -474,6 +488,7 @@ public class WantedLevelManager {
         }
         
         markedPlayers.remove(playerId);
+        plugin.getPlayerSpatialIndex().refreshRoles(playerId);
         
         // Cancel glow task
         if (glowTasks.containsKey(playerId)) {
@@ -485,9 +500,9 @@ public class WantedLevelManager {
         Player player = Bukkit.getPlayer(playerId);
         if (player != null && player.isOnline()) {
             // Remove glow effect from all guards
-            for (Player guard : Bukkit.getOnlinePlayers()) {
-                if (plugin.getDutyManager().isOnDuty(guard.getUniqueId()) && !guard.equals(player)) {
-                    sendGlowEffectToGuard(guard, player, false);
+            for (Player guard : plugin.getPlayerSpatialIndex().getPlayers(PlayerSpatialIndex.ROLE_GUARD)) {
+                if (!guard.equals(player)) {
+                    plugin.getTaskScheduler().runForEntity(guard, () -> sendGlowEffectToGuard(guard, player, false));
                 }
             }
             
@@ -521,8 +536,8 @@ public class WantedLevelManager {
         }
         
         // Use safer individual glow removal instead of team packets
-        for (Player guard : Bukkit.getOnlinePlayers()) {
-            if (plugin.getDutyManager().isOnDuty(guard.getUniqueId()) && !guard.equals(targetPlayer)) {
+        for (Player guard : plugin.getPlayerSpatialIndex().getPlayers(PlayerSpatialIndex.ROLE_GUARD)) {
+            if (!guard.equals(targetPlayer)) {
                 sendGlowEffectToGuard(guard, targetPlayer, false);
             }
         }
@@ -547,10 +562,8 @@ public class WantedLevelManager {
             Component message = MessageUtils.parseMessage(
                 "<yellow>🎯 Marked player " + player.getName() + " has died - mark removed.</yellow>");
             
-            for (Player online : Bukkit.getOnlinePlayers()) {
-                if (plugin.getDutyManager().isOnDuty(online.getUniqueId())) {
-                    online.sendMessage(message);
-                }
+            for (Player online : plugin.getPlayerSpatialIndex().getPlayers(PlayerSpatialIndex.ROLE_GUARD)) {
+                online.sendMessage(message);
             }
         }
     }
@@ -569,10 +582,8 @@ public class WantedLevelManager {
         Component message = MessageUtils.parseMessage(
             "<green>🎯 " + player.getName() + " has been jailed - wanted level and mark cleared.</green>");
         
-        for (Player online : Bukkit.getOnlinePlayers()) {
-            if (plugin.getDutyManager().isOnDuty(online.getUniqueId())) {
-                online.sendMessage(message);
-            }
+        for (Player online : plugin.getPlayerSpatialIndex().getPlayers(PlayerSpatialIndex.ROLE_GUARD)) {
+            online.sendMessage(message);
         }
     }
 
@@ -609,16 +620,13 @@ public class WantedLevelManager {
         wantedLevels.remove(playerId);
         wantedTimers.remove(playerId);
         unmarkPlayer(playerId);
-        
-        if (resetTasks.containsKey(playerId)) {
-            resetTasks.get(playerId).cancel();
-            resetTasks.remove(playerId);
-        }
+        plugin.getDeadlineTimeline().cancel(DeadlineTimeline.Kind.WANTED_EXPIRY, playerId);
+        plugin.getPlayerSpatialIndex().refreshRoles(playerId);
         
         // Remove any glow effects
         Player player = Bukkit.getPlayer(playerId);
         if (player != null && player.isOnline()) {
-            player.removePotionEffect(PotionEffectType.GLOWING);
+            plugin.getTaskScheduler().runForEntity(player, () -> player.removePotionEffect(PotionEffectType.GLOWING));
         }
         
         saveWantedData();
@@ -629,10 +637,7 @@ public class WantedLevelManager {
      */
     public void shutdown() {
         // Cancel all tasks
-        for (BukkitTask task : resetTasks.values()) {
-            task.cancel();
-        }
-        for (BukkitTask task : glowTasks.values()) {
+        for (CorrectionsTask task : glowTasks.values()) {
             task.cancel();
         }
         
@@ -656,7 +661,6 @@ public class WantedLevelManager {
         // Save data
         saveWantedData();
         
-        resetTasks.clear();
         glowTasks.clear();
     }
 
@@ -717,16 +721,8 @@ public class WantedLevelManager {
      * Reload wanted level configurations and clear active tasks
      */
     public void reload() {
-        // Cancel all active reset tasks
-        for (BukkitTask task : resetTasks.values()) {
-            if (task != null && !task.isCancelled()) {
-                task.cancel();
-            }
-        }
-        resetTasks.clear();
-
         // Cancel all glow tasks
-        for (BukkitTask task : glowTasks.values()) {
+        for (CorrectionsTask task : glowTasks.values()) {
             if (task != null && !task.isCancelled()) {
                 task.cancel();
             }
@@ -756,13 +752,8 @@ public class WantedLevelManager {
     public boolean canAccessRegion(Player player, String region) {
         if (!hasWantedRestrictions(player.getUniqueId())) return true;
         
-        // Use ChaseManager's region checking logic for consistency
-        ChaseManager chaseManager = plugin.getChaseManager();
-        if (chaseManager.isMineRegion(region)) return false;
-        if (chaseManager.isCellRegion(region)) return false;
-        if (chaseManager.isRegionRestricted(region)) return false;
-        
-        return true;
+        // Wanted players share the chase region rules
+        return !plugin.getRegionRuleIndex().has(region, RegionRuleIndex.WANTED_BLOCKED);
     }
     
     /**
@@ -771,9 +762,8 @@ public class WantedLevelManager {
     public boolean isCommandRestricted(Player player, String command) {
         if (!hasWantedRestrictions(player.getUniqueId())) return false;
         
-        ChaseManager chaseManager = plugin.getChaseManager();
-        return chaseManager.isCommandRestricted(command) || 
-               chaseManager.isTeleportCommand(command);
+        // Wanted players share the chase command rules
+        return plugin.getCommandRuleIndex().matches(command, CommandRuleIndex.CHASE_DENIED);
     }
     
     /**
@@ -1,21 +1,22 @@
 package dev.lsdmc.edencorrections.managers;
 
 import dev.lsdmc.edencorrections.EdenCorrections;
+import dev.lsdmc.edencorrections.scheduler.CorrectionsTask;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
 import org.bukkit.Bukkit;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.entity.Player;
-import org.bukkit.scheduler.BukkitTask;
 
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class WantedManager {
     private final EdenCorrections plugin;
     private final Map<UUID, WantedData> wantedPlayers = new HashMap<>();
-    private final Map<UUID, BukkitTask> wantedTasks = new HashMap<>();
+    private final Map<UUID, CorrectionsTask> wantedTasks = new ConcurrentHashMap<>();
     private final int maxWantedLevel;
     private final Map<Integer, Integer> wantedTimes;
     private final Map<Integer, Integer> wantedRewards;
@@ -117,7 +118,7 @@ public class WantedManager {
         UUID playerId = player.getUniqueId();
         WantedData data = wantedPlayers.get(playerId);
         
-        BukkitTask task = Bukkit.getScheduler().runTaskTimer(plugin, () -> {
+        CorrectionsTask task = plugin.getTaskScheduler().runAtEntityTimer(player, handle -> {
             if (data.timeRemaining <= 0) {
                 removeWantedLevel(player);
                 return;
@@ -1,6 +1,7 @@
 package dev.lsdmc.edencorrections.placeholders;
 
 import dev.lsdmc.edencorrections.EdenCorrections;
+import dev.lsdmc.edencorrections.managers.ContrabandClassifier;
 import dev.lsdmc.edencorrections.utils.LuckPermsUtil;
 import dev.lsdmc.edencorrections.utils.MessageUtils;
 import me.clip.placeholderapi.expansion.PlaceholderExpansion;
@@ -44,12 +45,24 @@ public class CorrectionsPlaceholders extends PlaceholderExpansion {
             if (identifier.equals("online_guards")) {
                 return String.valueOf(plugin.getGuardBuffManager().getOnlineGuardCount());
             }
+            if (identifier.equals("contraband_total")) {
+                // Contraband and drugs held across the whole prison, from the ledger
+                return String.valueOf(plugin.getContrabandLedger().getTotal(ContrabandClassifier.CONTRABAND | ContrabandClassifier.DRUG));
+            }
             return "";
         }
 
         UUID uuid = player.getUniqueId();
 
         switch (identifier) {
+            case "contraband_count":
+                // Contraband and drug items the player is carrying
+                if (player.isOnline()) {
+                    return String.valueOf(plugin.getContrabandLedger().get(player.getPlayer())
+                            .amount(ContrabandClassifier.CONTRABAND | ContrabandClassifier.DRUG));
+                }
+                return "0";
+
             case "is_on_duty":
                 return plugin.getDutyManager().isOnDuty(uuid) ? "Yes" : "No";
 
@@ -0,0 +1,71 @@
+package dev.lsdmc.edencorrections.regions;
+
+import dev.lsdmc.edencorrections.EdenCorrections;
+import dev.lsdmc.edencorrections.utils.MessageUtils;
+
+import static dev.lsdmc.edencorrections.regions.MovementPipeline.Denial;
+import static dev.lsdmc.edencorrections.regions.MovementPipeline.ROLE_CHASED;
+import static dev.lsdmc.edencorrections.regions.MovementPipeline.ROLE_IMMOBILIZED;
+import static dev.lsdmc.edencorrections.regions.MovementPipeline.ROLE_ON_DUTY;
+import static dev.lsdmc.edencorrections.regions.MovementPipeline.ROLE_PENALTY_LOCKED;
+import static dev.lsdmc.edencorrections.regions.MovementPipeline.ROLE_WANTED;
+
+/**
+ * The plugin's own movement rules, in the order they used to run across GuardListener and
+ * ChaseListener: guard checks first, then chase and wanted region restrictions.
+ */
+public final class DefaultMovementRules {
+    private DefaultMovementRules() {
+    }
+
+    public static void register(EdenCorrections plugin, MovementPipeline pipeline) {
+        // Immobilized guards cannot move at all
+        pipeline.register("immobilized", 10, ROLE_ON_DUTY | ROLE_IMMOBILIZED, context ->
+                Denial.cancel(player -> plugin.getDutyManager().sendImmobilizationReminderWithCooldown(player)));
+
+        // On-duty guards being chased
+        pipeline.register("guard-chase", 20, ROLE_ON_DUTY | ROLE_CHASED, context ->
+                (context.getToMask() & RegionRuleIndex.CHASE_BLOCKED) == 0 ? null
+                        : Denial.cancel(player -> pipeline.sendCooldownMessage(player,
+                                "§cYou cannot enter this area while being chased!")));
+
+        // Death-penalty lock keeps guards inside the penalty zone
+        pipeline.register("guard-penalty", 30, ROLE_ON_DUTY | ROLE_PENALTY_LOCKED, context ->
+                (context.getToMask() & RegionRuleIndex.PENALTY_ZONE) != 0 ? null
+                        : Denial.cancel(player -> plugin.getGuardPenaltyManager().handleRestrictedRegionExit(player)));
+
+        // General guard movement restrictions
+        pipeline.register("guard-region", 40, ROLE_ON_DUTY, context ->
+                (context.getToMask() & RegionRuleIndex.GUARD_BLOCKED) == 0 ? null
+                        : Denial.cancel(player -> pipeline.sendCooldownMessage(player,
+                                plugin.getGuardRestrictionManager().getMovementRestrictionMessage())));
+
+        // Chased players may not enter restricted, mine or cell regions
+        pipeline.register("chase-region", 50, ROLE_CHASED, context -> {
+            String region = context.findToRegion(RegionRuleIndex.CHASE_DENIED);
+            if (region == null) {
+                return null;
+            }
+            String restrictionType = restrictionType(plugin.getRegionRuleIndex().getMask(region));
+            return Denial.bounce(player -> player.sendMessage(MessageUtils.parseMessage(
+                    plugin.getChaseManager().getRestrictionMessage(player, restrictionType))));
+        });
+
+        // Wanted players (3+ stars) share the chase region rules
+        pipeline.register("wanted-region", 60, ROLE_WANTED, context -> {
+            String region = context.findToRegion(RegionRuleIndex.WANTED_BLOCKED);
+            if (region == null) {
+                return null;
+            }
+            String restrictionType = restrictionType(plugin.getRegionRuleIndex().getMask(region));
+            return Denial.bounce(player -> player.sendMessage(MessageUtils.parseMessage(
+                    plugin.getWantedLevelManager().getRestrictionMessage(player, restrictionType))));
+        });
+    }
+
+    private static String restrictionType(int mask) {
+        if ((mask & RegionRuleIndex.MINE) != 0) return "mine";
+        if ((mask & RegionRuleIndex.CELL) != 0) return "cell";
+        return "region";
+    }
+}
@@ -0,0 +1,113 @@
+package dev.lsdmc.edencorrections.regions;
+
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * One block change as seen by the movement rules: who moved, their roles, and the region
+ * transition. Region masks and the entered/left sets are computed on first use and shared by
+ * every rule that asks.
+ */
+public class MovementContext {
+    private final RegionRuleIndex ruleIndex;
+    private final Player player;
+    private final Location from;
+    private final Location to;
+    private final int roles;
+    private final Set<String> fromRegions;
+    private final Set<String> toRegions;
+
+    private int toMask = -1;
+    private Set<String> entered;
+    private Set<String> left;
+
+    public MovementContext(RegionRuleIndex ruleIndex, Player player, Location from, Location to, int roles,
+                           Set<String> fromRegions, Set<String> toRegions) {
+        this.ruleIndex = ruleIndex;
+        this.player = player;
+        this.from = from;
+        this.to = to;
+        this.roles = roles;
+        this.fromRegions = fromRegions;
+        this.toRegions = toRegions;
+    }
+
+    /**
+     * @return The moving player, or null for a simulated move
+     */
+    public Player getPlayer() {
+        return player;
+    }
+
+    public Location getFrom() {
+        return from;
+    }
+
+    public Location getTo() {
+        return to;
+    }
+
+    public int getRoles() {
+        return roles;
+    }
+
+    public boolean hasRole(int role) {
+        return (roles & role) != 0;
+    }
+
+    public Set<String> getFromRegions() {
+        return fromRegions;
+    }
+
+    public Set<String> getToRegions() {
+        return toRegions;
+    }
+
+    /**
+     * @return Union of the rule flags of every region at the destination
+     */
+    public int getToMask() {
+        if (toMask < 0) {
+            toMask = ruleIndex.getMask(toRegions);
+        }
+        return toMask;
+    }
+
+    /**
+     * @return The first destination region carrying any of the flags, or null
+     */
+    public String findToRegion(int flags) {
+        return (getToMask() & flags) == 0 ? null : ruleIndex.findFirst(toRegions, flags);
+    }
+
+    public boolean isRegionChange() {
+        // The cache hands back the same instance while the region set is unchanged
+        return fromRegions != toRegions && !fromRegions.equals(toRegions);
+    }
+
+    public Set<String> getEntered() {
+        if (entered == null) {
+            entered = difference(toRegions, fromRegions);
+        }
+        return entered;
+    }
+
+    public Set<String> getLeft() {
+        if (left == null) {
+            left = difference(fromRegions, toRegions);
+        }
+        return left;
+    }
+
+    private static Set<String> difference(Set<String> a, Set<String> b) {
+        if (a.isEmpty() || a == b) {
+            return Set.of();
+        }
+        Set<String> result = new HashSet<>(a);
+        result.removeAll(b);
+        return result.isEmpty() ? Set.of() : result;
+    }
+}
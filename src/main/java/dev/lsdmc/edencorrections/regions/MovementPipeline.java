@@ -0,0 +1,355 @@
+package dev.lsdmc.edencorrections.regions;
+
+import dev.lsdmc.edencorrections.EdenCorrections;
+import dev.lsdmc.edencorrections.events.CorrectionsRegionEnterEvent;
+import dev.lsdmc.edencorrections.events.CorrectionsRegionLeaveEvent;
+import dev.lsdmc.edencorrections.scheduler.LatencyHistogram;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerMoveEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Single entry point for player movement.
+ *
+ * Each block change resolves the mover's roles and region transition once, then runs the
+ * registered rules in order; the first rule that denies the move stops the chain. Moves that
+ * pass publish {@link CorrectionsRegionLeaveEvent} and {@link CorrectionsRegionEnterEvent} for
+ * every region crossed. Players with no role and no event subscribers skip the region lookup.
+ */
+public class MovementPipeline implements Listener {
+    public static final int ROLE_ON_DUTY = 1;
+    public static final int ROLE_IMMOBILIZED = 1 << 1;
+    public static final int ROLE_CHASED = 1 << 2;
+    public static final int ROLE_WANTED = 1 << 3;
+    public static final int ROLE_PENALTY_LOCKED = 1 << 4;
+
+    private static final long MESSAGE_COOLDOWN = 1500; // 1.5 seconds
+
+    private final EdenCorrections plugin;
+    private volatile List<RegisteredRule> rules = List.of();
+    private final Map<UUID, Long> lastMessageTime = new ConcurrentHashMap<>();
+
+    private final LongAdder moves = new LongAdder();
+    private final LongAdder evaluated = new LongAdder();
+    private final LongAdder denied = new LongAdder();
+    private final LatencyHistogram moveTime = new LatencyHistogram();
+
+    public MovementPipeline(EdenCorrections plugin) {
+        this.plugin = plugin;
+        Bukkit.getPluginManager().registerEvents(this, plugin);
+    }
+
+    /**
+     * A movement rule. Returns null to let the move through, or a denial to stop it.
+     * Rules must not touch the player directly; side effects belong in the denial.
+     */
+    @FunctionalInterface
+    public interface MovementRule {
+        Denial check(MovementContext context);
+    }
+
+    /**
+     * Outcome of a denied move
+     * @param effect Feedback for the player, run only for real moves
+     * @param bounce Whether to also push the player back to where they came from
+     */
+    public record Denial(Consumer<Player> effect, boolean bounce) {
+        public static Denial cancel(Consumer<Player> effect) {
+            return new Denial(effect, false);
+        }
+
+        public static Denial bounce(Consumer<Player> effect) {
+            return new Denial(effect, true);
+        }
+    }
+
+    /**
+     * Add a rule to the chain
+     * @param name Shown in debug output
+     * @param order Lower runs first
+     * @param requiredRoles Role bits the mover must all have for the rule to run
+     */
+    public synchronized void register(String name, int order, int requiredRoles, MovementRule rule) {
+        List<RegisteredRule> sorted = new ArrayList<>(rules);
+        sorted.add(new RegisteredRule(name, order, requiredRoles, rule));
+        sorted.sort(Comparator.comparingInt(RegisteredRule::order));
+        rules = List.copyOf(sorted);
+    }
+
+    @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
+    public void onPlayerMove(PlayerMoveEvent event) {
+        Location from = event.getFrom();
+        Location to = event.getTo();
+        if (from.getBlockX() == to.getBlockX() && from.getBlockY() == to.getBlockY()
+                && from.getBlockZ() == to.getBlockZ() && from.getWorld() == to.getWorld()) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        moves.increment();
+        Player player = event.getPlayer();
+        int roles = rolesOf(player);
+        boolean publish = hasRegionSubscribers();
+        if (roles == 0 && !publish) {
+            return;
+        }
+
+        RegionCache cache = plugin.getRegionCache();
+        // Deep inside the same regions nothing can be entered or left, so only role rules matter
+        if (roles == 0 && cache.isUnchanged(player, from, to)) {
+            return;
+        }
+        // The cache usually still holds the previous block, so "from" is a hit
+        Set<String> fromRegions = cache.getRegions(player, from);
+        Set<String> toRegions = cache.getRegions(player, to);
+        MovementContext context = new MovementContext(plugin.getRegionRuleIndex(), player, from, to, roles,
+                fromRegions, toRegions);
+
+        Denial denial = evaluate(context);
+        if (denial != null) {
+            event.setCancelled(true);
+            if (denial.bounce()) {
+                bounce(player, from);
+            }
+            if (denial.effect() != null) {
+                denial.effect().accept(player);
+            }
+        } else if (publish && context.isRegionChange() && !publishTransition(context)) {
+            event.setCancelled(true);
+        }
+        moveTime.record(System.nanoTime() - start);
+    }
+
+    /**
+     * Run the rule chain for a move and return the first denial, or null if every rule passed
+     */
+    public Denial evaluate(MovementContext context) {
+        evaluated.increment();
+        int roles = context.getRoles();
+        for (RegisteredRule rule : rules) {
+            if ((roles & rule.requiredRoles()) != rule.requiredRoles()) {
+                continue;
+            }
+            Denial denial = rule.rule().check(context);
+            if (denial != null) {
+                denied.increment();
+                if (plugin.getConfigManager().isDebugEnabled()) {
+                    plugin.getLogger().info("Movement rule '" + rule.name() + "' denied move for "
+                            + context.getPlayer().getName());
+                }
+                return denial;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The rule chain without live statistics, for simulated moves
+     */
+    private Denial evaluateSimulated(MovementContext context) {
+        int roles = context.getRoles();
+        for (RegisteredRule rule : rules) {
+            if ((roles & rule.requiredRoles()) == rule.requiredRoles()) {
+                Denial denial = rule.rule().check(context);
+                if (denial != null) {
+                    return denial;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return false if a listener cancelled any of the leave or enter events
+     */
+    private boolean publishTransition(MovementContext context) {
+        Player player = context.getPlayer();
+        RegionRuleIndex index = plugin.getRegionRuleIndex();
+        for (String regionId : context.getLeft()) {
+            CorrectionsRegionLeaveEvent leave = new CorrectionsRegionLeaveEvent(player, regionId,
+                    index.getMask(regionId), context.getFrom(), context.getTo());
+            Bukkit.getPluginManager().callEvent(leave);
+            if (leave.isCancelled()) {
+                return false;
+            }
+        }
+        for (String regionId : context.getEntered()) {
+            CorrectionsRegionEnterEvent enter = new CorrectionsRegionEnterEvent(player, regionId,
+                    index.getMask(regionId), context.getFrom(), context.getTo());
+            Bukkit.getPluginManager().callEvent(enter);
+            if (enter.isCancelled()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean hasRegionSubscribers() {
+        return CorrectionsRegionEnterEvent.getHandlerList().getRegisteredListeners().length > 0
+                || CorrectionsRegionLeaveEvent.getHandlerList().getRegisteredListeners().length > 0;
+    }
+
+    private int rolesOf(Player player) {
+        UUID playerId = player.getUniqueId();
+        int roles = 0;
+        if (plugin.getDutyManager().isOnDuty(playerId)) {
+            roles |= ROLE_ON_DUTY;
+            if (plugin.getDutyManager().isPlayerImmobilized(playerId)) {
+                roles |= ROLE_IMMOBILIZED;
+            }
+            if (plugin.getGuardPenaltyManager().isPlayerLocked(playerId)) {
+                roles |= ROLE_PENALTY_LOCKED;
+            }
+        }
+        if (plugin.getChaseManager().isBeingChased(player)) {
+            roles |= ROLE_CHASED;
+        }
+        if (plugin.getWantedLevelManager().hasWantedRestrictions(playerId)) {
+            roles |= ROLE_WANTED;
+        }
+        return roles;
+    }
+
+    /**
+     * Push a player back to a safe spot near where they came from (prevents getting stuck)
+     */
+    private void bounce(Player player, Location safeLocation) {
+        if (safeLocation != null && safeLocation.getWorld() != null) {
+            Location safe = safeLocation.clone();
+            safe.setY(Math.max(safe.getY(), safe.getWorld().getHighestBlockYAt(safe) + 1));
+            player.teleportAsync(safe);
+        }
+    }
+
+    /**
+     * Send a movement message at most once per cooldown window
+     */
+    public void sendCooldownMessage(Player player, String message) {
+        UUID playerId = player.getUniqueId();
+        long now = System.currentTimeMillis();
+        Long lastTime = lastMessageTime.get(playerId);
+
+        if (lastTime == null || now - lastTime >= MESSAGE_COOLDOWN) {
+            player.sendMessage(message);
+            lastMessageTime.put(playerId, now);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        lastMessageTime.remove(event.getPlayer().getUniqueId());
+    }
+
+    /**
+     * Microbenchmark of the rule chain alone, driven by simulated players walking between real
+     * region ids. Measures role filtering, transition diffing, mask lookups and rule dispatch.
+     * Region sets are made up rather than looked up, so the RegionCache and WorldGuard are never
+     * queried, no enter/leave events are fired and no effects run. The result is a lower bound
+     * on the per-move cost; the live cost is in {@link #getStats()}.
+     */
+    public RuleChainBenchmark benchmarkRuleChain(int playerCount, int movesPerPlayer) {
+        List<String> pool = new ArrayList<>(plugin.getRegionRuleIndex().getCompiledIds());
+        if (pool.isEmpty()) {
+            for (int i = 0; i < 32; i++) {
+                pool.add("benchmark_region_" + i);
+            }
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int[] roles = new int[playerCount];
+        List<Set<String>> positions = new ArrayList<>(playerCount);
+        for (int i = 0; i < playerCount; i++) {
+            int r = 0;
+            if (random.nextInt(100) < 30) r |= ROLE_ON_DUTY;
+            if ((r & ROLE_ON_DUTY) != 0 && random.nextInt(100) < 5) r |= ROLE_PENALTY_LOCKED;
+            if (random.nextInt(100) < 5) r |= ROLE_CHASED;
+            if (random.nextInt(100) < 10) r |= ROLE_WANTED;
+            roles[i] = r;
+            positions.add(randomRegions(pool, random));
+        }
+
+        LatencyHistogram perMove = new LatencyHistogram();
+        long deniedMoves = 0;
+        long transitions = 0;
+        long started = System.nanoTime();
+        for (int move = 0; move < movesPerPlayer; move++) {
+            for (int i = 0; i < playerCount; i++) {
+                Set<String> fromRegions = positions.get(i);
+                // Most block changes stay inside the same regions
+                Set<String> toRegions = random.nextInt(100) < 10 ? randomRegions(pool, random) : fromRegions;
+
+                long start = System.nanoTime();
+                MovementContext context = new MovementContext(plugin.getRegionRuleIndex(), null, null, null,
+                        roles[i], fromRegions, toRegions);
+                Denial denial = roles[i] == 0 ? null : evaluateSimulated(context);
+                if (denial == null && context.isRegionChange()) {
+                    transitions += context.getEntered().size() + context.getLeft().size();
+                }
+                perMove.record(System.nanoTime() - start);
+
+                if (denial != null) {
+                    deniedMoves++;
+                } else {
+                    positions.set(i, toRegions);
+                }
+            }
+        }
+        long elapsed = System.nanoTime() - started;
+        return new RuleChainBenchmark(playerCount, (long) playerCount * movesPerPlayer, elapsed,
+                perMove.meanNanos(), perMove.percentileNanos(0.50), perMove.percentileNanos(0.99),
+                perMove.maxNanos(), deniedMoves, transitions);
+    }
+
+    private static Set<String> randomRegions(List<String> pool, ThreadLocalRandom random) {
+        int count = random.nextInt(4);
+        if (count == 0) {
+            return Set.of();
+        }
+        Set<String> regions = new HashSet<>();
+        for (int i = 0; i < count; i++) {
+            regions.add(pool.get(random.nextInt(pool.size())));
+        }
+        return Set.copyOf(regions);
+    }
+
+    public Stats getStats() {
+        return new Stats(rules.size(), moves.sum(), evaluated.sum(), denied.sum(),
+                moveTime.percentileNanos(0.50), moveTime.percentileNanos(0.99), moveTime.maxNanos());
+    }
+
+    public List<String> getRuleNames() {
+        List<String> names = new ArrayList<>();
+        for (RegisteredRule rule : rules) {
+            names.add(rule.order() + ":" + rule.name());
+        }
+        return names;
+    }
+
+    public record Stats(int rules, long moves, long evaluated, long denied, long p50Nanos, long p99Nanos,
+                        long maxNanos) {
+    }
+
+    public record RuleChainBenchmark(int players, long moves, long elapsedNanos, long meanNanos, long p50Nanos,
+                                  long p99Nanos, long maxNanos, long denied, long transitions) {
+    }
+
+    private record RegisteredRule(String name, int order, int requiredRoles, MovementRule rule) {
+    }
+}
@@ -0,0 +1,355 @@
+package dev.lsdmc.edencorrections.regions;
+
+import dev.lsdmc.edencorrections.EdenCorrections;
+import dev.lsdmc.edencorrections.events.GuardDutyEndEvent;
+import dev.lsdmc.edencorrections.events.GuardDutyStartEvent;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerMoveEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.player.PlayerRespawnEvent;
+import org.bukkit.event.player.PlayerTeleportEvent;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Uniform-grid index of online players per world, tagged with their corrections roles.
+ *
+ * Players are bucketed into 16x16 block columns and only move between buckets when they cross
+ * a column edge, so keeping the index current costs a few field writes per move. "Who is near
+ * X" queries then visit the handful of columns the radius touches instead of every entity in
+ * the world, and can filter by role (on-duty guard, wanted, marked, jailed) without asking the
+ * managers about each candidate.
+ */
+public class PlayerSpatialIndex implements Listener {
+    public static final int ROLE_GUARD = 1;
+    public static final int ROLE_WANTED = 1 << 1;
+    public static final int ROLE_MARKED = 1 << 2;
+    public static final int ROLE_JAILED = 1 << 3;
+
+    private static final int CELL_SHIFT = 4; // 16-block columns
+
+    private final EdenCorrections plugin;
+    private final Map<UUID, Tracked> players = new ConcurrentHashMap<>();
+    private final Map<UUID, Map<Long, Set<Tracked>>> worlds = new ConcurrentHashMap<>();
+
+    public PlayerSpatialIndex(EdenCorrections plugin) {
+        this.plugin = plugin;
+        Bukkit.getPluginManager().registerEvents(this, plugin);
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            track(player, player.getLocation());
+        }
+    }
+
+    // ---- Queries ----
+
+    /**
+     * Players within a sphere around a point
+     * @param anyRoles Only players with at least one of these roles (0 for any)
+     * @param excludedRoles Skip players with any of these roles (0 to skip none)
+     */
+    public List<Player> getNearby(Location center, double radius, int anyRoles, int excludedRoles) {
+        List<Player> result = new ArrayList<>();
+        forEachNearby(center, radius, anyRoles, excludedRoles, (tracked, distanceSquared) -> result.add(tracked.player));
+        return result;
+    }
+
+    public List<Player> getNearby(Location center, double radius) {
+        return getNearby(center, radius, 0, 0);
+    }
+
+    /**
+     * Count players within a sphere, filtered like {@link #getNearby(Location, double, int, int)}
+     */
+    public int count(Location center, double radius, int anyRoles, int excludedRoles) {
+        int[] count = new int[1];
+        forEachNearby(center, radius, anyRoles, excludedRoles, (tracked, distanceSquared) -> count[0]++);
+        return count[0];
+    }
+
+    /**
+     * Up to k players closest to a point, nearest first
+     */
+    public List<Player> getNearest(Location center, int k, double maxRadius, int anyRoles, int excludedRoles) {
+        List<Candidate> candidates = new ArrayList<>();
+        forEachNearby(center, maxRadius, anyRoles, excludedRoles,
+                (tracked, distanceSquared) -> candidates.add(new Candidate(tracked.player, distanceSquared)));
+        candidates.sort(Comparator.comparingDouble(Candidate::distanceSquared));
+
+        List<Player> result = new ArrayList<>(Math.min(k, candidates.size()));
+        for (int i = 0; i < candidates.size() && i < k; i++) {
+            result.add(candidates.get(i).player());
+        }
+        return result;
+    }
+
+    /**
+     * Every online player with at least one of the roles, in any world
+     */
+    public List<Player> getPlayers(int anyRoles) {
+        List<Player> result = new ArrayList<>();
+        for (Tracked tracked : players.values()) {
+            if ((tracked.roles & anyRoles) != 0) {
+                result.add(tracked.player);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Where a player is, safe to call from any thread. On the player's own thread this is their
+     * live location; elsewhere it is the position their last move left in the index.
+     * @return The location, or null if the player is not tracked
+     */
+    public Location getLocation(Player player) {
+        if (plugin.getTaskScheduler().isOwnedByCurrentThread(player)) {
+            return player.getLocation();
+        }
+        Tracked tracked = players.get(player.getUniqueId());
+        World world = tracked != null && tracked.worldId != null ? Bukkit.getWorld(tracked.worldId) : null;
+        return world != null ? new Location(world, tracked.x, tracked.y, tracked.z) : null;
+    }
+
+    public boolean hasRole(UUID playerId, int role) {
+        Tracked tracked = players.get(playerId);
+        return tracked != null && (tracked.roles & role) != 0;
+    }
+
+    public int getTrackedCount() {
+        return players.size();
+    }
+
+    private void forEachNearby(Location center, double radius, int anyRoles, int excludedRoles, Visitor visitor) {
+        World world = center.getWorld();
+        if (world == null) {
+            return;
+        }
+        Map<Long, Set<Tracked>> grid = worlds.get(world.getUID());
+        if (grid == null) {
+            return;
+        }
+
+        double cx = center.getX();
+        double cy = center.getY();
+        double cz = center.getZ();
+        double radiusSquared = radius * radius;
+        int minCellX = floor(cx - radius) >> CELL_SHIFT;
+        int maxCellX = floor(cx + radius) >> CELL_SHIFT;
+        int minCellZ = floor(cz - radius) >> CELL_SHIFT;
+        int maxCellZ = floor(cz + radius) >> CELL_SHIFT;
+
+        for (int cellX = minCellX; cellX <= maxCellX; cellX++) {
+            for (int cellZ = minCellZ; cellZ <= maxCellZ; cellZ++) {
+                Set<Tracked> cell = grid.get(cellKey(cellX, cellZ));
+                if (cell == null) {
+                    continue;
+                }
+                for (Tracked tracked : cell) {
+                    int roles = tracked.roles;
+                    if (anyRoles != 0 && (roles & anyRoles) == 0) continue;
+                    if ((roles & excludedRoles) != 0) continue;
+
+                    double dx = tracked.x - cx;
+                    double dy = tracked.y - cy;
+                    double dz = tracked.z - cz;
+                    double distanceSquared = dx * dx + dy * dy + dz * dz;
+                    if (distanceSquared <= radiusSquared) {
+                        visitor.visit(tracked, distanceSquared);
+                    }
+                }
+            }
+        }
+    }
+
+    // ---- Maintenance ----
+
+    /**
+     * Re-read a player's roles from the managers. Called wherever duty, wanted, mark or jail
+     * state changes.
+     */
+    public void refreshRoles(UUID playerId) {
+        Tracked tracked = players.get(playerId);
+        if (tracked != null) {
+            tracked.roles = computeRoles(playerId);
+        }
+    }
+
+    private int computeRoles(UUID playerId) {
+        int roles = 0;
+        if (plugin.getDutyManager() != null && plugin.getDutyManager().isOnDuty(playerId)) {
+            roles |= ROLE_GUARD;
+        }
+        if (plugin.getWantedLevelManager() != null) {
+            if (plugin.getWantedLevelManager().getWantedLevel(playerId) > 0) {
+                roles |= ROLE_WANTED;
+            }
+            if (plugin.getWantedLevelManager().isMarked(playerId)) {
+                roles |= ROLE_MARKED;
+            }
+        }
+        if (plugin.getJailManager() != null && plugin.getJailManager().isJailed(playerId)) {
+            roles |= ROLE_JAILED;
+        }
+        return roles;
+    }
+
+    private void track(Player player, Location location) {
+        Tracked tracked = players.computeIfAbsent(player.getUniqueId(), id -> new Tracked(player));
+        tracked.roles = computeRoles(player.getUniqueId());
+        move(tracked, location);
+    }
+
+    private void move(Tracked tracked, Location location) {
+        World world = location.getWorld();
+        if (world == null) {
+            return;
+        }
+        UUID worldId = world.getUID();
+        long cell = cellKey(location.getBlockX() >> CELL_SHIFT, location.getBlockZ() >> CELL_SHIFT);
+
+        tracked.x = location.getX();
+        tracked.y = location.getY();
+        tracked.z = location.getZ();
+        if (worldId.equals(tracked.worldId) && cell == tracked.cell) {
+            return;
+        }
+
+        unlink(tracked);
+        tracked.worldId = worldId;
+        tracked.cell = cell;
+        worlds.computeIfAbsent(worldId, id -> new ConcurrentHashMap<>())
+                .computeIfAbsent(cell, key -> ConcurrentHashMap.newKeySet())
+                .add(tracked);
+    }
+
+    private void unlink(Tracked tracked) {
+        if (tracked.worldId == null) {
+            return;
+        }
+        Map<Long, Set<Tracked>> grid = worlds.get(tracked.worldId);
+        if (grid != null) {
+            grid.computeIfPresent(tracked.cell, (key, cell) -> {
+                cell.remove(tracked);
+                return cell.isEmpty() ? null : cell;
+            });
+        }
+        tracked.worldId = null;
+    }
+
+    private void untrack(UUID playerId) {
+        Tracked tracked = players.remove(playerId);
+        if (tracked != null) {
+            unlink(tracked);
+        }
+    }
+
+    /**
+     * Rebuild from the online player list, e.g. after a reload
+     */
+    public void reload() {
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            track(player, player.getLocation());
+        }
+    }
+
+    public void shutdown() {
+        players.clear();
+        worlds.clear();
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlayerMove(PlayerMoveEvent event) {
+        Tracked tracked = players.get(event.getPlayer().getUniqueId());
+        if (tracked != null) {
+            move(tracked, event.getTo());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlayerTeleport(PlayerTeleportEvent event) {
+        Tracked tracked = players.get(event.getPlayer().getUniqueId());
+        if (tracked != null && event.getTo() != null) {
+            move(tracked, event.getTo());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerRespawn(PlayerRespawnEvent event) {
+        Tracked tracked = players.get(event.getPlayer().getUniqueId());
+        if (tracked != null) {
+            move(tracked, event.getRespawnLocation());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerChangedWorld(PlayerChangedWorldEvent event) {
+        Tracked tracked = players.get(event.getPlayer().getUniqueId());
+        if (tracked != null) {
+            move(tracked, event.getPlayer().getLocation());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        track(event.getPlayer(), event.getPlayer().getLocation());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        untrack(event.getPlayer().getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onGuardDutyStart(GuardDutyStartEvent event) {
+        refreshRoles(event.getPlayer().getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onGuardDutyEnd(GuardDutyEndEvent event) {
+        refreshRoles(event.getPlayer().getUniqueId());
+    }
+
+    private static int floor(double value) {
+        int floor = (int) value;
+        return value < floor ? floor - 1 : floor;
+    }
+
+    private static long cellKey(int cellX, int cellZ) {
+        return ((long) cellX << 32) | (cellZ & 0xFFFFFFFFL);
+    }
+
+    @FunctionalInterface
+    private interface Visitor {
+        void visit(Tracked tracked, double distanceSquared);
+    }
+
+    private record Candidate(Player player, double distanceSquared) {
+    }
+
+    private static final class Tracked {
+        private final Player player;
+        private volatile UUID worldId;
+        private volatile long cell;
+        private volatile double x;
+        private volatile double y;
+        private volatile double z;
+        private volatile int roles;
+
+        private Tracked(Player player) {
+            this.player = player;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package dev.lsdmc.edencorrections.regions;
+
+import com.sk89q.worldedit.bukkit.BukkitAdapter;
+import com.sk89q.worldedit.math.BlockVector3;
+import com.sk89q.worldguard.WorldGuard;
+import com.sk89q.worldguard.protection.ApplicableRegionSet;
+import com.sk89q.worldguard.protection.flags.Flags;
+import com.sk89q.worldguard.protection.managers.RegionManager;
+import com.sk89q.worldguard.protection.regions.GlobalProtectedRegion;
+import com.sk89q.worldguard.protection.regions.ProtectedCuboidRegion;
+import com.sk89q.worldguard.protection.regions.ProtectedRegion;
+import com.sk89q.worldguard.protection.regions.RegionContainer;
+import dev.lsdmc.edencorrections.EdenCorrections;
+import dev.lsdmc.edencorrections.utils.RegionUtils;
+import org.bukkit.Location;
+import org.bukkit.World;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * PvP flag state per 16x16x16 chunk section.
+ *
+ * A section that no region boundary crosses has the same applicable region set at every block,
+ * so one WorldGuard test answers for the whole section and is cached as ALLOW or DENY. Sections
+ * a boundary cuts through are cached as MIXED and fall back to a per-location WorldGuard query.
+ * The cache is cleared whenever regions change.
+ */
+public class PvpSectionCache {
+    private static final byte ALLOW = 1;
+    private static final byte DENY = 2;
+    private static final byte MIXED = 3;
+
+    private static final int MAX_SECTIONS_PER_WORLD = 65_536;
+
+    private final EdenCorrections plugin;
+    private final Map<UUID, Map<Long, Byte>> worlds = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder fallbacks = new LongAdder();
+    private final LongAdder computed = new LongAdder();
+
+    public PvpSectionCache(EdenCorrections plugin) {
+        this.plugin = plugin;
+        plugin.getRegionChangeWatcher().subscribe(this::invalidate);
+    }
+
+    /**
+     * @return Whether PvP is allowed at the location, as {@link RegionUtils#isPvPRegion} would answer
+     */
+    public boolean isPvP(Location location) {
+        World world = location.getWorld();
+        if (world == null) {
+            return false;
+        }
+
+        int sectionX = location.getBlockX() >> 4;
+        int sectionY = location.getBlockY() >> 4;
+        int sectionZ = location.getBlockZ() >> 4;
+        Map<Long, Byte> sections = worlds.computeIfAbsent(world.getUID(), id -> new ConcurrentHashMap<>());
+        long key = key(sectionX, sectionY, sectionZ);
+
+        Byte state = sections.get(key);
+        if (state == null) {
+            state = classify(world, sectionX, sectionY, sectionZ);
+            if (sections.size() >= MAX_SECTIONS_PER_WORLD) {
+                sections.clear();
+            }
+            sections.put(key, state);
+            computed.increment();
+        }
+
+        if (state == MIXED) {
+            fallbacks.increment();
+            return RegionUtils.isPvPRegion(location);
+        }
+        hits.increment();
+        return state == ALLOW;
+    }
+
+    /**
+     * Work out whether a section is uniform. Only cuboid regions that fully contain the section
+     * (or the global region) are treated as uniform; any other overlapping region makes it MIXED.
+     */
+    private byte classify(World world, int sectionX, int sectionY, int sectionZ) {
+        RegionContainer container = WorldGuard.getInstance().getPlatform().getRegionContainer();
+        if (container == null) {
+            return DENY;
+        }
+        RegionManager manager = container.get(BukkitAdapter.adapt(world));
+        if (manager == null) {
+            return DENY;
+        }
+
+        BlockVector3 min = BlockVector3.at(sectionX << 4, sectionY << 4, sectionZ << 4);
+        BlockVector3 max = min.add(15, 15, 15);
+        ProtectedCuboidRegion probe = new ProtectedCuboidRegion("__edencorrections_section", true, min, max);
+
+        for (ProtectedRegion region : manager.getApplicableRegions(probe)) {
+            if (region instanceof GlobalProtectedRegion) {
+                continue;
+            }
+            if (!(region instanceof ProtectedCuboidRegion) || !containsBox(region, min, max)) {
+                return MIXED;
+            }
+        }
+
+        ApplicableRegionSet set = manager.getApplicableRegions(min.add(8, 8, 8));
+        return set.testState(null, Flags.PVP) ? ALLOW : DENY;
+    }
+
+    private static boolean containsBox(ProtectedRegion region, BlockVector3 min, BlockVector3 max) {
+        BlockVector3 regionMin = region.getMinimumPoint();
+        BlockVector3 regionMax = region.getMaximumPoint();
+        return regionMin.getX() <= min.getX() && regionMin.getY() <= min.getY() && regionMin.getZ() <= min.getZ()
+                && regionMax.getX() >= max.getX() && regionMax.getY() >= max.getY() && regionMax.getZ() >= max.getZ();
+    }
+
+    private static long key(int sectionX, int sectionY, int sectionZ) {
+        // 22 bits each for x/z sections (±33M blocks), 20 for y
+        return ((long) (sectionX & 0x3FFFFF) << 42) | ((long) (sectionZ & 0x3FFFFF) << 20) | (sectionY & 0xFFFFF);
+    }
+
+    /**
+     * Drop cached sections for a world, or for every world when null
+     */
+    public void invalidate(UUID worldId) {
+        if (worldId == null) {
+            worlds.clear();
+        } else {
+            worlds.remove(worldId);
+        }
+    }
+
+    public int getCachedSections() {
+        int total = 0;
+        for (Map<Long, Byte> sections : worlds.values()) {
+            total += sections.size();
+        }
+        return total;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getFallbacks() {
+        return fallbacks.sum();
+    }
+
+    public long getComputed() {
+        return computed.sum();
+    }
+}
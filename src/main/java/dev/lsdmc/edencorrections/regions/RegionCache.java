@@ -0,0 +1,288 @@
+package dev.lsdmc.edencorrections.regions;
+
+import com.sk89q.worldedit.bukkit.BukkitAdapter;
+import com.sk89q.worldedit.math.BlockVector2;
+import com.sk89q.worldedit.math.BlockVector3;
+import com.sk89q.worldguard.WorldGuard;
+import com.sk89q.worldguard.protection.ApplicableRegionSet;
+import com.sk89q.worldguard.protection.managers.RegionManager;
+import com.sk89q.worldguard.protection.regions.GlobalProtectedRegion;
+import com.sk89q.worldguard.protection.regions.ProtectedCuboidRegion;
+import com.sk89q.worldguard.protection.regions.ProtectedPolygonalRegion;
+import com.sk89q.worldguard.protection.regions.ProtectedRegion;
+import com.sk89q.worldguard.protection.regions.RegionContainer;
+import dev.lsdmc.edencorrections.EdenCorrections;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-player cache of the WorldGuard regions at the block a player last moved to.
+ *
+ * Every listener that needs the regions for a move asks the cache instead of running its own
+ * RegionQuery, so a block change costs at most one query no matter how many rules look at it.
+ * Entries remember the block they were computed for, how far the player can move from it
+ * before the nearest region boundary could be crossed, and the cache generation. Moves that
+ * stay within that distance reuse the entry without querying WorldGuard at all; any region
+ * edit reported by the {@link RegionChangeWatcher} bumps the generation, which makes every
+ * entry stale at once.
+ */
+public class RegionCache implements Listener {
+    // How far around a player to look for region boundaries; also the largest skip distance
+    private static final int MAX_BOUNDARY_RADIUS = 32;
+
+    private final EdenCorrections plugin;
+    private final Map<UUID, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder boundarySkips = new LongAdder();
+
+    public RegionCache(EdenCorrections plugin) {
+        this.plugin = plugin;
+        Bukkit.getPluginManager().registerEvents(this, plugin);
+        plugin.getRegionChangeWatcher().subscribe(worldId -> invalidateAll());
+    }
+
+    /**
+     * Get the lowercase ids of every region at a location a player is moving to
+     * @param player The moving player
+     * @param location The player's new location
+     * @return Immutable set of region ids, empty outside any region
+     */
+    public Set<String> getRegions(Player player, Location location) {
+        if (location == null || location.getWorld() == null) {
+            return Set.of();
+        }
+
+        UUID worldId = location.getWorld().getUID();
+        int x = location.getBlockX();
+        int y = location.getBlockY();
+        int z = location.getBlockZ();
+        long currentGeneration = generation.get();
+
+        Entry entry = entries.get(player.getUniqueId());
+        if (entry != null && entry.matches(worldId, x, y, z, currentGeneration)) {
+            hits.increment();
+            if (entry.x != x || entry.y != y || entry.z != z) {
+                boundarySkips.increment();
+            }
+            return entry.regions;
+        }
+
+        misses.increment();
+        Set<String> regions = query(location);
+        if (entry != null && entry.regions.equals(regions)) {
+            // Keep the previous instance so callers can spot an unchanged set by identity
+            regions = entry.regions;
+        }
+        int radius = boundaryRadius(location.getWorld(), x, y, z);
+        entries.put(player.getUniqueId(), new Entry(worldId, x, y, z, radius, currentGeneration, regions));
+        return regions;
+    }
+
+    /**
+     * Check whether both ends of a move are still inside the player's cached boundary radius,
+     * i.e. the move cannot have changed the player's regions
+     */
+    public boolean isUnchanged(Player player, Location from, Location to) {
+        Entry entry = entries.get(player.getUniqueId());
+        if (entry == null || from.getWorld() == null || to.getWorld() == null) {
+            return false;
+        }
+        long currentGeneration = generation.get();
+        return entry.matches(to.getWorld().getUID(), to.getBlockX(), to.getBlockY(), to.getBlockZ(), currentGeneration)
+                && entry.matches(from.getWorld().getUID(), from.getBlockX(), from.getBlockY(), from.getBlockZ(),
+                currentGeneration);
+    }
+
+    /**
+     * Get the regions at the player's current location
+     */
+    public Set<String> getRegions(Player player) {
+        return getRegions(player, player.getLocation());
+    }
+
+    /**
+     * Check whether the player's new location is inside a region
+     */
+    public boolean isInRegion(Player player, Location location, String regionId) {
+        return getRegions(player, location).contains(regionId.toLowerCase());
+    }
+
+    private Set<String> query(Location location) {
+        RegionContainer container = WorldGuard.getInstance().getPlatform().getRegionContainer();
+        if (container == null) {
+            return Set.of();
+        }
+
+        ApplicableRegionSet applicable = container.createQuery().getApplicableRegions(BukkitAdapter.adapt(location));
+        if (applicable.size() == 0) {
+            return Set.of();
+        }
+
+        Set<String> regions = new HashSet<>();
+        for (ProtectedRegion region : applicable.getRegions()) {
+            regions.add(region.getId());
+        }
+        return Set.copyOf(regions);
+    }
+
+    /**
+     * Work out how many blocks (per axis) a player can move from a block before any region
+     * could start or stop applying. Regions are only looked for within MAX_BOUNDARY_RADIUS, so
+     * that is also the most a move can skip.
+     */
+    private int boundaryRadius(World world, int x, int y, int z) {
+        try {
+            RegionContainer container = WorldGuard.getInstance().getPlatform().getRegionContainer();
+            RegionManager manager = container == null ? null : container.get(BukkitAdapter.adapt(world));
+            if (manager == null) {
+                return 0;
+            }
+
+            BlockVector3 min = BlockVector3.at(x - MAX_BOUNDARY_RADIUS, y - MAX_BOUNDARY_RADIUS, z - MAX_BOUNDARY_RADIUS);
+            BlockVector3 max = BlockVector3.at(x + MAX_BOUNDARY_RADIUS, y + MAX_BOUNDARY_RADIUS, z + MAX_BOUNDARY_RADIUS);
+            ProtectedCuboidRegion probe = new ProtectedCuboidRegion("__edencorrections_boundary", true, min, max);
+
+            int radius = MAX_BOUNDARY_RADIUS;
+            for (ProtectedRegion region : manager.getApplicableRegions(probe)) {
+                if (region instanceof GlobalProtectedRegion) {
+                    continue;
+                }
+                radius = Math.min(radius, regionRadius(region, x, y, z));
+                if (radius == 0) {
+                    break;
+                }
+            }
+            return radius;
+        } catch (Exception e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Blocks a point can move along every axis without entering or leaving one region.
+     * Shapes other than cuboids and polygons give 0, so moves near them are always re-queried.
+     */
+    private static int regionRadius(ProtectedRegion region, int x, int y, int z) {
+        BlockVector3 min = region.getMinimumPoint();
+        BlockVector3 max = region.getMaximumPoint();
+        boolean insideY = y >= min.getBlockY() && y <= max.getBlockY();
+        int yRadius = insideY
+                ? Math.min(y - min.getBlockY(), max.getBlockY() - y)
+                : Math.max(min.getBlockY() - y, y - max.getBlockY()) - 1;
+
+        if (region instanceof ProtectedCuboidRegion) {
+            boolean insideX = x >= min.getBlockX() && x <= max.getBlockX();
+            boolean insideZ = z >= min.getBlockZ() && z <= max.getBlockZ();
+            if (insideX && insideY && insideZ) {
+                return Math.min(yRadius, Math.min(
+                        Math.min(x - min.getBlockX(), max.getBlockX() - x),
+                        Math.min(z - min.getBlockZ(), max.getBlockZ() - z)));
+            }
+            // Outside: the widest gap on any one axis keeps every nearby block outside
+            int gapX = Math.max(min.getBlockX() - x, x - max.getBlockX());
+            int gapZ = Math.max(min.getBlockZ() - z, z - max.getBlockZ());
+            int gapY = insideY ? 0 : yRadius + 1;
+            return Math.max(0, Math.max(gapY, Math.max(gapX, gapZ)) - 1);
+        }
+
+        if (region instanceof ProtectedPolygonalRegion polygon) {
+            boolean insideXZ = polygon.contains(BlockVector3.at(x, min.getBlockY(), z));
+            // A square of half-width r fits inside a circle of radius r * sqrt(2)
+            int xzRadius = Math.max(-1, (int) Math.floor(edgeDistance(polygon.getPoints(), x, z) / Math.sqrt(2)) - 1);
+            if (insideXZ && insideY) {
+                return Math.max(0, Math.min(yRadius, xzRadius));
+            }
+            return Math.max(0, Math.max(insideY ? -1 : yRadius, insideXZ ? -1 : xzRadius));
+        }
+
+        return 0;
+    }
+
+    private static double edgeDistance(List<BlockVector2> points, int x, int z) {
+        double best = Double.MAX_VALUE;
+        int count = points.size();
+        for (int i = 0; i < count; i++) {
+            BlockVector2 a = points.get(i);
+            BlockVector2 b = points.get((i + 1) % count);
+            double ax = a.getX();
+            double az = a.getZ();
+            double dx = b.getX() - ax;
+            double dz = b.getZ() - az;
+            double lengthSquared = dx * dx + dz * dz;
+            double t = lengthSquared == 0 ? 0 : Math.max(0, Math.min(1, ((x - ax) * dx + (z - az) * dz) / lengthSquared));
+            double px = ax + t * dx - x;
+            double pz = az + t * dz - z;
+            best = Math.min(best, px * px + pz * pz);
+        }
+        return Math.sqrt(best);
+    }
+
+    /**
+     * Drop every cached entry, e.g. after regions were created, redefined or removed
+     */
+    public void invalidateAll() {
+        generation.incrementAndGet();
+    }
+
+    public void invalidate(UUID playerId) {
+        entries.remove(playerId);
+    }
+
+    public void reload() {
+        invalidateAll();
+    }
+
+    public void shutdown() {
+        entries.clear();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return Hits for a different block than the entry was computed for, answered from the boundary radius
+     */
+    public long getBoundarySkips() {
+        return boundarySkips.sum();
+    }
+
+    public int getSize() {
+        return entries.size();
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        invalidate(event.getPlayer().getUniqueId());
+    }
+
+    private record Entry(UUID worldId, int x, int y, int z, int radius, long generation, Set<String> regions) {
+        boolean matches(UUID worldId, int x, int y, int z, long generation) {
+            return this.generation == generation
+                    && Math.abs(this.x - x) <= radius && Math.abs(this.z - z) <= radius && Math.abs(this.y - y) <= radius
+                    && this.worldId.equals(worldId);
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package dev.lsdmc.edencorrections.regions;
+
+import com.sk89q.worldedit.bukkit.BukkitAdapter;
+import com.sk89q.worldguard.WorldGuard;
+import com.sk89q.worldguard.protection.managers.RegionManager;
+import com.sk89q.worldguard.protection.regions.ProtectedRegion;
+import com.sk89q.worldguard.protection.regions.RegionContainer;
+import dev.lsdmc.edencorrections.EdenCorrections;
+import dev.lsdmc.edencorrections.scheduler.CorrectionsTask;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerCommandPreprocessEvent;
+import org.bukkit.event.server.ServerCommandEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Detects WorldGuard region edits and tells every region-derived cache about them.
+ *
+ * WorldGuard has no change event, so each world's region set is reduced to a fingerprint
+ * (ids, shapes, priorities, parents and flags) on an async timer. A world whose fingerprint
+ * moves is published to the subscribers on the global thread. Region commands trigger an
+ * extra poll a tick later so staff edits show up at once, while read-only commands such as
+ * /rg info no longer throw the caches away.
+ */
+public class RegionChangeWatcher implements Listener {
+    private static final String CONFIG_PATH = "performance.region-watch";
+    private static final Set<String> REGION_COMMANDS = Set.of(
+            "rg", "region", "regions", "worldguard:rg", "worldguard:region", "worldguard:regions");
+
+    private final EdenCorrections plugin;
+    private final Map<UUID, Long> fingerprints = new ConcurrentHashMap<>();
+    private final List<Consumer<UUID>> subscribers = new CopyOnWriteArrayList<>();
+    private final AtomicBoolean pollQueued = new AtomicBoolean(false);
+
+    private final LongAdder polls = new LongAdder();
+    private final LongAdder changes = new LongAdder();
+    private volatile long lastPollNanos;
+
+    private CorrectionsTask pollTask;
+
+    public RegionChangeWatcher(EdenCorrections plugin) {
+        this.plugin = plugin;
+        Bukkit.getPluginManager().registerEvents(this, plugin);
+        // Take the baseline fingerprints now so the first edit is not mistaken for it
+        plugin.getTaskScheduler().runAsync(this::poll);
+        start();
+    }
+
+    private void start() {
+        long intervalTicks = Math.max(1L, plugin.getConfig().getLong(CONFIG_PATH + ".poll-interval-seconds", 5L)) * 20L;
+        pollTask = plugin.getTaskScheduler().runAsyncTimer(task -> poll(), intervalTicks, intervalTicks);
+    }
+
+    /**
+     * Be told whenever regions change
+     * @param subscriber Receives the world whose regions changed, or null when every world should be dropped
+     */
+    public void subscribe(Consumer<UUID> subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    /**
+     * Publish a change for every world without waiting for a poll
+     */
+    public void invalidateAll() {
+        publish(null);
+    }
+
+    /**
+     * Fingerprint every world's regions and publish the ones that changed since the last poll.
+     * Safe to call from any thread.
+     */
+    public void poll() {
+        long start = System.nanoTime();
+        List<UUID> changed = new ArrayList<>();
+        try {
+            RegionContainer container = WorldGuard.getInstance().getPlatform().getRegionContainer();
+            for (World world : Bukkit.getWorlds()) {
+                RegionManager manager = container.get(BukkitAdapter.adapt(world));
+                if (manager == null) {
+                    continue;
+                }
+                long fingerprint = fingerprint(manager);
+                Long previous = fingerprints.put(world.getUID(), fingerprint);
+                if (previous != null && previous != fingerprint) {
+                    changed.add(world.getUID());
+                }
+            }
+        } catch (Exception | NoClassDefFoundError e) {
+            plugin.getLogger().warning("Could not check WorldGuard regions for changes: " + e.getMessage());
+        }
+        polls.increment();
+        lastPollNanos = System.nanoTime() - start;
+
+        if (!changed.isEmpty()) {
+            plugin.getTaskScheduler().runGlobal(() -> {
+                for (UUID worldId : changed) {
+                    publish(worldId);
+                }
+            });
+        }
+    }
+
+    private void publish(UUID worldId) {
+        changes.increment();
+        if (plugin.getConfigManager().isDebugEnabled()) {
+            World world = worldId != null ? Bukkit.getWorld(worldId) : null;
+            plugin.getLogger().info("Regions changed in " + (worldId == null ? "all worlds"
+                    : world != null ? world.getName() : worldId) + ", invalidating region caches");
+        }
+        for (Consumer<UUID> subscriber : subscribers) {
+            try {
+                subscriber.accept(worldId);
+            } catch (Exception e) {
+                plugin.getLogger().warning("Region change subscriber failed: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Order-independent hash of everything the plugin's caches derive from a region
+     */
+    private static long fingerprint(RegionManager manager) {
+        long hash = manager.size();
+        for (ProtectedRegion region : manager.getRegions().values()) {
+            long h = region.getId().hashCode();
+            h = h * 31 + region.getType().hashCode();
+            h = h * 31 + region.getPoints().hashCode();
+            h = h * 31 + region.getMinimumPoint().getBlockY();
+            h = h * 31 + region.getMaximumPoint().getBlockY();
+            h = h * 31 + region.getPriority();
+            h = h * 31 + (region.getParent() != null ? region.getParent().getId().hashCode() : 0);
+            h = h * 31 + region.getFlags().hashCode();
+            hash += mix(h);
+        }
+        return hash;
+    }
+
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        return value;
+    }
+
+    public void reload() {
+        if (pollTask != null) {
+            pollTask.cancel();
+        }
+        start();
+    }
+
+    public void shutdown() {
+        if (pollTask != null) {
+            pollTask.cancel();
+            pollTask = null;
+        }
+        subscribers.clear();
+        fingerprints.clear();
+    }
+
+    public long getPolls() {
+        return polls.sum();
+    }
+
+    public long getChanges() {
+        return changes.sum();
+    }
+
+    public long getLastPollNanos() {
+        return lastPollNanos;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlayerCommand(PlayerCommandPreprocessEvent event) {
+        handleCommand(event.getMessage().startsWith("/") ? event.getMessage().substring(1) : event.getMessage());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onServerCommand(ServerCommandEvent event) {
+        handleCommand(event.getCommand().startsWith("/") ? event.getCommand().substring(1) : event.getCommand());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onWorldUnload(WorldUnloadEvent event) {
+        fingerprints.remove(event.getWorld().getUID());
+    }
+
+    private void handleCommand(String commandLine) {
+        String label = commandLine.split(" ", 2)[0].toLowerCase();
+        if (!REGION_COMMANDS.contains(label)) {
+            return;
+        }
+        // The edit applies while the command runs; poll once it has finished
+        if (pollQueued.compareAndSet(false, true)) {
+            plugin.getTaskScheduler().runAsyncLater(() -> {
+                pollQueued.set(false);
+                poll();
+            }, 1L);
+            // Some region commands finish asynchronously, so look again shortly after
+            plugin.getTaskScheduler().runAsyncLater(this::poll, 40L);
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package dev.lsdmc.edencorrections.regions;
+
+import com.sk89q.worldedit.bukkit.BukkitAdapter;
+import com.sk89q.worldguard.WorldGuard;
+import com.sk89q.worldguard.protection.managers.RegionManager;
+import com.sk89q.worldguard.protection.regions.RegionContainer;
+import dev.lsdmc.edencorrections.EdenCorrections;
+import dev.lsdmc.edencorrections.managers.ChaseManager;
+import dev.lsdmc.edencorrections.managers.GuardPenaltyManager;
+import dev.lsdmc.edencorrections.managers.GuardRestrictionManager;
+import org.bukkit.World;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Every region-based restriction compiled into one bitmask per region id.
+ *
+ * The chase, wanted, guard and penalty rules used to live in separate name collections, some
+ * matched exactly and some by substring, each lowercased on every call. The index folds them
+ * into a single map so a movement check is one lookup and one bitwise test per region. Masks
+ * are compiled for every WorldGuard region when the index is rebuilt and lazily for ids that
+ * appear afterwards.
+ */
+public class RegionRuleIndex {
+    public static final int CHASE_BLOCKED = 1;
+    public static final int WANTED_BLOCKED = 1 << 1;
+    public static final int GUARD_BLOCKED = 1 << 2;
+    public static final int PENALTY_ZONE = 1 << 3;
+    public static final int MINE = 1 << 4;
+    public static final int CELL = 1 << 5;
+    public static final int GUARD_BREAK_EXEMPT = 1 << 6;
+
+    /** Everything a chased player may not enter */
+    public static final int CHASE_DENIED = CHASE_BLOCKED | MINE | CELL;
+
+    private final EdenCorrections plugin;
+    private final Map<String, Integer> masks = new ConcurrentHashMap<>();
+
+    // Lowercased rule sources, replaced wholesale on rebuild
+    private volatile Rules rules = new Rules(Set.of(), List.of(), List.of(), Set.of(), Set.of(), Set.of());
+
+    public RegionRuleIndex(EdenCorrections plugin) {
+        this.plugin = plugin;
+        plugin.getRegionChangeWatcher().subscribe(worldId -> recompile());
+    }
+
+    /**
+     * Recompile from the managers' current configuration. Call after they have loaded.
+     */
+    public void rebuild() {
+        ChaseManager chaseManager = plugin.getChaseManager();
+        GuardRestrictionManager restrictionManager = plugin.getGuardRestrictionManager();
+        GuardPenaltyManager penaltyManager = plugin.getGuardPenaltyManager();
+
+        rules = new Rules(
+                chaseManager != null ? lowercase(chaseManager.getRestrictedRegions()) : Set.of(),
+                chaseManager != null ? List.copyOf(lowercase(chaseManager.getMineRegions())) : List.of(),
+                chaseManager != null ? List.copyOf(lowercase(chaseManager.getCellRegions())) : List.of(),
+                restrictionManager != null ? lowercase(restrictionManager.getRestrictedRegions()) : Set.of(),
+                penaltyManager != null ? lowercase(penaltyManager.getRestrictedRegions()) : Set.of(),
+                restrictionManager != null ? lowercase(restrictionManager.getExemptRegions()) : Set.of());
+        recompile();
+    }
+
+    /**
+     * Drop every compiled mask and compile the current WorldGuard regions again, e.g. after
+     * regions were added or removed
+     */
+    public void recompile() {
+        masks.clear();
+
+        int compiled = 0;
+        try {
+            RegionContainer container = WorldGuard.getInstance().getPlatform().getRegionContainer();
+            for (World world : plugin.getServer().getWorlds()) {
+                RegionManager manager = container.get(BukkitAdapter.adapt(world));
+                if (manager == null) {
+                    continue;
+                }
+                for (String id : manager.getRegions().keySet()) {
+                    getMask(id);
+                    compiled++;
+                }
+            }
+        } catch (Exception | NoClassDefFoundError e) {
+            plugin.getLogger().warning("Could not precompile region rules: " + e.getMessage());
+        }
+
+        if (plugin.getConfigManager().isDebugEnabled()) {
+            plugin.getLogger().info("Region rule index compiled for " + compiled + " regions");
+        }
+    }
+
+    /**
+     * @return Rule flags for a region id, 0 if no rule applies
+     */
+    public int getMask(String regionId) {
+        Integer mask = masks.get(regionId);
+        if (mask == null) {
+            mask = compile(regionId);
+            masks.put(regionId, mask);
+        }
+        return mask;
+    }
+
+    public boolean has(String regionId, int flags) {
+        return (getMask(regionId) & flags) != 0;
+    }
+
+    /**
+     * @return Union of the rule flags of every region in the set
+     */
+    public int getMask(Collection<String> regionIds) {
+        int mask = 0;
+        for (String regionId : regionIds) {
+            mask |= getMask(regionId);
+        }
+        return mask;
+    }
+
+    /**
+     * @return The first region in the set carrying any of the flags, or null
+     */
+    public String findFirst(Collection<String> regionIds, int flags) {
+        for (String regionId : regionIds) {
+            if ((getMask(regionId) & flags) != 0) {
+                return regionId;
+            }
+        }
+        return null;
+    }
+
+    public int getCompiledCount() {
+        return masks.size();
+    }
+
+    /**
+     * @return Snapshot of every region id compiled so far
+     */
+    public Set<String> getCompiledIds() {
+        return Set.copyOf(masks.keySet());
+    }
+
+    private int compile(String regionId) {
+        Rules current = rules;
+        String id = regionId.toLowerCase();
+        int mask = 0;
+
+        if (current.chaseRegions.contains(id)) {
+            mask |= CHASE_BLOCKED;
+        }
+        // Mines and cells are configured as name fragments ("mine" matches "a_mine")
+        for (String fragment : current.mineFragments) {
+            if (id.contains(fragment)) {
+                mask |= MINE;
+                break;
+            }
+        }
+        for (String fragment : current.cellFragments) {
+            if (id.contains(fragment)) {
+                mask |= CELL;
+                break;
+            }
+        }
+        // Wanted players share the chase restrictions
+        if ((mask & CHASE_DENIED) != 0) {
+            mask |= WANTED_BLOCKED;
+        }
+        if (current.guardRegions.contains(id)) {
+            mask |= GUARD_BLOCKED;
+        }
+        if (current.penaltyRegions.contains(id)) {
+            mask |= PENALTY_ZONE;
+        }
+        if (current.breakExemptRegions.contains(id)) {
+            mask |= GUARD_BREAK_EXEMPT;
+        }
+        return mask;
+    }
+
+    private static Set<String> lowercase(Collection<String> values) {
+        Set<String> result = new HashSet<>();
+        for (String value : values) {
+            if (value != null && !value.isEmpty()) {
+                result.add(value.toLowerCase());
+            }
+        }
+        return Set.copyOf(result);
+    }
+
+    private record Rules(Set<String> chaseRegions, List<String> mineFragments, List<String> cellFragments,
+                         Set<String> guardRegions, Set<String> penaltyRegions, Set<String> breakExemptRegions) {
+    }
+}
@@ -0,0 +1,121 @@
+package dev.lsdmc.edencorrections.scheduler;
+
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+
+import java.util.function.Consumer;
+
+/**
+ * Scheduler facade used by every manager instead of {@code Bukkit.getScheduler()}.
+ *
+ * Work is scoped to where it has to run:
+ * <ul>
+ *     <li>global - server-wide state (broadcasts, console commands, storage bookkeeping)</li>
+ *     <li>location - anything touching blocks or a chunk</li>
+ *     <li>entity - per-player work (chase checks, glow refresh, countdowns); follows the entity across regions</li>
+ *     <li>async - blocking work off the tick thread</li>
+ * </ul>
+ * On Paper everything except async runs on the main thread. On Folia each scope maps to the
+ * matching regionised scheduler, so per-player work runs on the owning region thread in parallel.
+ *
+ * Repeating tasks receive their own handle so they can cancel themselves.
+ */
+public interface CorrectionsScheduler {
+
+    /**
+     * Pick the implementation for the running server
+     */
+    static CorrectionsScheduler create(Plugin plugin) {
+        if (isFoliaServer()) {
+            return new FoliaCorrectionsScheduler(plugin);
+        }
+        return new PaperCorrectionsScheduler(plugin);
+    }
+
+    /**
+     * @return true when running on Folia's regionised server
+     */
+    static boolean isFoliaServer() {
+        try {
+            Class.forName("io.papermc.paper.threadedregions.RegionizedServer");
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    // Global scope
+
+    CorrectionsTask runGlobal(Runnable task);
+
+    CorrectionsTask runGlobalLater(Runnable task, long delayTicks);
+
+    CorrectionsTask runGlobalTimer(Consumer<CorrectionsTask> task, long delayTicks, long periodTicks);
+
+    // Location scope
+
+    CorrectionsTask runAtLocation(Location location, Runnable task);
+
+    CorrectionsTask runAtLocationLater(Location location, Runnable task, long delayTicks);
+
+    CorrectionsTask runAtLocationTimer(Location location, Consumer<CorrectionsTask> task, long delayTicks, long periodTicks);
+
+    // Entity scope
+
+    CorrectionsTask runAtEntity(Entity entity, Runnable task);
+
+    CorrectionsTask runAtEntityLater(Entity entity, Runnable task, long delayTicks);
+
+    /**
+     * Run a repeating task on the thread that owns the entity.
+     * @param retired Called once if the entity is removed (e.g. player logs out) while the task is live; may be null
+     */
+    CorrectionsTask runAtEntityTimer(Entity entity, Consumer<CorrectionsTask> task, Runnable retired,
+                                     long delayTicks, long periodTicks);
+
+    default CorrectionsTask runAtEntityTimer(Entity entity, Consumer<CorrectionsTask> task, long delayTicks, long periodTicks) {
+        return runAtEntityTimer(entity, task, null, delayTicks, periodTicks);
+    }
+
+    /**
+     * Run a task on the thread that owns the entity: right away if that is the current thread,
+     * otherwise scheduled there. For per-player actions (messages, packets, effects) taken from
+     * another player's or the global thread.
+     */
+    default void runForEntity(Entity entity, Runnable task) {
+        if (isOwnedByCurrentThread(entity)) {
+            task.run();
+        } else {
+            runAtEntity(entity, task);
+        }
+    }
+
+    // Async scope
+
+    CorrectionsTask runAsync(Runnable task);
+
+    CorrectionsTask runAsyncLater(Runnable task, long delayTicks);
+
+    CorrectionsTask runAsyncTimer(Consumer<CorrectionsTask> task, long delayTicks, long periodTicks);
+
+    /**
+     * @return true if the current thread may safely touch the entity
+     */
+    boolean isOwnedByCurrentThread(Entity entity);
+
+    /**
+     * @return true if the current thread may safely touch the location
+     */
+    boolean isOwnedByCurrentThread(Location location);
+
+    /**
+     * Cancel every task this plugin scheduled through the facade
+     */
+    void cancelAll();
+
+    /**
+     * @return true if this scheduler drives Folia's regionised schedulers
+     */
+    boolean isFolia();
+}
@@ -0,0 +1,32 @@
+package dev.lsdmc.edencorrections.scheduler;
+
+/**
+ * Handle to a task scheduled through {@link CorrectionsScheduler}.
+ * Wraps either a Bukkit task or a Folia scheduled task so callers never depend on the platform.
+ */
+public interface CorrectionsTask {
+
+    /**
+     * Cancel the task. Safe to call more than once and from inside the task itself.
+     */
+    void cancel();
+
+    /**
+     * @return true if the task was cancelled or has already been retired by the platform
+     */
+    boolean isCancelled();
+
+    /**
+     * A handle for work that was never scheduled (e.g. the target entity was already removed)
+     */
+    CorrectionsTask CANCELLED = new CorrectionsTask() {
+        @Override
+        public void cancel() {
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return true;
+        }
+    };
+}
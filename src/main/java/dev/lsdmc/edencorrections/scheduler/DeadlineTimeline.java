@@ -0,0 +1,292 @@
+package dev.lsdmc.edencorrections.scheduler;
+
+import dev.lsdmc.edencorrections.EdenCorrections;
+import dev.lsdmc.edencorrections.storage.SQLiteStorage;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+
+/**
+ * Durable timeline of absolute deadlines (jail releases, wanted expiries, guard penalties).
+ *
+ * Deadlines are stored as wall-clock timestamps in one indexed table, loaded with a single query
+ * into a min-heap, and fired by one dispatcher task that is always armed for the earliest
+ * deadline. Restarts no longer lose or skew timers, and thousands of pending deadlines cost one
+ * scheduler entry instead of one task each.
+ */
+public class DeadlineTimeline {
+    public enum Kind {
+        WANTED_EXPIRY,
+        JAIL_RELEASE,
+        GUARD_PENALTY
+    }
+
+    private static final long MILLIS_PER_TICK = 50L;
+    // Re-check at least this often so wall-clock adjustments are picked up
+    private static final long MAX_ARM_DELAY_TICKS = 20L * 60L;
+
+    private final EdenCorrections plugin;
+    private final SQLiteStorage sqliteStorage;
+    private final Map<Kind, Consumer<UUID>> handlers = new EnumMap<>(Kind.class);
+    private final Map<Key, Long> deadlines = new ConcurrentHashMap<>();
+    private final PriorityQueue<Entry> heap = new PriorityQueue<>();
+
+    // Guarded by "this"
+    private CorrectionsTask armedTask;
+    private long armedFor = Long.MAX_VALUE;
+
+    public DeadlineTimeline(EdenCorrections plugin) {
+        this.plugin = plugin;
+        this.sqliteStorage = plugin.getStorageManager() instanceof SQLiteStorage storage ? storage : null;
+        if (sqliteStorage == null) {
+            plugin.getLogger().warning("DeadlineTimeline: SQLiteStorage not available, deadlines will not survive restarts");
+        }
+        load();
+    }
+
+    private void load() {
+        if (sqliteStorage == null) {
+            return;
+        }
+
+        List<Entry> loaded = new ArrayList<>();
+        for (Map.Entry<String, Map<UUID, Long>> byKind : sqliteStorage.loadDeadlines().entrySet()) {
+            Kind kind;
+            try {
+                kind = Kind.valueOf(byKind.getKey());
+            } catch (IllegalArgumentException e) {
+                plugin.getLogger().warning("Ignoring unknown timeline kind: " + byKind.getKey());
+                continue;
+            }
+            for (Map.Entry<UUID, Long> deadline : byKind.getValue().entrySet()) {
+                Key key = new Key(kind, deadline.getKey());
+                deadlines.put(key, deadline.getValue());
+                loaded.add(new Entry(key, deadline.getValue()));
+            }
+        }
+
+        synchronized (this) {
+            heap.clear();
+            heap.addAll(loaded);
+        }
+        plugin.getLogger().info("Loaded " + loaded.size() + " pending timeline deadlines");
+    }
+
+    /**
+     * Register what happens when a deadline of this kind comes due.
+     * Handlers run on the global scheduler thread.
+     */
+    public void registerHandler(Kind kind, Consumer<UUID> handler) {
+        synchronized (this) {
+            handlers.put(kind, handler);
+            // Deadlines of this kind that came due before a handler existed were set aside
+            for (Map.Entry<Key, Long> deadline : deadlines.entrySet()) {
+                if (deadline.getKey().kind() == kind) {
+                    heap.add(new Entry(deadline.getKey(), deadline.getValue()));
+                }
+            }
+        }
+        arm();
+    }
+
+    /**
+     * Schedule (or move) the deadline for a subject
+     * @param dueAt Absolute wall-clock time in milliseconds
+     */
+    public void schedule(Kind kind, UUID subject, long dueAt) {
+        Key key = new Key(kind, subject);
+        Long previous = deadlines.put(key, dueAt);
+        if (previous != null && previous == dueAt) {
+            return;
+        }
+        synchronized (this) {
+            heap.add(new Entry(key, dueAt));
+            compactIfStale();
+        }
+        persist(key, dueAt);
+        arm();
+    }
+
+    /**
+     * Remove a subject's deadline without firing it
+     */
+    public void cancel(Kind kind, UUID subject) {
+        Key key = new Key(kind, subject);
+        if (deadlines.remove(key) != null) {
+            // The heap entry is dropped lazily when it reaches the top
+            persist(key, 0L);
+        }
+    }
+
+    /**
+     * @return Absolute due time in milliseconds, or 0 if none is scheduled
+     */
+    public long getDeadline(Kind kind, UUID subject) {
+        return deadlines.getOrDefault(new Key(kind, subject), 0L);
+    }
+
+    /**
+     * @return Whole seconds until the deadline, or 0 if none is pending
+     */
+    public int getRemainingSeconds(Kind kind, UUID subject) {
+        long dueAt = getDeadline(kind, subject);
+        if (dueAt == 0L) {
+            return 0;
+        }
+        long remaining = dueAt - System.currentTimeMillis();
+        return remaining <= 0 ? 0 : (int) ((remaining + 999) / 1000);
+    }
+
+    /**
+     * @return Snapshot of subject to absolute due time for one kind
+     */
+    public Map<UUID, Long> getDeadlines(Kind kind) {
+        Map<UUID, Long> result = new HashMap<>();
+        for (Map.Entry<Key, Long> deadline : deadlines.entrySet()) {
+            if (deadline.getKey().kind() == kind) {
+                result.put(deadline.getKey().subject(), deadline.getValue());
+            }
+        }
+        return result;
+    }
+
+    public int getPendingCount() {
+        return deadlines.size();
+    }
+
+    /**
+     * Re-arm the dispatcher after every plugin task was cancelled (e.g. during reload)
+     */
+    public void reload() {
+        synchronized (this) {
+            armedTask = null;
+            armedFor = Long.MAX_VALUE;
+        }
+        arm();
+    }
+
+    public void shutdown() {
+        synchronized (this) {
+            if (armedTask != null) {
+                armedTask.cancel();
+                armedTask = null;
+            }
+            armedFor = Long.MAX_VALUE;
+        }
+    }
+
+    private void persist(Key key, long dueAt) {
+        if (sqliteStorage == null) {
+            return;
+        }
+        String kind = key.kind().name();
+        UUID subject = key.subject();
+        plugin.getIoExecutor().submitLatest("timeline:" + kind + ":" + subject, IoExecutor.DATABASE, () -> {
+            if (dueAt == 0L) {
+                sqliteStorage.deleteDeadline(kind, subject);
+            } else {
+                sqliteStorage.saveDeadline(kind, subject, dueAt);
+            }
+        });
+    }
+
+    /**
+     * Make sure the single dispatcher task is scheduled for the earliest live deadline
+     */
+    private synchronized void arm() {
+        Entry head = peekLive();
+        if (head == null) {
+            return;
+        }
+        if (armedTask != null && !armedTask.isCancelled() && armedFor <= head.dueAt) {
+            return;
+        }
+        if (armedTask != null) {
+            armedTask.cancel();
+        }
+
+        long delayMillis = Math.max(0L, head.dueAt - System.currentTimeMillis());
+        long delayTicks = Math.min(MAX_ARM_DELAY_TICKS, Math.max(1L, (delayMillis + MILLIS_PER_TICK - 1) / MILLIS_PER_TICK));
+        armedFor = head.dueAt;
+        armedTask = plugin.getTaskScheduler().runGlobalLater(this::dispatch, delayTicks);
+    }
+
+    private void dispatch() {
+        List<Entry> due = new ArrayList<>();
+        long now = System.currentTimeMillis();
+        synchronized (this) {
+            armedTask = null;
+            armedFor = Long.MAX_VALUE;
+            Entry head;
+            while ((head = peekLive()) != null && head.dueAt <= now) {
+                heap.poll();
+                // Without a handler the deadline stays stored until one registers
+                if (handlers.containsKey(head.key.kind())) {
+                    due.add(head);
+                }
+            }
+        }
+
+        for (Entry entry : due) {
+            // Only fire if nothing rescheduled or cancelled it meanwhile
+            if (!deadlines.remove(entry.key, entry.dueAt)) {
+                continue;
+            }
+            persist(entry.key, 0L);
+            Consumer<UUID> handler;
+            synchronized (this) {
+                handler = handlers.get(entry.key.kind());
+            }
+            try {
+                handler.accept(entry.key.subject());
+            } catch (Exception e) {
+                plugin.getLogger().log(Level.SEVERE, "Timeline handler failed for " + entry.key.kind(), e);
+            }
+        }
+
+        arm();
+    }
+
+    /**
+     * Drop heap entries that were cancelled or superseded by a later schedule() call
+     */
+    private Entry peekLive() {
+        Entry head;
+        while ((head = heap.peek()) != null) {
+            Long current = deadlines.get(head.key);
+            if (current != null && current == head.dueAt) {
+                return head;
+            }
+            heap.poll();
+        }
+        return null;
+    }
+
+    private void compactIfStale() {
+        if (heap.size() <= deadlines.size() * 2 + 64) {
+            return;
+        }
+        heap.clear();
+        for (Map.Entry<Key, Long> deadline : deadlines.entrySet()) {
+            heap.add(new Entry(deadline.getKey(), deadline.getValue()));
+        }
+    }
+
+    private record Key(Kind kind, UUID subject) {
+    }
+
+    private record Entry(Key key, long dueAt) implements Comparable<Entry> {
+        @Override
+        public int compareTo(Entry other) {
+            return Long.compare(dueAt, other.dueAt);
+        }
+    }
+}
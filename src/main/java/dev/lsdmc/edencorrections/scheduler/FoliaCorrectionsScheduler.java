@@ -0,0 +1,221 @@
+package dev.lsdmc.edencorrections.scheduler;
+
+import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Regionised implementation backed by Folia's global, region, entity and async schedulers.
+ *
+ * Region and entity schedulers have no per-plugin cancel, so live handles are tracked here
+ * and cancelled explicitly by {@link #cancelAll()}.
+ */
+public class FoliaCorrectionsScheduler implements CorrectionsScheduler {
+    private static final long MILLIS_PER_TICK = 50L;
+
+    private final Plugin plugin;
+    private final Set<FoliaHandle> liveTasks = ConcurrentHashMap.newKeySet();
+
+    public FoliaCorrectionsScheduler(Plugin plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public CorrectionsTask runGlobal(Runnable task) {
+        FoliaHandle handle = track(new FoliaHandle());
+        handle.task = Bukkit.getGlobalRegionScheduler().run(plugin, scheduled -> handle.once(scheduled, task));
+        return handle;
+    }
+
+    @Override
+    public CorrectionsTask runGlobalLater(Runnable task, long delayTicks) {
+        if (delayTicks <= 0) {
+            return runGlobal(task);
+        }
+        FoliaHandle handle = track(new FoliaHandle());
+        handle.task = Bukkit.getGlobalRegionScheduler().runDelayed(plugin,
+                scheduled -> handle.once(scheduled, task), delayTicks);
+        return handle;
+    }
+
+    @Override
+    public CorrectionsTask runGlobalTimer(Consumer<CorrectionsTask> task, long delayTicks, long periodTicks) {
+        FoliaHandle handle = track(new FoliaHandle());
+        handle.task = Bukkit.getGlobalRegionScheduler().runAtFixedRate(plugin,
+                scheduled -> handle.repeat(scheduled, task), Math.max(1L, delayTicks), Math.max(1L, periodTicks));
+        return handle;
+    }
+
+    @Override
+    public CorrectionsTask runAtLocation(Location location, Runnable task) {
+        FoliaHandle handle = track(new FoliaHandle());
+        handle.task = Bukkit.getRegionScheduler().run(plugin, location, scheduled -> handle.once(scheduled, task));
+        return handle;
+    }
+
+    @Override
+    public CorrectionsTask runAtLocationLater(Location location, Runnable task, long delayTicks) {
+        if (delayTicks <= 0) {
+            return runAtLocation(location, task);
+        }
+        FoliaHandle handle = track(new FoliaHandle());
+        handle.task = Bukkit.getRegionScheduler().runDelayed(plugin, location,
+                scheduled -> handle.once(scheduled, task), delayTicks);
+        return handle;
+    }
+
+    @Override
+    public CorrectionsTask runAtLocationTimer(Location location, Consumer<CorrectionsTask> task, long delayTicks, long periodTicks) {
+        FoliaHandle handle = track(new FoliaHandle());
+        handle.task = Bukkit.getRegionScheduler().runAtFixedRate(plugin, location,
+                scheduled -> handle.repeat(scheduled, task), Math.max(1L, delayTicks), Math.max(1L, periodTicks));
+        return handle;
+    }
+
+    @Override
+    public CorrectionsTask runAtEntity(Entity entity, Runnable task) {
+        FoliaHandle handle = track(new FoliaHandle());
+        ScheduledTask scheduled = entity.getScheduler().run(plugin, s -> handle.once(s, task), handle::retire);
+        return attach(handle, scheduled);
+    }
+
+    @Override
+    public CorrectionsTask runAtEntityLater(Entity entity, Runnable task, long delayTicks) {
+        FoliaHandle handle = track(new FoliaHandle());
+        ScheduledTask scheduled = entity.getScheduler().runDelayed(plugin, s -> handle.once(s, task),
+                handle::retire, Math.max(1L, delayTicks));
+        return attach(handle, scheduled);
+    }
+
+    @Override
+    public CorrectionsTask runAtEntityTimer(Entity entity, Consumer<CorrectionsTask> task, Runnable retired,
+                                            long delayTicks, long periodTicks) {
+        FoliaHandle handle = track(new FoliaHandle());
+        ScheduledTask scheduled = entity.getScheduler().runAtFixedRate(plugin, s -> handle.repeat(s, task), () -> {
+            handle.retire();
+            if (retired != null) {
+                retired.run();
+            }
+        }, Math.max(1L, delayTicks), Math.max(1L, periodTicks));
+        return attach(handle, scheduled);
+    }
+
+    @Override
+    public CorrectionsTask runAsync(Runnable task) {
+        FoliaHandle handle = track(new FoliaHandle());
+        handle.task = Bukkit.getAsyncScheduler().runNow(plugin, scheduled -> handle.once(scheduled, task));
+        return handle;
+    }
+
+    @Override
+    public CorrectionsTask runAsyncLater(Runnable task, long delayTicks) {
+        if (delayTicks <= 0) {
+            return runAsync(task);
+        }
+        FoliaHandle handle = track(new FoliaHandle());
+        handle.task = Bukkit.getAsyncScheduler().runDelayed(plugin, scheduled -> handle.once(scheduled, task),
+                delayTicks * MILLIS_PER_TICK, TimeUnit.MILLISECONDS);
+        return handle;
+    }
+
+    @Override
+    public CorrectionsTask runAsyncTimer(Consumer<CorrectionsTask> task, long delayTicks, long periodTicks) {
+        FoliaHandle handle = track(new FoliaHandle());
+        handle.task = Bukkit.getAsyncScheduler().runAtFixedRate(plugin, scheduled -> handle.repeat(scheduled, task),
+                Math.max(0L, delayTicks) * MILLIS_PER_TICK, Math.max(1L, periodTicks) * MILLIS_PER_TICK,
+                TimeUnit.MILLISECONDS);
+        return handle;
+    }
+
+    @Override
+    public boolean isOwnedByCurrentThread(Entity entity) {
+        return Bukkit.isOwnedByCurrentRegion(entity);
+    }
+
+    @Override
+    public boolean isOwnedByCurrentThread(Location location) {
+        return Bukkit.isOwnedByCurrentRegion(location);
+    }
+
+    @Override
+    public void cancelAll() {
+        Bukkit.getGlobalRegionScheduler().cancelTasks(plugin);
+        Bukkit.getAsyncScheduler().cancelTasks(plugin);
+        for (FoliaHandle handle : liveTasks) {
+            handle.cancel();
+        }
+        liveTasks.clear();
+    }
+
+    @Override
+    public boolean isFolia() {
+        return true;
+    }
+
+    private FoliaHandle track(FoliaHandle handle) {
+        liveTasks.add(handle);
+        return handle;
+    }
+
+    /**
+     * Entity schedulers return null when the entity is already retired
+     */
+    private CorrectionsTask attach(FoliaHandle handle, ScheduledTask scheduled) {
+        if (scheduled == null) {
+            liveTasks.remove(handle);
+            return CorrectionsTask.CANCELLED;
+        }
+        handle.task = scheduled;
+        return handle;
+    }
+
+    private final class FoliaHandle implements CorrectionsTask {
+        private volatile ScheduledTask task;
+        private volatile boolean cancelled;
+
+        private void once(ScheduledTask scheduled, Runnable body) {
+            task = scheduled;
+            liveTasks.remove(this);
+            if (!cancelled) {
+                body.run();
+            }
+        }
+
+        private void repeat(ScheduledTask scheduled, Consumer<CorrectionsTask> body) {
+            task = scheduled;
+            if (cancelled) {
+                scheduled.cancel();
+                return;
+            }
+            body.accept(this);
+        }
+
+        private void retire() {
+            cancelled = true;
+            liveTasks.remove(this);
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            liveTasks.remove(this);
+            ScheduledTask current = task;
+            if (current != null) {
+                current.cancel();
+            }
+        }
+
+        @Override
+        public boolean isCancelled() {
+            ScheduledTask current = task;
+            return cancelled || (current != null && current.isCancelled());
+        }
+    }
+}
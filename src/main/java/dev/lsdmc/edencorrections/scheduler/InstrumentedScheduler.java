@@ -0,0 +1,160 @@
+package dev.lsdmc.edencorrections.scheduler;
+
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+
+import java.util.function.Consumer;
+
+/**
+ * Decorator that times every task run through the wrapped scheduler and records it in
+ * {@link TaskMetrics} under the name of the method that scheduled it.
+ */
+public class InstrumentedScheduler implements CorrectionsScheduler {
+    private static final StackWalker WALKER = StackWalker.getInstance();
+
+    private final CorrectionsScheduler delegate;
+    private final TaskMetrics metrics;
+
+    public InstrumentedScheduler(CorrectionsScheduler delegate, TaskMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public CorrectionsTask runGlobal(Runnable task) {
+        return delegate.runGlobal(time(task, "global"));
+    }
+
+    @Override
+    public CorrectionsTask runGlobalLater(Runnable task, long delayTicks) {
+        return delegate.runGlobalLater(time(task, "global"), delayTicks);
+    }
+
+    @Override
+    public CorrectionsTask runGlobalTimer(Consumer<CorrectionsTask> task, long delayTicks, long periodTicks) {
+        return delegate.runGlobalTimer(time(task, "global"), delayTicks, periodTicks);
+    }
+
+    @Override
+    public CorrectionsTask runAtLocation(Location location, Runnable task) {
+        return delegate.runAtLocation(location, time(task, "location"));
+    }
+
+    @Override
+    public CorrectionsTask runAtLocationLater(Location location, Runnable task, long delayTicks) {
+        return delegate.runAtLocationLater(location, time(task, "location"), delayTicks);
+    }
+
+    @Override
+    public CorrectionsTask runAtLocationTimer(Location location, Consumer<CorrectionsTask> task, long delayTicks, long periodTicks) {
+        return delegate.runAtLocationTimer(location, time(task, "location"), delayTicks, periodTicks);
+    }
+
+    @Override
+    public CorrectionsTask runAtEntity(Entity entity, Runnable task) {
+        return delegate.runAtEntity(entity, time(task, "entity"));
+    }
+
+    @Override
+    public CorrectionsTask runAtEntityLater(Entity entity, Runnable task, long delayTicks) {
+        return delegate.runAtEntityLater(entity, time(task, "entity"), delayTicks);
+    }
+
+    @Override
+    public CorrectionsTask runAtEntityTimer(Entity entity, Consumer<CorrectionsTask> task, Runnable retired,
+                                            long delayTicks, long periodTicks) {
+        return delegate.runAtEntityTimer(entity, time(task, "entity"), retired, delayTicks, periodTicks);
+    }
+
+    @Override
+    public CorrectionsTask runAsync(Runnable task) {
+        return delegate.runAsync(time(task, "async"));
+    }
+
+    @Override
+    public CorrectionsTask runAsyncLater(Runnable task, long delayTicks) {
+        return delegate.runAsyncLater(time(task, "async"), delayTicks);
+    }
+
+    @Override
+    public CorrectionsTask runAsyncTimer(Consumer<CorrectionsTask> task, long delayTicks, long periodTicks) {
+        return delegate.runAsyncTimer(time(task, "async"), delayTicks, periodTicks);
+    }
+
+    @Override
+    public boolean isOwnedByCurrentThread(Entity entity) {
+        return delegate.isOwnedByCurrentThread(entity);
+    }
+
+    @Override
+    public boolean isOwnedByCurrentThread(Location location) {
+        return delegate.isOwnedByCurrentThread(location);
+    }
+
+    @Override
+    public void cancelAll() {
+        delegate.cancelAll();
+    }
+
+    @Override
+    public boolean isFolia() {
+        return delegate.isFolia();
+    }
+
+    private Runnable time(Runnable task, String scope) {
+        if (!metrics.isEnabled()) {
+            return task;
+        }
+        TaskMetrics.TaskStats stats = metrics.stats(callerName(), scope);
+        return () -> {
+            long start = System.nanoTime();
+            try {
+                task.run();
+            } finally {
+                stats.record(System.nanoTime() - start);
+            }
+        };
+    }
+
+    private Consumer<CorrectionsTask> time(Consumer<CorrectionsTask> task, String scope) {
+        if (!metrics.isEnabled()) {
+            return task;
+        }
+        TaskMetrics.TaskStats stats = metrics.stats(callerName(), scope);
+        return handle -> {
+            long start = System.nanoTime();
+            try {
+                task.accept(handle);
+            } finally {
+                stats.record(System.nanoTime() - start);
+            }
+        };
+    }
+
+    /**
+     * Name the task after the first frame outside the scheduler facade, e.g. "SmokeBomb.activate"
+     */
+    private static String callerName() {
+        return WALKER.walk(frames -> frames
+                .filter(frame -> !frame.getClassName().equals(InstrumentedScheduler.class.getName())
+                        && !frame.getClassName().equals(CorrectionsScheduler.class.getName()))
+                .findFirst()
+                .map(frame -> simpleName(frame.getClassName()) + "." + cleanMethodName(frame.getMethodName()))
+                .orElse("unknown"));
+    }
+
+    private static String simpleName(String className) {
+        return className.substring(className.lastIndexOf('.') + 1);
+    }
+
+    /**
+     * "lambda$markPlayer$3" becomes "markPlayer"
+     */
+    private static String cleanMethodName(String method) {
+        if (method.startsWith("lambda$")) {
+            int end = method.indexOf('$', 7);
+            return end > 7 ? method.substring(7, end) : method;
+        }
+        return method;
+    }
+}
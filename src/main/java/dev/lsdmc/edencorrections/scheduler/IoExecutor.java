@@ -0,0 +1,368 @@
+package dev.lsdmc.edencorrections.scheduler;
+
+import dev.lsdmc.edencorrections.EdenCorrections;
+import org.bukkit.configuration.file.FileConfiguration;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+
+/**
+ * Shared executor for blocking work: JDBC, YAML file writes, LuckPerms user loads and
+ * reflective calls into other plugins.
+ *
+ * Every task gets its own virtual thread, so blocking never parks a platform thread. Each
+ * resource has a semaphore bounding how many tasks may touch it at once, plus in-flight
+ * counters and latency histograms for the admin report.
+ */
+public class IoExecutor {
+    public static final String DATABASE = "database";
+    public static final String FILES = "files";
+    public static final String LUCKPERMS = "luckperms";
+    public static final String INTEGRATIONS = "integrations";
+
+    private static final String CONFIG_PATH = "performance.io";
+
+    private final EdenCorrections plugin;
+    private final ExecutorService executor;
+    private final Map<String, Resource> resources = new ConcurrentHashMap<>();
+    private final Map<String, SerialSlot> serialSlots = new ConcurrentHashMap<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final Object idleLock = new Object();
+    private volatile boolean shutdown = false;
+
+    public IoExecutor(EdenCorrections plugin) {
+        this.plugin = plugin;
+        this.executor = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("EdenCorrections-io-", 0).factory());
+        loadLimits();
+    }
+
+    private void loadLimits() {
+        setLimit(DATABASE, plugin.getConfig().getInt(CONFIG_PATH + ".max-concurrency.database", 4));
+        setLimit(FILES, plugin.getConfig().getInt(CONFIG_PATH + ".max-concurrency.files", 2));
+        setLimit(LUCKPERMS, plugin.getConfig().getInt(CONFIG_PATH + ".max-concurrency.luckperms", 8));
+        setLimit(INTEGRATIONS, plugin.getConfig().getInt(CONFIG_PATH + ".max-concurrency.integrations", 4));
+    }
+
+    private void setLimit(String name, int limit) {
+        int permits = Math.max(1, limit);
+        Resource resource = resources.computeIfAbsent(name, Resource::new);
+        // Tasks already holding permits release them onto the semaphore they acquired from
+        resource.limit = permits;
+        resource.permits = new Semaphore(permits, true);
+    }
+
+    private Resource resource(String name) {
+        return resources.computeIfAbsent(name, key -> {
+            Resource created = new Resource(key);
+            created.limit = 4;
+            created.permits = new Semaphore(4, true);
+            return created;
+        });
+    }
+
+    /**
+     * Run blocking work against a resource and complete with its result
+     */
+    public <T> CompletableFuture<T> supply(String resourceName, Callable<T> work) {
+        Resource resource = resource(resourceName);
+        CompletableFuture<T> future = new CompletableFuture<>();
+        long queuedAt = System.nanoTime();
+        resource.waiting.incrementAndGet();
+        pending.incrementAndGet();
+
+        Runnable body = () -> execute(resource, work, future, queuedAt);
+        if (shutdown) {
+            // Late saves during disable still reach storage, on the calling thread
+            body.run();
+            return future;
+        }
+        try {
+            executor.execute(body);
+        } catch (RejectedExecutionException e) {
+            body.run();
+        }
+        return future;
+    }
+
+    /**
+     * Run blocking work against a resource
+     */
+    public CompletableFuture<Void> run(String resourceName, Runnable work) {
+        return supply(resourceName, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    /**
+     * Fan a batch of calls out across virtual threads and join them into one result list,
+     * in submission order. If any call fails the rest are cancelled and the join fails with it.
+     */
+    public <T> CompletableFuture<List<T>> fanOut(String resourceName, List<? extends Callable<T>> work) {
+        List<CompletableFuture<T>> futures = new ArrayList<>(work.size());
+        for (Callable<T> call : work) {
+            futures.add(supply(resourceName, call));
+        }
+
+        CompletableFuture<List<T>> joined = CompletableFuture
+                .allOf(futures.toArray(new CompletableFuture[0]))
+                .thenApply(ignored -> {
+                    List<T> results = new ArrayList<>(futures.size());
+                    for (CompletableFuture<T> future : futures) {
+                        results.add(future.join());
+                    }
+                    return results;
+                });
+
+        for (CompletableFuture<T> future : futures) {
+            future.whenComplete((result, error) -> {
+                if (error != null) {
+                    futures.forEach(other -> other.cancel(false));
+                }
+            });
+        }
+        return joined;
+    }
+
+    /**
+     * Queue a full-snapshot write under a key. Writes for the same key run one at a time, in order,
+     * and a write that has not started yet is replaced by a newer one instead of queueing behind it.
+     * The write should capture its data before calling this so it never reads live state off-thread.
+     * @return Completes once a write covering this one has finished, exceptionally if it failed
+     */
+    public CompletableFuture<Void> submitLatest(String key, String resourceName, Runnable write) {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        SerialSlot slot = serialSlots.computeIfAbsent(key, k -> new SerialSlot());
+        synchronized (slot) {
+            if (slot.next != null) {
+                resource(resourceName).coalesced.increment();
+            }
+            slot.next = write;
+            // A replaced write's callers are answered by the write that replaced it
+            slot.waiters.add(done);
+            if (slot.running) {
+                return done;
+            }
+            slot.running = true;
+        }
+        drain(key, slot, resourceName);
+        return done;
+    }
+
+    /**
+     * Serialize a YAML config on the calling thread and write it to disk in the background.
+     * Repeated saves of the same file coalesce; the file is replaced atomically where supported.
+     * @return Completes once the file is written, exceptionally if the write failed
+     */
+    public CompletableFuture<Void> saveYaml(FileConfiguration config, File file) {
+        String contents = config.saveToString();
+        Path target = file.toPath();
+        return submitLatest("file:" + file.getAbsolutePath(), FILES, () -> {
+            try {
+                writeAtomically(target, contents);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not save " + file.getName(), e);
+            }
+        });
+    }
+
+    private static void writeAtomically(Path target, String contents) throws IOException {
+        Path parent = target.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        Files.writeString(temp, contents, StandardCharsets.UTF_8);
+        try {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private void drain(String key, SerialSlot slot, String resourceName) {
+        Runnable write;
+        List<CompletableFuture<Void>> waiters;
+        synchronized (slot) {
+            write = slot.next;
+            slot.next = null;
+            if (write == null) {
+                slot.running = false;
+                return;
+            }
+            waiters = slot.waiters;
+            slot.waiters = new ArrayList<>();
+        }
+        run(resourceName, write).whenComplete((ignored, error) -> {
+            if (error != null) {
+                plugin.getLogger().log(Level.WARNING, "Background write '" + key + "' failed", error);
+            }
+            for (CompletableFuture<Void> waiter : waiters) {
+                if (error != null) {
+                    waiter.completeExceptionally(error);
+                } else {
+                    waiter.complete(null);
+                }
+            }
+            drain(key, slot, resourceName);
+        });
+    }
+
+    private <T> void execute(Resource resource, Callable<T> work, CompletableFuture<T> future, long queuedAt) {
+        Semaphore permits = resource.permits;
+        boolean acquired = false;
+        try {
+            if (future.isDone()) {
+                // Cancelled by a failed fan-out before it started
+                return;
+            }
+            permits.acquire();
+            acquired = true;
+            resource.waiting.decrementAndGet();
+            resource.inFlight.incrementAndGet();
+
+            long start = System.nanoTime();
+            resource.waitTime.record(start - queuedAt);
+            try {
+                future.complete(work.call());
+            } catch (Throwable t) {
+                resource.failures.increment();
+                future.completeExceptionally(t);
+            } finally {
+                resource.latency.record(System.nanoTime() - start);
+                resource.inFlight.decrementAndGet();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.completeExceptionally(e);
+        } finally {
+            if (acquired) {
+                permits.release();
+            } else {
+                resource.waiting.decrementAndGet();
+            }
+            if (pending.decrementAndGet() == 0) {
+                synchronized (idleLock) {
+                    idleLock.notifyAll();
+                }
+            }
+        }
+    }
+
+    /**
+     * Block until every queued and running task has finished
+     * @return false if the timeout elapsed first
+     */
+    public boolean awaitQuiescence(long timeoutMillis) {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        synchronized (idleLock) {
+            while (pending.get() > 0) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    return false;
+                }
+                try {
+                    idleLock.wait(remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Drain outstanding work before storage is closed or reopened
+     */
+    public void flush() {
+        long timeout = plugin.getConfig().getLong(CONFIG_PATH + ".shutdown-timeout-seconds", 10) * 1000L;
+        if (!awaitQuiescence(timeout)) {
+            plugin.getLogger().warning("Timed out waiting for " + pending.get() + " background I/O tasks");
+        }
+    }
+
+    public void reload() {
+        flush();
+        loadLimits();
+    }
+
+    public void shutdown() {
+        flush();
+        shutdown = true;
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(1, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+        }
+    }
+
+    public List<ResourceStats> getStats() {
+        List<ResourceStats> stats = new ArrayList<>();
+        for (Resource resource : resources.values()) {
+            stats.add(new ResourceStats(resource.name, resource.limit, resource.inFlight.get(),
+                    resource.waiting.get(), resource.latency.count(), resource.failures.sum(),
+                    resource.coalesced.sum(), resource.latency.percentileNanos(0.50),
+                    resource.latency.percentileNanos(0.99), resource.latency.maxNanos(),
+                    resource.waitTime.percentileNanos(0.99)));
+        }
+        stats.sort((a, b) -> a.name().compareTo(b.name()));
+        return stats;
+    }
+
+    public int getPendingCount() {
+        return pending.get();
+    }
+
+    public record ResourceStats(String name, int limit, int inFlight, int waiting, long completed,
+                                long failures, long coalesced, long p50Nanos, long p99Nanos,
+                                long maxNanos, long p99WaitNanos) {
+    }
+
+    private static final class Resource {
+        private final String name;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger waiting = new AtomicInteger();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder coalesced = new LongAdder();
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LatencyHistogram waitTime = new LatencyHistogram();
+        private volatile Semaphore permits;
+        private volatile int limit;
+
+        private Resource(String name) {
+            this.name = name;
+        }
+    }
+
+    private static final class SerialSlot {
+        private Runnable next;
+        private List<CompletableFuture<Void>> waiters = new ArrayList<>();
+        private boolean running;
+    }
+}
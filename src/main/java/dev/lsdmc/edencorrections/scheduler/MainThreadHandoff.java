@@ -0,0 +1,178 @@
+package dev.lsdmc.edencorrections.scheduler;
+
+import dev.lsdmc.edencorrections.EdenCorrections;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+
+/**
+ * Handoff from async code to the main thread.
+ *
+ * Producers on any thread push effects (messages, teleports, state changes) onto a lock-free
+ * multi-producer queue. A single drain runs once per tick while work is queued and stops when
+ * either the item or time budget is spent; whatever is left carries over to the next tick.
+ * This replaces one scheduler task per effect with one task per tick.
+ *
+ * On Folia there is no single main thread, so effects bound to an entity go straight to that
+ * entity's scheduler; only unbound effects are batched on the global region.
+ */
+public class MainThreadHandoff {
+    private static final String CONFIG_PATH = "performance.handoff";
+    private static final long WARN_INTERVAL_MILLIS = 60_000L;
+
+    private final EdenCorrections plugin;
+    private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger depth = new AtomicInteger();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean(false);
+
+    private final LongAdder submitted = new LongAdder();
+    // Folia entity effects skip the queue, so they are counted apart from it
+    private final LongAdder routedToEntities = new LongAdder();
+    private final LongAdder drained = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder overflowTicks = new LongAdder();
+    private final LongAccumulator peakDepth = new LongAccumulator(Math::max, 0L);
+    private final LatencyHistogram drainTime = new LatencyHistogram();
+    private final AtomicLong lastDepthWarning = new AtomicLong();
+
+    private volatile int maxItemsPerTick;
+    private volatile long maxNanosPerTick;
+    private volatile int warnDepth;
+
+    public MainThreadHandoff(EdenCorrections plugin) {
+        this.plugin = plugin;
+        loadConfig();
+    }
+
+    private void loadConfig() {
+        maxItemsPerTick = Math.max(1, plugin.getConfig().getInt(CONFIG_PATH + ".max-items-per-tick", 250));
+        maxNanosPerTick = Math.max(100_000L,
+                (long) (plugin.getConfig().getDouble(CONFIG_PATH + ".max-millis-per-tick", 2.0) * 1_000_000L));
+        warnDepth = Math.max(1, plugin.getConfig().getInt(CONFIG_PATH + ".warn-depth", 5000));
+    }
+
+    /**
+     * Queue an effect for the main thread (global region on Folia)
+     */
+    public void submit(Runnable effect) {
+        queue.add(effect);
+        submitted.increment();
+        int current = depth.incrementAndGet();
+        peakDepth.accumulate(current);
+        if (current >= warnDepth) {
+            warnDepth(current);
+        }
+        if (drainScheduled.compareAndSet(false, true)) {
+            plugin.getTaskScheduler().runGlobal(this::drain);
+        }
+    }
+
+    /**
+     * Queue an effect that touches an entity. Skipped if the entity is gone by the time it runs.
+     */
+    public void submit(Entity entity, Runnable effect) {
+        if (plugin.getTaskScheduler().isFolia()) {
+            routedToEntities.increment();
+            plugin.getTaskScheduler().runAtEntity(entity, effect);
+            return;
+        }
+        submit(() -> {
+            if (entity instanceof Player player ? player.isOnline() : entity.isValid()) {
+                effect.run();
+            }
+        });
+    }
+
+    private void drain() {
+        long start = System.nanoTime();
+        long deadline = start + maxNanosPerTick;
+        int budget = maxItemsPerTick;
+        int processed = 0;
+
+        Runnable effect;
+        while (processed < budget && (effect = queue.poll()) != null) {
+            depth.decrementAndGet();
+            processed++;
+            try {
+                effect.run();
+            } catch (Exception e) {
+                failures.increment();
+                plugin.getLogger().log(Level.WARNING, "Main-thread handoff task failed", e);
+            }
+            if (System.nanoTime() >= deadline) {
+                break;
+            }
+        }
+        drained.add(processed);
+        drainTime.record(System.nanoTime() - start);
+
+        if (!queue.isEmpty()) {
+            // Budget spent with work left: carry over to the next tick
+            overflowTicks.increment();
+            plugin.getTaskScheduler().runGlobalLater(this::drain, 1L);
+            return;
+        }
+
+        drainScheduled.set(false);
+        // A producer may have enqueued between the last poll and clearing the flag
+        if (!queue.isEmpty() && drainScheduled.compareAndSet(false, true)) {
+            plugin.getTaskScheduler().runGlobalLater(this::drain, 1L);
+        }
+    }
+
+    private void warnDepth(int current) {
+        long now = System.currentTimeMillis();
+        long last = lastDepthWarning.get();
+        if (now - last >= WARN_INTERVAL_MILLIS && lastDepthWarning.compareAndSet(last, now)) {
+            plugin.getLogger().warning("Main-thread handoff backlog at " + current
+                    + " items (draining " + maxItemsPerTick + " per tick)");
+        }
+    }
+
+    /**
+     * Reload budgets and restart the drain if a reload cancelled it mid-backlog
+     */
+    public void reload() {
+        loadConfig();
+        drainScheduled.set(false);
+        if (!queue.isEmpty() && drainScheduled.compareAndSet(false, true)) {
+            plugin.getTaskScheduler().runGlobal(this::drain);
+        }
+    }
+
+    /**
+     * Run whatever is still queued on the calling thread; used during disable
+     */
+    public void shutdown() {
+        Runnable effect;
+        while ((effect = queue.poll()) != null) {
+            depth.decrementAndGet();
+            try {
+                effect.run();
+            } catch (Exception e) {
+                plugin.getLogger().log(Level.WARNING, "Main-thread handoff task failed during shutdown", e);
+            }
+        }
+    }
+
+    public Stats getStats() {
+        return new Stats(depth.get(), peakDepth.get(), submitted.sum(), drained.sum(), failures.sum(),
+                overflowTicks.sum(), drainTime.percentileNanos(0.99), drainTime.maxNanos(), routedToEntities.sum());
+    }
+
+    /**
+     * Queue statistics. submitted and drained cover the queue only; routedToEntities counts the
+     * effects Folia sends straight to entity schedulers, which never enter it.
+     */
+    public record Stats(int depth, long peakDepth, long submitted, long drained, long failures,
+                        long overflowTicks, long p99DrainNanos, long maxDrainNanos, long routedToEntities) {
+    }
+}
@@ -0,0 +1,176 @@
+package dev.lsdmc.edencorrections.scheduler;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitScheduler;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.function.Consumer;
+
+/**
+ * Single-threaded implementation backed by the Bukkit scheduler.
+ * Global, location and entity scopes all run on the main thread.
+ */
+public class PaperCorrectionsScheduler implements CorrectionsScheduler {
+    private final Plugin plugin;
+    private final BukkitScheduler scheduler;
+
+    public PaperCorrectionsScheduler(Plugin plugin) {
+        this.plugin = plugin;
+        this.scheduler = Bukkit.getScheduler();
+    }
+
+    @Override
+    public CorrectionsTask runGlobal(Runnable task) {
+        return wrap(scheduler.runTask(plugin, task));
+    }
+
+    @Override
+    public CorrectionsTask runGlobalLater(Runnable task, long delayTicks) {
+        return wrap(scheduler.runTaskLater(plugin, task, delayTicks));
+    }
+
+    @Override
+    public CorrectionsTask runGlobalTimer(Consumer<CorrectionsTask> task, long delayTicks, long periodTicks) {
+        BukkitHandle handle = new BukkitHandle();
+        handle.task = scheduler.runTaskTimer(plugin, () -> handle.tick(task), delayTicks, periodTicks);
+        return handle;
+    }
+
+    @Override
+    public CorrectionsTask runAtLocation(Location location, Runnable task) {
+        return runGlobal(task);
+    }
+
+    @Override
+    public CorrectionsTask runAtLocationLater(Location location, Runnable task, long delayTicks) {
+        return runGlobalLater(task, delayTicks);
+    }
+
+    @Override
+    public CorrectionsTask runAtLocationTimer(Location location, Consumer<CorrectionsTask> task, long delayTicks, long periodTicks) {
+        return runGlobalTimer(task, delayTicks, periodTicks);
+    }
+
+    @Override
+    public CorrectionsTask runAtEntity(Entity entity, Runnable task) {
+        return runGlobal(() -> {
+            if (isAlive(entity)) {
+                task.run();
+            }
+        });
+    }
+
+    @Override
+    public CorrectionsTask runAtEntityLater(Entity entity, Runnable task, long delayTicks) {
+        return runGlobalLater(() -> {
+            if (isAlive(entity)) {
+                task.run();
+            }
+        }, delayTicks);
+    }
+
+    @Override
+    public CorrectionsTask runAtEntityTimer(Entity entity, Consumer<CorrectionsTask> task, Runnable retired,
+                                            long delayTicks, long periodTicks) {
+        // Mirror Folia's entity scheduler: the task retires once the entity is gone
+        return runGlobalTimer(handle -> {
+            if (!isAlive(entity)) {
+                handle.cancel();
+                if (retired != null) {
+                    retired.run();
+                }
+                return;
+            }
+            task.accept(handle);
+        }, delayTicks, periodTicks);
+    }
+
+    @Override
+    public CorrectionsTask runAsync(Runnable task) {
+        return wrap(scheduler.runTaskAsynchronously(plugin, task));
+    }
+
+    @Override
+    public CorrectionsTask runAsyncLater(Runnable task, long delayTicks) {
+        return wrap(scheduler.runTaskLaterAsynchronously(plugin, task, delayTicks));
+    }
+
+    @Override
+    public CorrectionsTask runAsyncTimer(Consumer<CorrectionsTask> task, long delayTicks, long periodTicks) {
+        BukkitHandle handle = new BukkitHandle();
+        handle.task = scheduler.runTaskTimerAsynchronously(plugin, () -> handle.tick(task), delayTicks, periodTicks);
+        return handle;
+    }
+
+    @Override
+    public boolean isOwnedByCurrentThread(Entity entity) {
+        return Bukkit.isPrimaryThread();
+    }
+
+    @Override
+    public boolean isOwnedByCurrentThread(Location location) {
+        return Bukkit.isPrimaryThread();
+    }
+
+    @Override
+    public void cancelAll() {
+        scheduler.cancelTasks(plugin);
+    }
+
+    @Override
+    public boolean isFolia() {
+        return false;
+    }
+
+    /**
+     * Players stay valid across death, so only logging out retires their tasks
+     */
+    private static boolean isAlive(Entity entity) {
+        if (entity instanceof Player player) {
+            return player.isOnline();
+        }
+        return entity.isValid();
+    }
+
+    private static CorrectionsTask wrap(BukkitTask task) {
+        BukkitHandle handle = new BukkitHandle();
+        handle.task = task;
+        return handle;
+    }
+
+    private static final class BukkitHandle implements CorrectionsTask {
+        private volatile BukkitTask task;
+        private volatile boolean cancelled;
+
+        private void tick(Consumer<CorrectionsTask> body) {
+            if (cancelled) {
+                // Cancelled before the Bukkit task was assigned
+                BukkitTask current = task;
+                if (current != null) {
+                    current.cancel();
+                }
+                return;
+            }
+            body.accept(this);
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            BukkitTask current = task;
+            if (current != null) {
+                current.cancel();
+            }
+        }
+
+        @Override
+        public boolean isCancelled() {
+            BukkitTask current = task;
+            return cancelled || (current != null && current.isCancelled());
+        }
+    }
+}
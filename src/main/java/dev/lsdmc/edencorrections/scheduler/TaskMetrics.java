@@ -0,0 +1,134 @@
+package dev.lsdmc.edencorrections.scheduler;
+
+import org.bukkit.plugin.Plugin;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-task timing for everything scheduled through the facade.
+ *
+ * Tasks are named after the code that scheduled them (e.g. {@code SmokeBomb.activate}), so the
+ * report shows which timers eat tick time without every call site having to pick a name.
+ */
+public class TaskMetrics {
+    private static final String CONFIG_PATH = "performance.task-metrics";
+    private static final long WARN_INTERVAL_MILLIS = 30_000L;
+
+    private final Plugin plugin;
+    private final Map<String, TaskStats> tasks = new ConcurrentHashMap<>();
+
+    private volatile boolean enabled;
+    private volatile long budgetNanos;
+    private volatile boolean warnOnOverrun;
+
+    public TaskMetrics(Plugin plugin) {
+        this.plugin = plugin;
+        reload();
+    }
+
+    public void reload() {
+        enabled = plugin.getConfig().getBoolean(CONFIG_PATH + ".enabled", true);
+        budgetNanos = (long) (plugin.getConfig().getDouble(CONFIG_PATH + ".budget-millis", 2.0) * 1_000_000L);
+        warnOnOverrun = plugin.getConfig().getBoolean(CONFIG_PATH + ".warn-on-overrun", false);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    TaskStats stats(String name, String scope) {
+        return tasks.computeIfAbsent(scope + " " + name, key -> new TaskStats(name, scope));
+    }
+
+    public List<TaskStats> getStats() {
+        List<TaskStats> result = new ArrayList<>(tasks.values());
+        // Heaviest total time first
+        result.sort((a, b) -> Long.compare(b.totalNanos.sum(), a.totalNanos.sum()));
+        return result;
+    }
+
+    public void reset() {
+        tasks.clear();
+    }
+
+    public final class TaskStats {
+        private final String name;
+        private final String scope;
+        private final LatencyHistogram runTime = new LatencyHistogram();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAdder overruns = new LongAdder();
+        private final AtomicLong lastOverrunNanos = new AtomicLong();
+        private final AtomicLong lastOverrunAt = new AtomicLong();
+        private final AtomicLong lastWarning = new AtomicLong();
+
+        private TaskStats(String name, String scope) {
+            this.name = name;
+            this.scope = scope;
+        }
+
+        void record(long nanos) {
+            runTime.record(nanos);
+            totalNanos.add(nanos);
+            long budget = budgetNanos;
+            if (budget > 0 && nanos > budget) {
+                overruns.increment();
+                lastOverrunNanos.set(nanos);
+                long now = System.currentTimeMillis();
+                lastOverrunAt.set(now);
+                long last = lastWarning.get();
+                if (warnOnOverrun && now - last >= WARN_INTERVAL_MILLIS && lastWarning.compareAndSet(last, now)) {
+                    plugin.getLogger().warning("Task " + name + " (" + scope + ") took "
+                            + LatencyHistogram.format(nanos) + ", over its " + LatencyHistogram.format(budget) + " budget");
+                }
+            }
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getScope() {
+            return scope;
+        }
+
+        public long getCount() {
+            return runTime.count();
+        }
+
+        public long getTotalNanos() {
+            return totalNanos.sum();
+        }
+
+        public long getP50Nanos() {
+            return runTime.percentileNanos(0.50);
+        }
+
+        public long getP99Nanos() {
+            return runTime.percentileNanos(0.99);
+        }
+
+        public long getMaxNanos() {
+            return runTime.maxNanos();
+        }
+
+        public long getOverruns() {
+            return overruns.sum();
+        }
+
+        public long getLastOverrunNanos() {
+            return lastOverrunNanos.get();
+        }
+
+        /**
+         * @return Wall-clock millis of the last overrun, or 0 if none
+         */
+        public long getLastOverrunAt() {
+            return lastOverrunAt.get();
+        }
+    }
+}
@@ -1,21 +1,17 @@
 package dev.lsdmc.edencorrections.services;
 
 import dev.lsdmc.edencorrections.EdenCorrections;
+import dev.lsdmc.edencorrections.managers.InteractionSessionManager;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.player.PlayerInteractEntityEvent;
-import org.bukkit.scheduler.BukkitTask;
-
-import java.util.HashMap;
-import java.util.Map;
-import java.util.UUID;
 
 public class HandcuffService implements Listener {
     private final EdenCorrections plugin;
-    private final Map<UUID, CuffingData> cuffingPlayers = new HashMap<>();
+    private static final double MAX_DISTANCE = 3.0;
     private final int countdownTime;
 
     public HandcuffService(EdenCorrections plugin) {
@@ -39,7 +35,9 @@ public class HandcuffService implements Listener {
             return;
         }
         
-        if (cuffingPlayers.containsKey(target.getUniqueId())) {
+        InteractionSessionManager sessions = plugin.getInteractionSessionManager();
+        if (sessions.isTarget(target.getUniqueId(), InteractionSessionManager.Kind.LOUNGE_CUFFING)
+                || sessions.isTarget(target.getUniqueId(), InteractionSessionManager.Kind.CUFFING)) {
             guard.sendMessage(Component.text("This player is already being cuffed!", NamedTextColor.RED));
             return;
         }
@@ -49,7 +47,7 @@ public class HandcuffService implements Listener {
             return;
         }
 
-        if (guard.getLocation().distance(target.getLocation()) > 3) {
+        if (guard.getLocation().distanceSquared(target.getLocation()) > MAX_DISTANCE * MAX_DISTANCE) {
             guard.sendMessage(Component.text("You are too far away to cuff this player!", NamedTextColor.RED));
             return;
         }
@@ -58,59 +56,24 @@ public class HandcuffService implements Listener {
     }
 
     private void startCuffing(Player guard, Player target) {
-        CuffingData data = new CuffingData(guard, countdownTime);
-        cuffingPlayers.put(target.getUniqueId(), data);
-        
         guard.sendMessage(Component.text("Starting to cuff " + target.getName() + "...", NamedTextColor.YELLOW));
         target.sendMessage(Component.text(guard.getName() + " is attempting to cuff you!", NamedTextColor.RED));
-        
-        data.task = plugin.getServer().getScheduler().runTaskTimer(plugin, () -> {
-            if (!guard.isOnline() || !target.isOnline()) {
-                cancelCuffing(target);
-                return;
-            }
-            
-            if (!plugin.getWorldGuardService().isInRegion(target, plugin.getConfigService().getGuardLoungeRegion())) {
-                guard.sendMessage(Component.text("Cuffing cancelled - target left guard lounge!", NamedTextColor.RED));
-                target.sendMessage(Component.text("Cuffing cancelled - you left the guard lounge!", NamedTextColor.GREEN));
-                cancelCuffing(target);
-                return;
-            }
-            
-            if (guard.getLocation().distance(target.getLocation()) > 3) {
-                guard.sendMessage(Component.text("Cuffing cancelled - you moved too far away!", NamedTextColor.RED));
-                target.sendMessage(Component.text("Cuffing cancelled - guard moved too far away!", NamedTextColor.GREEN));
-                cancelCuffing(target);
-                return;
-            }
-            
-            data.timeRemaining--;
-            
-            if (data.timeRemaining <= 0) {
-                cuffingPlayers.remove(target.getUniqueId());
-                plugin.getHandcuffs().applyHandcuffs(guard, target);
-            } else {
-                guard.sendMessage(Component.text("Cuffing in " + data.timeRemaining + " seconds...", NamedTextColor.YELLOW));
-                target.sendMessage(Component.text("Cuffing in " + data.timeRemaining + " seconds...", NamedTextColor.YELLOW));
-            }
-        }, 20L, 20L);
-    }
 
-    private void cancelCuffing(Player target) {
-        CuffingData data = cuffingPlayers.remove(target.getUniqueId());
-        if (data != null && data.task != null) {
-            data.task.cancel();
-        }
-    }
-
-    private static class CuffingData {
-        final Player guard;
-        int timeRemaining;
-        BukkitTask task;
-
-        CuffingData(Player guard, int timeRemaining) {
-            this.guard = guard;
-            this.timeRemaining = timeRemaining;
-        }
+        plugin.getInteractionSessionManager().start(new InteractionSessionManager.Session(
+                InteractionSessionManager.Kind.LOUNGE_CUFFING, guard, target, countdownTime, MAX_DISTANCE)
+                .title("Cuffing " + target.getName())
+                .guardLabel("Cuffing " + target.getName())
+                .targetLabel("Cuffing")
+                .region(plugin.getConfigService().getGuardLoungeRegion())
+                .onComplete(() -> plugin.getHandcuffs().applyHandcuffs(guard, target))
+                .onCancel(reason -> {
+                    if (reason == InteractionSessionManager.EndReason.REGION) {
+                        plugin.getTaskScheduler().runForEntity(guard, () -> guard.sendMessage(Component.text("Cuffing cancelled - target left guard lounge!", NamedTextColor.RED)));
+                        target.sendMessage(Component.text("Cuffing cancelled - you left the guard lounge!", NamedTextColor.GREEN));
+                    } else if (reason == InteractionSessionManager.EndReason.DISTANCE) {
+                        plugin.getTaskScheduler().runForEntity(guard, () -> guard.sendMessage(Component.text("Cuffing cancelled - you moved too far away!", NamedTextColor.RED)));
+                        target.sendMessage(Component.text("Cuffing cancelled - guard moved too far away!", NamedTextColor.GREEN));
+                    }
+                }));
     }
 } 
\ No newline at end of file
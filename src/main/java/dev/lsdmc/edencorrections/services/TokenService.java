@@ -24,7 +24,9 @@ public class TokenService {
     public void addTokens(Player player, int amount) {
         UUID playerId = player.getUniqueId();
         tokens.put(playerId, getTokens(player) + amount);
-        player.sendMessage(Component.text("You received " + amount + " guard tokens!", NamedTextColor.GREEN));
+        // Also paid out from session callbacks on another player's thread
+        plugin.getTaskScheduler().runForEntity(player, () ->
+                player.sendMessage(Component.text("You received " + amount + " guard tokens!", NamedTextColor.GREEN)));
     }
 
     public void removeTokens(Player player, int amount) {
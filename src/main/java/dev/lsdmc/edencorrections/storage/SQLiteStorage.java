@@ -261,6 +261,15 @@ public class SQLiteStorage implements StorageManager {
                     "marked BOOLEAN NOT NULL DEFAULT 0" +
                     ")");
 
+            // Create timeline deadlines table (absolute expiry timestamps)
+            stmt.execute("CREATE TABLE IF NOT EXISTS timeline_deadlines (" +
+                    "kind VARCHAR(32) NOT NULL, " +
+                    "subject VARCHAR(36) NOT NULL, " +
+                    "due_at BIGINT NOT NULL, " +
+                    "PRIMARY KEY (kind, subject)" +
+                    ")");
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_timeline_due_at ON timeline_deadlines (due_at)");
+
         } catch (SQLException e) {
             plugin.getLogger().log(Level.SEVERE, "Failed to create tables", e);
         }
@@ -816,20 +825,27 @@ public class SQLiteStorage implements StorageManager {
 
     public void saveJailData(Map<UUID, JailManager.JailData> jailData) {
         String insertQuery = "INSERT OR REPLACE INTO jail_data (player_id, start_time, duration_seconds, reason, jail_location, arresting_guard) VALUES (?, ?, ?, ?, ?, ?)";
-        try (Connection conn = dataSource.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(insertQuery)) {
-            for (Map.Entry<UUID, JailManager.JailData> entry : jailData.entrySet()) {
-                UUID playerId = entry.getKey();
-                JailManager.JailData data = entry.getValue();
-                stmt.setString(1, playerId.toString());
-                stmt.setLong(2, data.startTime);
-                stmt.setInt(3, data.durationSeconds);
-                stmt.setString(4, data.reason);
-                stmt.setString(5, data.jailLocation);
-                stmt.setString(6, data.arrestingGuard != null ? data.arrestingGuard.toString() : null);
-                stmt.addBatch();
+        try (Connection conn = dataSource.getConnection()) {
+            conn.setAutoCommit(false);
+            // Full snapshot: released players must not come back on restart
+            try (Statement clearStmt = conn.createStatement()) {
+                clearStmt.execute("DELETE FROM jail_data");
+            }
+            try (PreparedStatement stmt = conn.prepareStatement(insertQuery)) {
+                for (Map.Entry<UUID, JailManager.JailData> entry : jailData.entrySet()) {
+                    UUID playerId = entry.getKey();
+                    JailManager.JailData data = entry.getValue();
+                    stmt.setString(1, playerId.toString());
+                    stmt.setLong(2, data.startTime);
+                    stmt.setInt(3, data.durationSeconds);
+                    stmt.setString(4, data.reason);
+                    stmt.setString(5, data.jailLocation);
+                    stmt.setString(6, data.arrestingGuard != null ? data.arrestingGuard.toString() : null);
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
             }
-            stmt.executeBatch();
+            conn.commit();
         } catch (SQLException e) {
             plugin.getLogger().severe("Failed to save jail data: " + e.getMessage());
         }
@@ -978,6 +994,47 @@ public class SQLiteStorage implements StorageManager {
         }
     }
 
+    // Timeline methods
+    public Map<String, Map<UUID, Long>> loadDeadlines() {
+        Map<String, Map<UUID, Long>> deadlines = new HashMap<>();
+        try (Connection conn = getConnection();
+             PreparedStatement stmt = conn.prepareStatement("SELECT kind, subject, due_at FROM timeline_deadlines");
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                deadlines.computeIfAbsent(rs.getString("kind"), k -> new HashMap<>())
+                        .put(UUID.fromString(rs.getString("subject")), rs.getLong("due_at"));
+            }
+        } catch (SQLException e) {
+            plugin.getLogger().log(Level.SEVERE, "Failed to load timeline deadlines", e);
+        }
+        return deadlines;
+    }
+
+    public void saveDeadline(String kind, UUID subject, long dueAt) {
+        try (Connection conn = getConnection();
+             PreparedStatement stmt = conn.prepareStatement(
+                     "INSERT OR REPLACE INTO timeline_deadlines (kind, subject, due_at) VALUES (?, ?, ?)")) {
+            stmt.setString(1, kind);
+            stmt.setString(2, subject.toString());
+            stmt.setLong(3, dueAt);
+            stmt.executeUpdate();
+        } catch (SQLException e) {
+            plugin.getLogger().log(Level.SEVERE, "Failed to save timeline deadline", e);
+        }
+    }
+
+    public void deleteDeadline(String kind, UUID subject) {
+        try (Connection conn = getConnection();
+             PreparedStatement stmt = conn.prepareStatement(
+                     "DELETE FROM timeline_deadlines WHERE kind = ? AND subject = ?")) {
+            stmt.setString(1, kind);
+            stmt.setString(2, subject.toString());
+            stmt.executeUpdate();
+        } catch (SQLException e) {
+            plugin.getLogger().log(Level.SEVERE, "Failed to delete timeline deadline", e);
+        }
+    }
+
     private void initializeTables() throws SQLException {
         try (Connection conn = getConnection();
              Statement stmt = conn.createStatement()) {
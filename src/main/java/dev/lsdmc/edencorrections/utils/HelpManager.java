@@ -113,6 +113,10 @@ public class HelpManager {
         page8.addCommand("/cor checkitem", "Check ExecutableItem status", "edencorrections.admin.checkitem", "/cor checkitem");
         page8.addCommand("/cor integrationstatus", "View integration status", "edencorrections.admin.checkitem", "/cor integrationstatus");
         page8.addCommand("/cor reloadintegration", "Reload integrations", "edencorrections.admin.checkitem", "/cor reloadintegration");
+        page8.addCommand("/cor iostatus", "View background I/O and handoff queue stats", "edencorrections.admin", "/cor iostatus");
+        page8.addCommand("/cor tasks [reset]", "View per-task timing and overruns", "edencorrections.admin", "/cor tasks");
+        page8.addCommand("/cor movement [bench] [players] [moves]", "View movement pipeline stats or benchmark its rule chain", "edencorrections.admin", "/cor movement");
+        page8.addCommand("/cor shakedown [confiscate|cancel|report]", "Search every inmate and cell container for contraband", "edencorrections.admin.shakedown", "/cor shakedown");
         helpPages.add(page8);
     }
 